@@ -0,0 +1,71 @@
+package com.jonathanfoucher.databaseexample.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jonathanfoucher.databaseexample.data.dto.FlatMovieDirectorDto;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+import java.util.zip.GZIPOutputStream;
+
+import static com.fasterxml.jackson.databind.PropertyNamingStrategies.SNAKE_CASE;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BinaryFormatSerializationBenchmark {
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    @Param({"none", "gzip"})
+    private String compression;
+
+    @Param({"20", "1000"})
+    private int size;
+
+    private ObjectMapper objectMapper;
+    private List<FlatMovieDirectorDto> flatMovieDirectors;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class WireSize {
+        public long bytes;
+    }
+
+    @Setup
+    public void setup() {
+        Jackson2ObjectMapperBuilder objectMapperBuilder = switch (format) {
+            case "json" -> Jackson2ObjectMapperBuilder.json();
+            case "cbor" -> Jackson2ObjectMapperBuilder.cbor();
+            case "smile" -> Jackson2ObjectMapperBuilder.smile();
+            default -> throw new IllegalArgumentException("Unknown format " + format);
+        };
+        objectMapper = objectMapperBuilder
+                .propertyNamingStrategy(SNAKE_CASE)
+                .build();
+
+        flatMovieDirectors = LongStream.rangeClosed(1, size)
+                .mapToObj(id -> new FlatMovieDirectorDto(id, "title_" + id, LocalDate.of(2022, 7, 19), id % 100, "John", "Doe"))
+                .toList();
+    }
+
+    @Benchmark
+    public byte[] serializeFlatMovieDirectors(WireSize wireSize) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (OutputStream outputStream = "gzip".equals(compression) ? new GZIPOutputStream(bytes) : bytes) {
+            objectMapper.writeValue(outputStream, flatMovieDirectors);
+        }
+        byte[] payload = bytes.toByteArray();
+        wireSize.bytes = payload.length;
+        return payload;
+    }
+}
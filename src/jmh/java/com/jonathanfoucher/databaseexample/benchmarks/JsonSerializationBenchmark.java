@@ -0,0 +1,76 @@
+package com.jonathanfoucher.databaseexample.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jonathanfoucher.databaseexample.data.dto.FlatMovieDirectorDto;
+import com.jonathanfoucher.databaseexample.data.dto.MovieDto;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import static com.fasterxml.jackson.databind.PropertyNamingStrategies.SNAKE_CASE;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonSerializationBenchmark {
+    @Param({"20", "1000"})
+    private int size;
+
+    private ObjectMapper objectMapper;
+    private MovieDto movie;
+    private Page<MovieDto> moviePage;
+    private List<FlatMovieDirectorDto> flatMovieDirectors;
+
+    @Setup
+    public void setup() {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .propertyNamingStrategy(SNAKE_CASE)
+                .build();
+
+        List<MovieDto> movies = LongStream.rangeClosed(1, size)
+                .mapToObj(JsonSerializationBenchmark::initMovie)
+                .toList();
+        movie = movies.getFirst();
+        moviePage = new PageImpl<>(movies, PageRequest.of(0, size), 100_000L);
+        flatMovieDirectors = LongStream.rangeClosed(1, size)
+                .mapToObj(id -> new FlatMovieDirectorDto(id, "title_" + id, LocalDate.of(2022, 7, 19), id % 100, "John", "Doe"))
+                .toList();
+    }
+
+    @Benchmark
+    public byte[] serializeMovie() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(movie);
+    }
+
+    @Benchmark
+    public byte[] serializeMoviePage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(moviePage);
+    }
+
+    @Benchmark
+    public byte[] serializeFlatMovieDirectors() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(flatMovieDirectors);
+    }
+
+    private static MovieDto initMovie(long id) {
+        MovieDto movie = new MovieDto();
+        movie.setId(id);
+        movie.setDirectorId(id % 100);
+        movie.setTitle("title_" + id);
+        movie.setReleaseDate(LocalDate.of(2022, 7, 19));
+        movie.setUpdatedAt(ZonedDateTime.now());
+        return movie;
+    }
+}
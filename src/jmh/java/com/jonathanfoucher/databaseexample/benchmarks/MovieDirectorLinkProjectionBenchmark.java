@@ -0,0 +1,34 @@
+package com.jonathanfoucher.databaseexample.benchmarks;
+
+import com.jonathanfoucher.databaseexample.data.dto.MovieDirectorLink;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.data.projection.ProjectionFactory;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MovieDirectorLinkProjectionBenchmark {
+    private ProjectionFactory projectionFactory;
+    private Map<String, Object> row;
+
+    @Setup
+    public void setup() {
+        projectionFactory = new SpelAwareProxyProjectionFactory();
+        row = Map.of("movieId", 15L, "directorId", 2L);
+    }
+
+    @Benchmark
+    public void materializeProjection(Blackhole blackhole) {
+        MovieDirectorLink link = projectionFactory.createProjection(MovieDirectorLink.class, row);
+        blackhole.consume(link.getMovieId());
+        blackhole.consume(link.getDirectorId());
+    }
+}
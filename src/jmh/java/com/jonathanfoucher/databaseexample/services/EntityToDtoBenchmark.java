@@ -0,0 +1,48 @@
+package com.jonathanfoucher.databaseexample.services;
+
+import com.jonathanfoucher.databaseexample.data.dto.DirectorDto;
+import com.jonathanfoucher.databaseexample.data.dto.MovieDto;
+import com.jonathanfoucher.databaseexample.data.model.Director;
+import com.jonathanfoucher.databaseexample.data.model.Movie;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EntityToDtoBenchmark {
+    private Movie movie;
+    private Director director;
+
+    @Setup
+    public void setup() {
+        movie = new Movie();
+        movie.setId(15L);
+        movie.setDirectorId(2L);
+        movie.setTitle("Some movie");
+        movie.setReleaseDate(LocalDate.of(2022, 7, 19));
+        movie.setUpdatedAt(ZonedDateTime.now());
+
+        director = new Director();
+        director.setId(2L);
+        director.setFirstName("John");
+        director.setLastName("Doe");
+        director.setUpdatedAt(ZonedDateTime.now());
+    }
+
+    @Benchmark
+    public MovieDto convertMovieEntityToDto() {
+        return MovieService.convertEntityToDto(movie);
+    }
+
+    @Benchmark
+    public DirectorDto convertDirectorEntityToDto() {
+        return DirectorService.convertEntityToDto(director);
+    }
+}
@@ -0,0 +1,58 @@
+package com.jonathanfoucher.databaseexample.services;
+
+import com.jonathanfoucher.databaseexample.data.dto.MovieDirectorLink;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MovieDirectorIndexBenchmark {
+    private static final int MOVIES_PER_DIRECTOR = 10;
+
+    @Param({"100000", "1000000"})
+    private int size;
+
+    private MovieDirectorIndex index;
+
+    @Setup
+    public void setup() {
+        index = build();
+    }
+
+    @Benchmark
+    public MovieDirectorIndex buildIndex() {
+        return build();
+    }
+
+    @Benchmark
+    public long[] findMovieIdsByDirectorId() {
+        return index.findMovieIdsByDirectorId(size / MOVIES_PER_DIRECTOR / 2);
+    }
+
+    @Benchmark
+    public void iterateLinks(Blackhole blackhole) {
+        for (MovieDirectorLink link : index.links()) {
+            blackhole.consume(link.getMovieId());
+            blackhole.consume(link.getDirectorId());
+        }
+    }
+
+    @Benchmark
+    public MovieDirectorIndex withMovie() {
+        return index.withMovie(size + 1L, 1L);
+    }
+
+    private MovieDirectorIndex build() {
+        MovieDirectorIndex.Builder builder = MovieDirectorIndex.builder();
+        for (int movieId = 0; movieId < size; movieId++) {
+            builder.add(movieId, movieId / MOVIES_PER_DIRECTOR);
+        }
+        return builder.build();
+    }
+}
@@ -2,8 +2,10 @@ package com.jonathanfoucher.databaseexample;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 
 @SpringBootApplication
+@ConfigurationPropertiesScan
 public class DatabaseExampleApplication {
     public static void main(String[] args) {
         SpringApplication.run(DatabaseExampleApplication.class, args);
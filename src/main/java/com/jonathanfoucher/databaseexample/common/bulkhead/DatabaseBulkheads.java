@@ -0,0 +1,75 @@
+package com.jonathanfoucher.databaseexample.common.bulkhead;
+
+import com.jonathanfoucher.databaseexample.common.errors.BulkheadFullException;
+import com.jonathanfoucher.databaseexample.common.properties.BulkheadProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+public class DatabaseBulkheads {
+    private static final String ENDPOINT_CLASS_TAG = "endpoint.class";
+    private static final String OUTCOME_TAG = "outcome";
+
+    private final Duration maxWait;
+    private final Map<EndpointClass, Semaphore> semaphores = new EnumMap<>(EndpointClass.class);
+    private final Map<EndpointClass, Timer> acquiredTimers = new EnumMap<>(EndpointClass.class);
+    private final Map<EndpointClass, Timer> rejectedTimers = new EnumMap<>(EndpointClass.class);
+
+    public DatabaseBulkheads(BulkheadProperties bulkheadProperties, MeterRegistry meterRegistry) {
+        this.maxWait = bulkheadProperties.maxWait();
+        bulkheadProperties.permits().forEach((endpointClass, permits) -> {
+            Semaphore semaphore = new Semaphore(permits, true);
+            semaphores.put(endpointClass, semaphore);
+
+            Gauge.builder("database.bulkhead.permits.in.use", semaphore, s -> permits - s.availablePermits())
+                    .tag(ENDPOINT_CLASS_TAG, endpointClass.getTag())
+                    .register(meterRegistry);
+            Gauge.builder("database.bulkhead.queue.length", semaphore, Semaphore::getQueueLength)
+                    .tag(ENDPOINT_CLASS_TAG, endpointClass.getTag())
+                    .register(meterRegistry);
+            acquiredTimers.put(endpointClass, waitTimer(meterRegistry, endpointClass, "acquired"));
+            rejectedTimers.put(endpointClass, waitTimer(meterRegistry, endpointClass, "rejected"));
+        });
+    }
+
+    public boolean acquire(EndpointClass endpointClass) {
+        Semaphore semaphore = semaphores.get(endpointClass);
+        if (semaphore == null) {
+            return false;
+        }
+
+        long start = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = semaphore.tryAcquire(maxWait.toNanos(), NANOSECONDS);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+
+        (acquired ? acquiredTimers : rejectedTimers).get(endpointClass)
+                .record(System.nanoTime() - start, NANOSECONDS);
+        if (!acquired) {
+            throw new BulkheadFullException(endpointClass);
+        }
+        return true;
+    }
+
+    public void release(EndpointClass endpointClass) {
+        semaphores.get(endpointClass).release();
+    }
+
+    private static Timer waitTimer(MeterRegistry meterRegistry, EndpointClass endpointClass, String outcome) {
+        return Timer.builder("database.bulkhead.wait")
+                .tag(ENDPOINT_CLASS_TAG, endpointClass.getTag())
+                .tag(OUTCOME_TAG, outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,14 @@
+package com.jonathanfoucher.databaseexample.common.bulkhead;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum EndpointClass {
+    LOOKUP("lookup"),
+    EXPORT("export"),
+    WRITE("write");
+
+    private final String tag;
+}
@@ -0,0 +1,85 @@
+package com.jonathanfoucher.databaseexample.common.coalescing;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+public class LookupCoalescer {
+    private static final String ENTITY_TAG = "entity";
+
+    private final ConcurrentMap<LookupKey, CompletableFuture<Object>> inFlightLookups = new ConcurrentHashMap<>();
+    private final Map<LookupEntity, Counter> coalescedCounters = new EnumMap<>(LookupEntity.class);
+    private final BooleanSupplier pinnedToPrimary;
+
+    public LookupCoalescer(MeterRegistry meterRegistry, BooleanSupplier pinnedToPrimary) {
+        this.pinnedToPrimary = pinnedToPrimary;
+        for (LookupEntity entity : LookupEntity.values()) {
+            coalescedCounters.put(entity, Counter.builder("database.lookup.coalesced")
+                    .tag(ENTITY_TAG, entity.getTag())
+                    .register(meterRegistry));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T load(LookupEntity entity, Object id, Supplier<T> loader) {
+        if (pinnedToPrimary.getAsBoolean()) {
+            return loader.get();
+        }
+
+        LookupKey key = new LookupKey(entity, id);
+        CompletableFuture<Object> lookup = new CompletableFuture<>();
+        CompletableFuture<Object> inFlightLookup = inFlightLookups.putIfAbsent(key, lookup);
+        if (inFlightLookup != null) {
+            coalescedCounters.get(entity).increment();
+            return (T) join(inFlightLookup);
+        }
+
+        try {
+            T result = loader.get();
+            lookup.complete(result);
+            return result;
+        } catch (RuntimeException | Error exception) {
+            lookup.completeExceptionally(exception);
+            throw exception;
+        } finally {
+            inFlightLookups.remove(key, lookup);
+        }
+    }
+
+    public void invalidate(LookupEntity entity, Object id) {
+        inFlightLookups.remove(new LookupKey(entity, id));
+    }
+
+    public void invalidateAll(LookupEntity entity) {
+        inFlightLookups.keySet().removeIf(key -> key.entity() == entity);
+    }
+
+    int inFlightCount() {
+        return inFlightLookups.size();
+    }
+
+    private static Object join(CompletableFuture<Object> lookup) {
+        try {
+            return lookup.join();
+        } catch (CompletionException exception) {
+            if (exception.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (exception.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw exception;
+        }
+    }
+
+    private record LookupKey(LookupEntity entity, Object id) {
+    }
+}
@@ -0,0 +1,13 @@
+package com.jonathanfoucher.databaseexample.common.coalescing;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum LookupEntity {
+    MOVIE("movie"),
+    DIRECTOR("director");
+
+    private final String tag;
+}
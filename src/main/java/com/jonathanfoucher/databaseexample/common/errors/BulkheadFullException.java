@@ -0,0 +1,9 @@
+package com.jonathanfoucher.databaseexample.common.errors;
+
+import com.jonathanfoucher.databaseexample.common.bulkhead.EndpointClass;
+
+public class BulkheadFullException extends RuntimeException {
+    public BulkheadFullException(EndpointClass endpointClass) {
+        super("Too many concurrent " + endpointClass.getTag() + " requests");
+    }
+}
@@ -0,0 +1,7 @@
+package com.jonathanfoucher.databaseexample.common.errors;
+
+public class InvalidCountModeException extends RuntimeException {
+    public InvalidCountModeException(String countMode) {
+        super("Invalid count mode " + countMode);
+    }
+}
@@ -0,0 +1,7 @@
+package com.jonathanfoucher.databaseexample.common.errors;
+
+public class InvalidCursorException extends RuntimeException {
+    public InvalidCursorException(String cursor) {
+        super("Invalid cursor " + cursor);
+    }
+}
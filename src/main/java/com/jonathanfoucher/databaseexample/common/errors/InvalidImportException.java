@@ -0,0 +1,9 @@
+package com.jonathanfoucher.databaseexample.common.errors;
+
+import org.springframework.dao.DataAccessException;
+
+public class InvalidImportException extends RuntimeException {
+    public InvalidImportException(String table, DataAccessException cause) {
+        super("Invalid " + table + " import file : " + cause.getMostSpecificCause().getMessage(), cause);
+    }
+}
@@ -0,0 +1,7 @@
+package com.jonathanfoucher.databaseexample.common.errors;
+
+public class InvalidSortKeyException extends RuntimeException {
+    public InvalidSortKeyException(String sortKey) {
+        super("Invalid sort key " + sortKey);
+    }
+}
@@ -0,0 +1,7 @@
+package com.jonathanfoucher.databaseexample.common.errors;
+
+public class InvalidSyncTokenException extends RuntimeException {
+    public InvalidSyncTokenException(String token) {
+        super("Invalid sync token " + token);
+    }
+}
@@ -0,0 +1,24 @@
+package com.jonathanfoucher.databaseexample.common.pagination;
+
+import com.jonathanfoucher.databaseexample.common.errors.InvalidCountModeException;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Arrays;
+
+@Getter
+@RequiredArgsConstructor
+public enum CountMode {
+    NONE("none"),
+    ESTIMATE("estimate"),
+    EXACT("exact");
+
+    private final String parameter;
+
+    public static CountMode fromParameter(String parameter) {
+        return Arrays.stream(values())
+                .filter(countMode -> countMode.parameter.equals(parameter))
+                .findFirst()
+                .orElseThrow(() -> new InvalidCountModeException(parameter));
+    }
+}
@@ -0,0 +1,56 @@
+package com.jonathanfoucher.databaseexample.common.pagination;
+
+import com.jonathanfoucher.databaseexample.common.errors.InvalidCursorException;
+import com.jonathanfoucher.databaseexample.data.dto.MovieDto;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.Base64;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+public record MovieCursor(MovieSortKey sortKey, String value, Long id) {
+    private static final String SEPARATOR = "|";
+
+    public static MovieCursor of(MovieSortKey sortKey, MovieDto movie) {
+        String value = switch (sortKey) {
+            case ID -> movie.getId().toString();
+            case RELEASE_DATE -> movie.getReleaseDate().toString();
+            case UPDATED_AT -> movie.getUpdatedAt().toOffsetDateTime().toString();
+        };
+        return new MovieCursor(sortKey, value, movie.getId());
+    }
+
+    public LocalDate releaseDateValue() {
+        return LocalDate.parse(value);
+    }
+
+    public ZonedDateTime updatedAtValue() {
+        return ZonedDateTime.parse(value);
+    }
+
+    public String encode() {
+        String decoded = String.join(SEPARATOR, sortKey.name(), value, id.toString());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(decoded.getBytes(UTF_8));
+    }
+
+    public static MovieCursor decode(String cursor) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), UTF_8).split("\\" + SEPARATOR, -1);
+            if (parts.length != 3) {
+                throw new InvalidCursorException(cursor);
+            }
+
+            MovieCursor movieCursor = new MovieCursor(MovieSortKey.valueOf(parts[0]), parts[1], Long.valueOf(parts[2]));
+            switch (movieCursor.sortKey()) {
+                case ID -> Long.valueOf(movieCursor.value());
+                case RELEASE_DATE -> movieCursor.releaseDateValue();
+                case UPDATED_AT -> movieCursor.updatedAtValue();
+            }
+            return movieCursor;
+        } catch (IllegalArgumentException | DateTimeException exception) {
+            throw new InvalidCursorException(cursor);
+        }
+    }
+}
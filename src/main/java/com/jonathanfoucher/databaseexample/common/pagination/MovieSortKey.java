@@ -0,0 +1,31 @@
+package com.jonathanfoucher.databaseexample.common.pagination;
+
+import com.jonathanfoucher.databaseexample.common.errors.InvalidSortKeyException;
+import com.jonathanfoucher.databaseexample.data.model.Movie_;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+
+import java.util.Arrays;
+
+@Getter
+@RequiredArgsConstructor
+public enum MovieSortKey {
+    ID("id", Movie_.ID),
+    RELEASE_DATE("release_date", Movie_.RELEASE_DATE),
+    UPDATED_AT("updated_at", Movie_.UPDATED_AT);
+
+    private final String parameter;
+    private final String attribute;
+
+    public Sort getSort() {
+        return this == ID ? Sort.by(Movie_.ID) : Sort.by(attribute, Movie_.ID);
+    }
+
+    public static MovieSortKey fromParameter(String parameter) {
+        return Arrays.stream(values())
+                .filter(sortKey -> sortKey.parameter.equals(parameter))
+                .findFirst()
+                .orElseThrow(() -> new InvalidSortKeyException(parameter));
+    }
+}
@@ -0,0 +1,7 @@
+package com.jonathanfoucher.databaseexample.common.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "database-example.batch")
+public record BatchProperties(int size) {
+}
@@ -0,0 +1,11 @@
+package com.jonathanfoucher.databaseexample.common.properties;
+
+import com.jonathanfoucher.databaseexample.common.bulkhead.EndpointClass;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.Map;
+
+@ConfigurationProperties(prefix = "database-example.bulkhead")
+public record BulkheadProperties(boolean enabled, Duration maxWait, Map<EndpointClass, Integer> permits) {
+}
@@ -0,0 +1,9 @@
+package com.jonathanfoucher.databaseexample.common.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "database-example.change-stream")
+public record ChangeStreamProperties(int bufferSize, Duration timeout) {
+}
@@ -0,0 +1,11 @@
+package com.jonathanfoucher.databaseexample.common.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.List;
+
+@ConfigurationProperties(prefix = "database-example.replicas")
+public record ReplicaProperties(boolean enabled, List<String> urls, Duration maxLag, Duration healthCheckInterval,
+                                Duration readYourWritesWindow) {
+}
@@ -0,0 +1,10 @@
+package com.jonathanfoucher.databaseexample.common.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.Map;
+
+@ConfigurationProperties(prefix = "database-example.statement-budget")
+public record StatementBudgetProperties(boolean enabled, int defaultBudget, int repeatedStatementThreshold,
+                                        Map<String, Integer> endpoints) {
+}
@@ -0,0 +1,7 @@
+package com.jonathanfoucher.databaseexample.common.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "database-example.streaming")
+public record StreamingProperties(int fetchSize) {
+}
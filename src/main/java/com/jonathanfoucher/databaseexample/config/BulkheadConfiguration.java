@@ -0,0 +1,30 @@
+package com.jonathanfoucher.databaseexample.config;
+
+import com.jonathanfoucher.databaseexample.common.bulkhead.DatabaseBulkheads;
+import com.jonathanfoucher.databaseexample.common.properties.BulkheadProperties;
+import com.jonathanfoucher.databaseexample.controllers.interceptors.BulkheadInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@ConditionalOnProperty(prefix = "database-example.bulkhead", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class BulkheadConfiguration implements WebMvcConfigurer {
+    private final BulkheadProperties bulkheadProperties;
+    private final MeterRegistry meterRegistry;
+
+    @Bean
+    public DatabaseBulkheads databaseBulkheads() {
+        return new DatabaseBulkheads(bulkheadProperties, meterRegistry);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new BulkheadInterceptor(databaseBulkheads()));
+    }
+}
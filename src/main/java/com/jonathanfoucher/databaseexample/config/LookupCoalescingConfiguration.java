@@ -0,0 +1,17 @@
+package com.jonathanfoucher.databaseexample.config;
+
+import com.jonathanfoucher.databaseexample.common.coalescing.LookupCoalescer;
+import com.jonathanfoucher.databaseexample.data.routing.ReadYourWrites;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class LookupCoalescingConfiguration {
+    @Bean
+    public LookupCoalescer lookupCoalescer(MeterRegistry meterRegistry, ObjectProvider<ReadYourWrites> readYourWrites) {
+        ReadYourWrites pinning = readYourWrites.getIfAvailable();
+        return new LookupCoalescer(meterRegistry, pinning != null ? pinning::isPinnedToPrimary : () -> false);
+    }
+}
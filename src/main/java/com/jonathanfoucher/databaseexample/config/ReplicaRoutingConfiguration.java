@@ -0,0 +1,76 @@
+package com.jonathanfoucher.databaseexample.config;
+
+import com.jonathanfoucher.databaseexample.common.properties.ReplicaProperties;
+import com.jonathanfoucher.databaseexample.data.routing.ReadYourWrites;
+import com.jonathanfoucher.databaseexample.data.routing.ReplicaCacheStoreMode;
+import com.jonathanfoucher.databaseexample.data.routing.ReplicaDataSourceRouter;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(prefix = "database-example.replicas", name = "enabled", havingValue = "true")
+public class ReplicaRoutingConfiguration {
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+        return dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+    }
+
+    @Bean
+    public ReadYourWrites readYourWrites(ReplicaProperties replicaProperties) {
+        return new ReadYourWrites(replicaProperties, Clock.systemUTC());
+    }
+
+    @Bean
+    public ReplicaCacheStoreMode replicaCacheStoreMode(ReadYourWrites readYourWrites, EntityManagerFactory entityManagerFactory) {
+        return new ReplicaCacheStoreMode(readYourWrites, entityManagerFactory);
+    }
+
+    @Bean
+    public ReplicaDataSourceRouter replicaDataSourceRouter(HikariDataSource primaryDataSource, DataSourceProperties dataSourceProperties,
+                                                           ReplicaProperties replicaProperties, ReadYourWrites readYourWrites,
+                                                           MeterRegistry meterRegistry) {
+        List<ReplicaDataSourceRouter.Replica> replicas = new ArrayList<>();
+        for (int index = 0; index < replicaProperties.urls().size(); index++) {
+            HikariDataSource replicaDataSource = dataSourceProperties.initializeDataSourceBuilder()
+                    .type(HikariDataSource.class)
+                    .url(replicaProperties.urls().get(index))
+                    .build();
+            replicaDataSource.setPoolName("replica-" + index);
+            replicaDataSource.setReadOnly(true);
+            replicaDataSource.setMaximumPoolSize(primaryDataSource.getMaximumPoolSize());
+            replicaDataSource.setConnectionTimeout(replicaProperties.healthCheckInterval().toMillis());
+            replicas.add(new ReplicaDataSourceRouter.Replica("replica-" + index, replicaDataSource));
+        }
+
+        ReplicaDataSourceRouter router = new ReplicaDataSourceRouter(primaryDataSource, replicas, readYourWrites,
+                replicaProperties.maxLag(), meterRegistry);
+        router.checkReplicas();
+        return router;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaDataSourceRouter replicaDataSourceRouter) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        dataSource.setReadOnlyDataSource(replicaDataSourceRouter);
+        return dataSource;
+    }
+}
@@ -0,0 +1,24 @@
+package com.jonathanfoucher.databaseexample.config;
+
+import com.jonathanfoucher.databaseexample.data.metrics.RepositoryMetricsPostProcessor;
+import com.jonathanfoucher.databaseexample.data.metrics.RepositoryStatistics;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.StatisticsSettings;
+import org.hibernate.stat.spi.StatisticsFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class RepositoryMetricsConfiguration {
+    @Bean
+    public static RepositoryMetricsPostProcessor repositoryMetricsPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new RepositoryMetricsPostProcessor(meterRegistry);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer repositoryStatisticsHibernatePropertiesCustomizer() {
+        return properties -> properties.put(StatisticsSettings.STATS_BUILDER, (StatisticsFactory) RepositoryStatistics::new);
+    }
+}
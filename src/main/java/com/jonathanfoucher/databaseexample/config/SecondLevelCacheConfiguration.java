@@ -0,0 +1,36 @@
+package com.jonathanfoucher.databaseexample.config;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.ClassPathResource;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.io.IOException;
+
+@Configuration
+public class SecondLevelCacheConfiguration {
+    private static final String EHCACHE_PROVIDER = "org.ehcache.jsr107.EhcacheCachingProvider";
+    private static final String EHCACHE_CONFIGURATION = "ehcache.xml";
+
+    @Bean(destroyMethod = "close")
+    public CacheManager secondLevelCacheManager() throws IOException {
+        return Caching.getCachingProvider(EHCACHE_PROVIDER)
+                .getCacheManager(new ClassPathResource(EHCACHE_CONFIGURATION).getURI(), getClass().getClassLoader());
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheHibernatePropertiesCustomizer(CacheManager secondLevelCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, secondLevelCacheManager);
+    }
+
+    @Bean
+    public MeterBinder secondLevelCacheMetrics(CacheManager secondLevelCacheManager) {
+        return registry -> secondLevelCacheManager.getCacheNames()
+                .forEach(name -> JCacheMetrics.monitor(registry, secondLevelCacheManager.getCache(name)));
+    }
+}
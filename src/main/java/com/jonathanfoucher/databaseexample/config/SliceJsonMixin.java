@@ -0,0 +1,11 @@
+package com.jonathanfoucher.databaseexample.config;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import org.springframework.boot.jackson.JsonMixin;
+import org.springframework.data.domain.SliceImpl;
+
+@JsonMixin(SliceImpl.class)
+public abstract class SliceJsonMixin {
+    @JsonProperty
+    public abstract boolean hasNext();
+}
@@ -0,0 +1,36 @@
+package com.jonathanfoucher.databaseexample.config;
+
+import com.jonathanfoucher.databaseexample.common.properties.StatementBudgetProperties;
+import com.jonathanfoucher.databaseexample.controllers.interceptors.StatementBudgetInterceptor;
+import com.jonathanfoucher.databaseexample.data.metrics.RequestStatementInspector;
+import com.jonathanfoucher.databaseexample.data.metrics.RequestStatementTimer;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@ConditionalOnProperty(prefix = "database-example.statement-budget", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class StatementBudgetConfiguration implements WebMvcConfigurer {
+    private final StatementBudgetProperties statementBudgetProperties;
+    private final MeterRegistry meterRegistry;
+
+    @Bean
+    public HibernatePropertiesCustomizer requestStatementsHibernatePropertiesCustomizer() {
+        return properties -> {
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR, new RequestStatementInspector());
+            properties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, RequestStatementTimer.class.getName());
+        };
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new StatementBudgetInterceptor(statementBudgetProperties, meterRegistry));
+    }
+}
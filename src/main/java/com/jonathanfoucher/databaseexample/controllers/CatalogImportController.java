@@ -0,0 +1,33 @@
+package com.jonathanfoucher.databaseexample.controllers;
+
+import com.jonathanfoucher.databaseexample.common.bulkhead.Bulkhead;
+import com.jonathanfoucher.databaseexample.data.dto.ImportReportDto;
+import com.jonathanfoucher.databaseexample.services.CatalogImportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.InputStream;
+
+import static com.jonathanfoucher.databaseexample.common.bulkhead.EndpointClass.WRITE;
+
+@RestController
+@Bulkhead(WRITE)
+@RequestMapping("/imports")
+@RequiredArgsConstructor
+public class CatalogImportController {
+    private static final String TEXT_CSV_VALUE = "text/csv";
+
+    private final CatalogImportService catalogImportService;
+
+    @PostMapping(value = "/directors", consumes = TEXT_CSV_VALUE)
+    public ImportReportDto importDirectors(InputStream csv) {
+        return catalogImportService.importDirectors(csv);
+    }
+
+    @PostMapping(value = "/movies", consumes = TEXT_CSV_VALUE)
+    public ImportReportDto importMovies(InputStream csv) {
+        return catalogImportService.importMovies(csv);
+    }
+}
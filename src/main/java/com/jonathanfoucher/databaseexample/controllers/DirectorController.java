@@ -1,40 +1,117 @@
 package com.jonathanfoucher.databaseexample.controllers;
 
+import com.jonathanfoucher.databaseexample.common.bulkhead.Bulkhead;
+import com.jonathanfoucher.databaseexample.controllers.conditional.ConditionalResponses;
+import com.jonathanfoucher.databaseexample.controllers.streaming.EntityStreamWriter;
 import com.jonathanfoucher.databaseexample.data.dto.DirectorDto;
+import com.jonathanfoucher.databaseexample.data.dto.DirectorSuggestionDto;
+import com.jonathanfoucher.databaseexample.services.DirectorAutocompleteService;
 import com.jonathanfoucher.databaseexample.services.DirectorService;
+import com.jonathanfoucher.databaseexample.services.MovieDirectorIndexService;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
+import static com.jonathanfoucher.databaseexample.common.bulkhead.EndpointClass.EXPORT;
+import static com.jonathanfoucher.databaseexample.common.bulkhead.EndpointClass.LOOKUP;
+import static com.jonathanfoucher.databaseexample.common.bulkhead.EndpointClass.WRITE;
+import static com.jonathanfoucher.databaseexample.controllers.streaming.EntityStreamWriter.APPLICATION_SMILE;
+import static com.jonathanfoucher.databaseexample.controllers.streaming.EntityStreamWriter.APPLICATION_SMILE_VALUE;
+import static org.springframework.http.MediaType.APPLICATION_CBOR;
+import static org.springframework.http.MediaType.APPLICATION_CBOR_VALUE;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+
 @RestController
 @RequestMapping("/directors")
 @RequiredArgsConstructor
 public class DirectorController {
     private final DirectorService directorService;
+    private final DirectorAutocompleteService directorAutocompleteService;
+    private final MovieDirectorIndexService movieDirectorIndexService;
+    private final EntityStreamWriter entityStreamWriter;
 
+    @Bulkhead(LOOKUP)
     @GetMapping("/{id}")
-    public DirectorDto findById(@PathVariable("id") Long id) {
-        return directorService.findById(id);
+    public ResponseEntity<DirectorDto> findById(@PathVariable("id") Long id, HttpServletRequest request) {
+        return ConditionalResponses.withVersion(
+                request,
+                () -> directorService.findUpdatedAtById(id),
+                () -> directorService.findById(id),
+                DirectorDto::getUpdatedAt
+        );
     }
 
+    @Bulkhead(EXPORT)
     @GetMapping("/ordered")
-    public List<DirectorDto> findAllByOrderByLastNameAscFirstNameAsc() {
-        return directorService.findAllByOrderByLastNameAscFirstNameAsc();
+    public ResponseEntity<StreamingResponseBody> findAllByOrderByLastNameAscFirstNameAsc() {
+        return streamAllByOrderByLastNameAscFirstNameAsc(APPLICATION_JSON);
+    }
+
+    @Bulkhead(EXPORT)
+    @GetMapping(value = "/ordered", produces = APPLICATION_CBOR_VALUE)
+    public ResponseEntity<StreamingResponseBody> findAllByOrderByLastNameAscFirstNameAscAsCbor() {
+        return streamAllByOrderByLastNameAscFirstNameAsc(APPLICATION_CBOR);
+    }
+
+    @Bulkhead(EXPORT)
+    @GetMapping(value = "/ordered", produces = APPLICATION_SMILE_VALUE)
+    public ResponseEntity<StreamingResponseBody> findAllByOrderByLastNameAscFirstNameAscAsSmile() {
+        return streamAllByOrderByLastNameAscFirstNameAsc(APPLICATION_SMILE);
+    }
+
+    @Bulkhead(EXPORT)
+    @GetMapping("/with-movies")
+    public ResponseEntity<StreamingResponseBody> streamAllWithMovies() {
+        return ResponseEntity.ok()
+                .contentType(APPLICATION_JSON)
+                .body(entityStreamWriter.jsonArray(directorService::streamAllWithMovies));
     }
 
+    @GetMapping("/autocomplete")
+    public List<DirectorSuggestionDto> findByPrefix(@RequestParam("prefix") String prefix,
+                                                    @RequestParam(value = "size", required = false) Integer size) {
+        return directorAutocompleteService.findByPrefix(prefix, size);
+    }
+
+    @GetMapping("/{id}/movie-ids")
+    public long[] findMovieIdsById(@PathVariable("id") Long id) {
+        return movieDirectorIndexService.findMovieIdsByDirectorId(id);
+    }
+
+    @Bulkhead(LOOKUP)
     @GetMapping
-    public List<DirectorDto> findByLastName(@RequestParam("last_name") String lastName) {
-        return directorService.findByLastName(lastName);
+    public ResponseEntity<StreamingResponseBody> findByLastName(@RequestParam("last_name") String lastName) {
+        return ResponseEntity.ok()
+                .contentType(APPLICATION_JSON)
+                .body(entityStreamWriter.<DirectorDto>jsonArray(consumer -> directorService.findByLastName(lastName, consumer)));
     }
 
+    @Bulkhead(WRITE)
     @PostMapping
     public void save(@RequestBody DirectorDto director) {
         directorService.save(director);
     }
 
+    @Bulkhead(WRITE)
+    @PostMapping("/batch")
+    public void saveAll(@RequestBody List<DirectorDto> directors) {
+        directorService.saveAll(directors);
+    }
+
+    @Bulkhead(WRITE)
     @DeleteMapping("/{id}")
     public void deleteById(@PathVariable("id") Long id) {
         directorService.deleteById(id);
     }
+
+    private ResponseEntity<StreamingResponseBody> streamAllByOrderByLastNameAscFirstNameAsc(MediaType mediaType) {
+        return ResponseEntity.ok()
+                .contentType(mediaType)
+                .body(entityStreamWriter.array(mediaType, directorService::findAllByOrderByLastNameAscFirstNameAsc));
+    }
 }
@@ -1,59 +1,127 @@
 package com.jonathanfoucher.databaseexample.controllers;
 
+import com.jonathanfoucher.databaseexample.common.bulkhead.Bulkhead;
+import com.jonathanfoucher.databaseexample.common.pagination.CountMode;
+import com.jonathanfoucher.databaseexample.controllers.conditional.ConditionalResponses;
+import com.jonathanfoucher.databaseexample.controllers.streaming.EntityStreamWriter;
+import com.jonathanfoucher.databaseexample.data.dto.CursorPageDto;
 import com.jonathanfoucher.databaseexample.data.dto.FlatMovieDirectorDto;
 import com.jonathanfoucher.databaseexample.data.dto.MovieDirectorLink;
 import com.jonathanfoucher.databaseexample.data.dto.MovieDto;
+import com.jonathanfoucher.databaseexample.services.MovieChangeStreamService;
+import com.jonathanfoucher.databaseexample.services.MovieDirectorIndexService;
 import com.jonathanfoucher.databaseexample.services.MovieService;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
 import java.time.ZonedDateTime;
 import java.util.List;
 
+import static com.jonathanfoucher.databaseexample.common.bulkhead.EndpointClass.EXPORT;
+import static com.jonathanfoucher.databaseexample.common.bulkhead.EndpointClass.LOOKUP;
+import static com.jonathanfoucher.databaseexample.common.bulkhead.EndpointClass.WRITE;
 import static org.springframework.format.annotation.DateTimeFormat.ISO.DATE;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON_VALUE;
+import static org.springframework.http.MediaType.TEXT_EVENT_STREAM_VALUE;
 
 @RestController
 @RequestMapping("/movies")
 @RequiredArgsConstructor
 public class MovieController {
     private final MovieService movieService;
+    private final MovieChangeStreamService movieChangeStreamService;
+    private final MovieDirectorIndexService movieDirectorIndexService;
+    private final EntityStreamWriter entityStreamWriter;
 
+    @Bulkhead(LOOKUP)
     @GetMapping("/{id}")
-    public MovieDto findById(@PathVariable("id") Long id) {
-        return movieService.findById(id);
+    public ResponseEntity<MovieDto> findById(@PathVariable("id") Long id, HttpServletRequest request) {
+        return ConditionalResponses.withVersion(
+                request,
+                () -> movieService.findUpdatedAtById(id),
+                () -> movieService.findById(id),
+                MovieDto::getUpdatedAt
+        );
     }
 
+    @Bulkhead(LOOKUP)
     @GetMapping
-    public Page<MovieDto> findAllFiltered(@PageableDefault(size = 20) Pageable pageable,
-                                          @RequestParam(value = "released_after", required = false)
-                                          @DateTimeFormat(iso = DATE)
-                                          LocalDate releaseAfter,
-                                          @RequestParam(value = "updated_since", required = false)
-                                          @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss.SSS Z")
-                                          ZonedDateTime updatedSince) {
-        return movieService.findAllFiltered(pageable, releaseAfter, updatedSince);
+    public Slice<MovieDto> findAllFiltered(@PageableDefault(size = 20) Pageable pageable,
+                                           @RequestParam(value = "count", defaultValue = "exact") String count,
+                                           @RequestParam(value = "released_after", required = false)
+                                           @DateTimeFormat(iso = DATE)
+                                           LocalDate releaseAfter,
+                                           @RequestParam(value = "updated_since", required = false)
+                                           @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss.SSS Z")
+                                           ZonedDateTime updatedSince) {
+        return switch (CountMode.fromParameter(count)) {
+            case NONE -> movieService.findAllFilteredWithoutCount(pageable, releaseAfter, updatedSince);
+            case ESTIMATE -> movieService.findAllFilteredWithEstimatedCount(pageable, releaseAfter, updatedSince);
+            case EXACT -> movieService.findAllFiltered(pageable, releaseAfter, updatedSince);
+        };
+    }
+
+    @Bulkhead(LOOKUP)
+    @GetMapping(params = "cursor")
+    public CursorPageDto<MovieDto> findAllFilteredByCursor(@RequestParam("cursor") String cursor,
+                                                           @RequestParam(value = "sort", defaultValue = "id") String sort,
+                                                           @RequestParam(value = "size", defaultValue = "20") int size,
+                                                           @RequestParam(value = "released_after", required = false)
+                                                           @DateTimeFormat(iso = DATE)
+                                                           LocalDate releaseAfter,
+                                                           @RequestParam(value = "updated_since", required = false)
+                                                           @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss.SSS Z")
+                                                           ZonedDateTime updatedSince) {
+        return movieService.findAllFilteredByCursor(cursor, sort, size, releaseAfter, updatedSince);
     }
 
     @GetMapping("/directors/links")
     public List<MovieDirectorLink> findAllMovieDirectorLinks() {
-        return movieService.findAllMovieDirectorLinks();
+        return movieDirectorIndexService.findAllMovieDirectorLinks();
     }
 
+    @Bulkhead(EXPORT)
     @GetMapping("/directors")
     public List<FlatMovieDirectorDto> findAllFlatMovieDirectors() {
         return movieService.findAllFlatMovieDirectors();
     }
 
+    @Bulkhead(EXPORT)
+    @GetMapping(value = "/directors", produces = APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllFlatMovieDirectors() {
+        return ResponseEntity.ok()
+                .contentType(APPLICATION_NDJSON)
+                .body(entityStreamWriter.ndjson(movieService::streamAllFlatMovieDirectors));
+    }
+
+    @GetMapping(value = "/changes/stream", produces = TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges() {
+        return movieChangeStreamService.subscribe();
+    }
+
+    @Bulkhead(WRITE)
     @PostMapping
     public void save(@RequestBody MovieDto movie) {
         movieService.save(movie);
     }
 
+    @Bulkhead(WRITE)
+    @PostMapping("/batch")
+    public void saveAll(@RequestBody List<MovieDto> movies) {
+        movieService.saveAll(movies);
+    }
+
+    @Bulkhead(WRITE)
     @DeleteMapping("/{id}")
     public void deleteById(@PathVariable("id") Long id) {
         movieService.deleteById(id);
@@ -0,0 +1,29 @@
+package com.jonathanfoucher.databaseexample.controllers;
+
+import com.jonathanfoucher.databaseexample.common.bulkhead.Bulkhead;
+import com.jonathanfoucher.databaseexample.data.dto.SearchResultDto;
+import com.jonathanfoucher.databaseexample.services.SearchService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import static com.jonathanfoucher.databaseexample.common.bulkhead.EndpointClass.LOOKUP;
+
+@RestController
+@Bulkhead(LOOKUP)
+@RequestMapping("/search")
+@RequiredArgsConstructor
+public class SearchController {
+    private final SearchService searchService;
+
+    @GetMapping
+    public Slice<SearchResultDto> search(@RequestParam("q") String query,
+                                         @PageableDefault(size = 20) Pageable pageable) {
+        return searchService.search(query, pageable);
+    }
+}
@@ -0,0 +1,25 @@
+package com.jonathanfoucher.databaseexample.controllers;
+
+import com.jonathanfoucher.databaseexample.common.bulkhead.Bulkhead;
+import com.jonathanfoucher.databaseexample.data.dto.SyncDto;
+import com.jonathanfoucher.databaseexample.services.SyncService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import static com.jonathanfoucher.databaseexample.common.bulkhead.EndpointClass.EXPORT;
+
+@RestController
+@Bulkhead(EXPORT)
+@RequestMapping("/sync")
+@RequiredArgsConstructor
+public class SyncController {
+    private final SyncService syncService;
+
+    @GetMapping
+    public SyncDto findChangesSince(@RequestParam(value = "token", required = false) String token) {
+        return syncService.findChangesSince(token);
+    }
+}
@@ -1,6 +1,12 @@
 package com.jonathanfoucher.databaseexample.controllers.advisers;
 
+import com.jonathanfoucher.databaseexample.common.errors.BulkheadFullException;
 import com.jonathanfoucher.databaseexample.common.errors.DirectorNotFoundException;
+import com.jonathanfoucher.databaseexample.common.errors.InvalidCountModeException;
+import com.jonathanfoucher.databaseexample.common.errors.InvalidCursorException;
+import com.jonathanfoucher.databaseexample.common.errors.InvalidImportException;
+import com.jonathanfoucher.databaseexample.common.errors.InvalidSortKeyException;
+import com.jonathanfoucher.databaseexample.common.errors.InvalidSyncTokenException;
 import com.jonathanfoucher.databaseexample.common.errors.MovieNotFoundException;
 import lombok.extern.slf4j.Slf4j;
 import org.slf4j.event.Level;
@@ -18,8 +24,10 @@ import java.time.format.DateTimeFormatter;
 
 import static org.slf4j.event.Level.ERROR;
 import static org.slf4j.event.Level.WARN;
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
 import static org.springframework.http.HttpStatus.INTERNAL_SERVER_ERROR;
 import static org.springframework.http.HttpStatus.NOT_FOUND;
+import static org.springframework.http.HttpStatus.SERVICE_UNAVAILABLE;
 
 @ControllerAdvice
 @Slf4j
@@ -31,6 +39,17 @@ public class CustomResponseEntityExceptionHandler extends ResponseEntityExceptio
         return generateResponseEntity(exception, request, NOT_FOUND, WARN);
     }
 
+    @ExceptionHandler({InvalidCursorException.class, InvalidSortKeyException.class, InvalidImportException.class,
+            InvalidSyncTokenException.class, InvalidCountModeException.class})
+    public ResponseEntity<ProblemDetail> handleBadRequestExceptions(Exception exception, WebRequest request) {
+        return generateResponseEntity(exception, request, BAD_REQUEST, WARN);
+    }
+
+    @ExceptionHandler(BulkheadFullException.class)
+    public ResponseEntity<ProblemDetail> handleServiceUnavailableExceptions(Exception exception, WebRequest request) {
+        return generateResponseEntity(exception, request, SERVICE_UNAVAILABLE, WARN);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ProblemDetail> handleInternalServerErrorExceptions(Exception exception, WebRequest request) {
         return generateResponseEntity(exception, request, INTERNAL_SERVER_ERROR, ERROR);
@@ -0,0 +1,50 @@
+package com.jonathanfoucher.databaseexample.controllers.conditional;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static java.time.temporal.ChronoUnit.MICROS;
+import static org.springframework.http.HttpHeaders.IF_MODIFIED_SINCE;
+import static org.springframework.http.HttpHeaders.IF_NONE_MATCH;
+import static org.springframework.http.HttpStatus.NOT_MODIFIED;
+
+public abstract class ConditionalResponses {
+    private ConditionalResponses() {
+    }
+
+    public static <T> ResponseEntity<T> withVersion(HttpServletRequest request,
+                                                    Supplier<ZonedDateTime> versionLoader,
+                                                    Supplier<T> bodyLoader,
+                                                    Function<T, ZonedDateTime> versionExtractor) {
+        if (request.getHeader(IF_NONE_MATCH) != null || request.getHeader(IF_MODIFIED_SINCE) != null) {
+            ZonedDateTime version = versionLoader.get();
+            if (new ServletWebRequest(request).checkNotModified(entityTag(version), version.toInstant().toEpochMilli())) {
+                return ResponseEntity.status(NOT_MODIFIED)
+                        .eTag(entityTag(version))
+                        .lastModified(version)
+                        .build();
+            }
+        }
+
+        T body = bodyLoader.get();
+        ZonedDateTime version = versionExtractor.apply(body);
+        if (version == null) {
+            return ResponseEntity.ok(body);
+        }
+
+        return ResponseEntity.ok()
+                .eTag(entityTag(version))
+                .lastModified(version)
+                .body(body);
+    }
+
+    public static String entityTag(ZonedDateTime version) {
+        return "\"" + MICROS.between(Instant.EPOCH, version.toInstant()) + "\"";
+    }
+}
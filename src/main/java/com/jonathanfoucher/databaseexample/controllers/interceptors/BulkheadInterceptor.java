@@ -0,0 +1,42 @@
+package com.jonathanfoucher.databaseexample.controllers.interceptors;
+
+import com.jonathanfoucher.databaseexample.common.bulkhead.Bulkhead;
+import com.jonathanfoucher.databaseexample.common.bulkhead.DatabaseBulkheads;
+import com.jonathanfoucher.databaseexample.common.bulkhead.EndpointClass;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import static jakarta.servlet.DispatcherType.REQUEST;
+
+@RequiredArgsConstructor
+public class BulkheadInterceptor implements HandlerInterceptor {
+    private static final String ACQUIRED_ENDPOINT_CLASS_ATTRIBUTE = BulkheadInterceptor.class.getName() + ".acquiredEndpointClass";
+
+    private final DatabaseBulkheads databaseBulkheads;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getDispatcherType() != REQUEST || !(handler instanceof HandlerMethod handlerMethod)) {
+            return true;
+        }
+
+        Bulkhead bulkhead = handlerMethod.hasMethodAnnotation(Bulkhead.class)
+                ? handlerMethod.getMethodAnnotation(Bulkhead.class)
+                : handlerMethod.getBeanType().getAnnotation(Bulkhead.class);
+        if (bulkhead != null && databaseBulkheads.acquire(bulkhead.value())) {
+            request.setAttribute(ACQUIRED_ENDPOINT_CLASS_ATTRIBUTE, bulkhead.value());
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception exception) {
+        if (request.getAttribute(ACQUIRED_ENDPOINT_CLASS_ATTRIBUTE) instanceof EndpointClass endpointClass) {
+            request.removeAttribute(ACQUIRED_ENDPOINT_CLASS_ATTRIBUTE);
+            databaseBulkheads.release(endpointClass);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.jonathanfoucher.databaseexample.controllers.interceptors;
+
+import com.jonathanfoucher.databaseexample.common.properties.StatementBudgetProperties;
+import com.jonathanfoucher.databaseexample.data.metrics.RequestStatements;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static jakarta.servlet.DispatcherType.REQUEST;
+
+@Slf4j
+@RequiredArgsConstructor
+public class StatementBudgetInterceptor implements AsyncHandlerInterceptor {
+    private static final String UNKNOWN_URI = "UNKNOWN";
+
+    private final StatementBudgetProperties statementBudgetProperties;
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getDispatcherType() == REQUEST) {
+            RequestStatements.begin();
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        complete(request);
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception exception) {
+        complete(request);
+    }
+
+    private void complete(HttpServletRequest request) {
+        RequestStatements requestStatements = RequestStatements.current();
+        if (requestStatements == null) {
+            return;
+        }
+        RequestStatements.end();
+
+        String uri = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE) instanceof String pattern ? pattern : UNKNOWN_URI;
+        String endpoint = request.getMethod() + " " + uri;
+        Tags tags = Tags.of("method", request.getMethod(), "uri", uri);
+
+        DistributionSummary.builder("database.request.statements")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(requestStatements.getStatements());
+        DistributionSummary.builder("database.request.rows")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(requestStatements.getRows());
+        Timer.builder("database.request.time")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(requestStatements.getDatabaseTimeNanos(), TimeUnit.NANOSECONDS);
+
+        int budget = statementBudgetProperties.endpoints().getOrDefault(endpoint, statementBudgetProperties.defaultBudget());
+        if (requestStatements.getStatements() > budget) {
+            log.warn("{} executed {} statements, exceeding its budget of {}", endpoint, requestStatements.getStatements(), budget);
+            Counter.builder("database.request.budget.exceeded")
+                    .tags(tags)
+                    .register(meterRegistry)
+                    .increment();
+        }
+
+        Map<String, Integer> repeatedStatements = requestStatements.findRepeatedStatements(statementBudgetProperties.repeatedStatementThreshold());
+        if (!repeatedStatements.isEmpty()) {
+            repeatedStatements.forEach((sql, count) -> log.warn("{} executed {} times the same statement, possible N+1 : {}", endpoint, count, sql));
+            Counter.builder("database.request.repeated.statements")
+                    .tags(tags)
+                    .register(meterRegistry)
+                    .increment();
+        }
+    }
+}
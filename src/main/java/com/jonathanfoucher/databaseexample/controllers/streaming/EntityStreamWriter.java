@@ -0,0 +1,79 @@
+package com.jonathanfoucher.databaseexample.controllers.streaming;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static com.fasterxml.jackson.databind.SerializationFeature.FLUSH_AFTER_WRITE_VALUE;
+import static org.springframework.http.MediaType.APPLICATION_CBOR;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+
+@Component
+public class EntityStreamWriter {
+    public static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+    public static final MediaType APPLICATION_SMILE = MediaType.parseMediaType(APPLICATION_SMILE_VALUE);
+
+    private final ObjectMapper objectMapper;
+    private final Map<MediaType, ObjectMapper> objectMappers;
+
+    public EntityStreamWriter(ObjectMapper objectMapper,
+                            MappingJackson2CborHttpMessageConverter cborHttpMessageConverter,
+                            MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter) {
+        this.objectMapper = objectMapper;
+        this.objectMappers = Map.of(
+                APPLICATION_JSON, objectMapper,
+                APPLICATION_CBOR, cborHttpMessageConverter.getObjectMapper(),
+                APPLICATION_SMILE, smileHttpMessageConverter.getObjectMapper()
+        );
+    }
+
+    public <T> StreamingResponseBody ndjson(Consumer<Consumer<T>> producer) {
+        ObjectWriter writer = objectMapper.writer().without(FLUSH_AFTER_WRITE_VALUE);
+        return outputStream -> {
+            try (JsonGenerator generator = objectMapper.createGenerator(outputStream)) {
+                generator.setRootValueSeparator(null);
+                producer.accept(value -> write(writer, generator, value, true));
+            }
+        };
+    }
+
+    public <T> StreamingResponseBody jsonArray(Consumer<Consumer<T>> producer) {
+        return array(APPLICATION_JSON, producer);
+    }
+
+    public <T> StreamingResponseBody array(MediaType mediaType, Consumer<Consumer<T>> producer) {
+        ObjectMapper mapper = objectMappers.get(mediaType);
+        if (mapper == null) {
+            throw new IllegalArgumentException("Unsupported media type " + mediaType);
+        }
+        ObjectWriter writer = mapper.writer().without(FLUSH_AFTER_WRITE_VALUE);
+        return outputStream -> {
+            try (JsonGenerator generator = mapper.createGenerator(outputStream)) {
+                generator.writeStartArray();
+                producer.accept(value -> write(writer, generator, value, false));
+                generator.writeEndArray();
+            }
+        };
+    }
+
+    private static void write(ObjectWriter writer, JsonGenerator generator, Object value, boolean newLine) {
+        try {
+            writer.writeValue(generator, value);
+            if (newLine) {
+                generator.writeRaw('\n');
+            }
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+}
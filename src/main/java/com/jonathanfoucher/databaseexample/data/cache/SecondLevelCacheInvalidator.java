@@ -0,0 +1,40 @@
+package com.jonathanfoucher.databaseexample.data.cache;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.cache.spi.access.EntityDataAccess;
+import org.hibernate.cache.spi.access.SoftLock;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class SecondLevelCacheInvalidator {
+    private final EntityManager entityManager;
+
+    public void lockItem(Class<?> entityClass, Object id) {
+        SessionImplementor session = entityManager.unwrap(SessionImplementor.class);
+        EntityPersister persister = session.getFactory().getMappingMetamodel().getEntityDescriptor(entityClass);
+        EntityDataAccess cacheAccess = persister.getCacheAccessStrategy();
+        if (cacheAccess == null) {
+            return;
+        }
+
+        Object key = cacheAccess.generateCacheKey(id, persister, session.getFactory(), session.getTenantIdentifier());
+        SoftLock lock = cacheAccess.lockItem(session, key, null);
+        session.getActionQueue().registerProcess((_, completedSession) -> cacheAccess.unlockItem(completedSession, key, lock));
+    }
+
+    public void lockRegion(Class<?> entityClass) {
+        SessionImplementor session = entityManager.unwrap(SessionImplementor.class);
+        EntityDataAccess cacheAccess = session.getFactory().getMappingMetamodel().getEntityDescriptor(entityClass).getCacheAccessStrategy();
+        if (cacheAccess == null) {
+            return;
+        }
+
+        SoftLock lock = cacheAccess.lockRegion();
+        cacheAccess.evictAll();
+        session.getActionQueue().registerProcess((_, _) -> cacheAccess.unlockRegion(lock));
+    }
+}
@@ -0,0 +1,4 @@
+package com.jonathanfoucher.databaseexample.data.dto;
+
+public record CatalogChange(long transactionId, String entityType, Long entityId, boolean deleted) {
+}
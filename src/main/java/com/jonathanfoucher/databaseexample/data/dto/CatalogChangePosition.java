@@ -0,0 +1,11 @@
+package com.jonathanfoucher.databaseexample.data.dto;
+
+public record CatalogChangePosition(long transactionId, String entityType, long entityId) {
+    public static CatalogChangePosition startOf(long transactionId) {
+        return new CatalogChangePosition(transactionId, "", Long.MIN_VALUE);
+    }
+
+    public static CatalogChangePosition after(CatalogChange change) {
+        return new CatalogChangePosition(change.transactionId(), change.entityType(), change.entityId());
+    }
+}
@@ -0,0 +1,18 @@
+package com.jonathanfoucher.databaseexample.data.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+public class CursorPageDto<T> {
+    private List<T> content;
+    private String nextCursor;
+
+    @Override
+    public String toString() {
+        return String.format("{ content=%s, next_cursor=%s }", content, nextCursor);
+    }
+}
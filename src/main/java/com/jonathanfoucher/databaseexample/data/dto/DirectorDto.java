@@ -1,17 +1,27 @@
 package com.jonathanfoucher.databaseexample.data.dto;
 
+import lombok.AllArgsConstructor;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import lombok.Setter;
 
+import java.time.ZonedDateTime;
+
 @Getter
 @Setter
+@NoArgsConstructor
+@AllArgsConstructor
 public class DirectorDto {
     private Long id;
     private String firstName;
     private String lastName;
+    private ZonedDateTime updatedAt;
 
     @Override
     public String toString() {
-        return String.format("{ id=%s, first_name=\"%s\", last_name=%s }", id, firstName, lastName);
+        return String.format(
+                "{ id=%s, first_name=\"%s\", last_name=%s, updated_at=%s }",
+                id, firstName, lastName, updatedAt
+        );
     }
 }
@@ -0,0 +1,26 @@
+package com.jonathanfoucher.databaseexample.data.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class DirectorMovieDto {
+    private Long id;
+    private String title;
+    private LocalDate releaseDate;
+
+    @Override
+    public String toString() {
+        return String.format(
+                "{ id=%s, title=\"%s\", release_date=%s }",
+                id, title, releaseDate
+        );
+    }
+}
@@ -0,0 +1,24 @@
+package com.jonathanfoucher.databaseexample.data.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class DirectorSuggestionDto {
+    private Long id;
+    private String firstName;
+    private String lastName;
+
+    @Override
+    public String toString() {
+        return String.format(
+                "{ id=%s, first_name=\"%s\", last_name=%s }",
+                id, firstName, lastName
+        );
+    }
+}
@@ -0,0 +1,27 @@
+package com.jonathanfoucher.databaseexample.data.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class DirectorWithMoviesDto {
+    private Long id;
+    private String firstName;
+    private String lastName;
+    private List<DirectorMovieDto> movies;
+
+    @Override
+    public String toString() {
+        return String.format(
+                "{ id=%s, first_name=%s, last_name=%s, movies=%s }",
+                id, firstName, lastName, movies
+        );
+    }
+}
@@ -1,12 +1,16 @@
 package com.jonathanfoucher.databaseexample.data.dto;
 
+import lombok.AllArgsConstructor;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 import java.time.LocalDate;
 
 @Getter
 @Setter
+@NoArgsConstructor
+@AllArgsConstructor
 public class FlatMovieDirectorDto {
     public static final String NAME = "FlatMovieDirectorDto";
 
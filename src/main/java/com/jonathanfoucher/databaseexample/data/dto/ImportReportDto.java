@@ -0,0 +1,22 @@
+package com.jonathanfoucher.databaseexample.data.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class ImportReportDto {
+    private String table;
+    private Long copiedRowCount;
+    private Long mergedRowCount;
+    private Long durationMillis;
+    private Long rowsPerSecond;
+
+    @Override
+    public String toString() {
+        return String.format(
+                "{ table=%s, copied_row_count=%s, merged_row_count=%s, duration_millis=%s, rows_per_second=%s }",
+                table, copiedRowCount, mergedRowCount, durationMillis, rowsPerSecond
+        );
+    }
+}
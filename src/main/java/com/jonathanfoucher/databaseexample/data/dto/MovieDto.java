@@ -1,23 +1,29 @@
 package com.jonathanfoucher.databaseexample.data.dto;
 
+import lombok.AllArgsConstructor;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 import java.time.LocalDate;
+import java.time.ZonedDateTime;
 
 @Getter
 @Setter
+@NoArgsConstructor
+@AllArgsConstructor
 public class MovieDto {
     private Long id;
     private Long directorId;
     private String title;
     private LocalDate releaseDate;
+    private ZonedDateTime updatedAt;
 
     @Override
     public String toString() {
         return String.format(
-                "{ id=%s, director_id=%s, title=\"%s\", release_date=%s }",
-                id, directorId, title, releaseDate
+                "{ id=%s, director_id=%s, title=\"%s\", release_date=%s, updated_at=%s }",
+                id, directorId, title, releaseDate, updatedAt
         );
     }
 }
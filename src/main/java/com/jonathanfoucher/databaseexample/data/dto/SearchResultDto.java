@@ -0,0 +1,25 @@
+package com.jonathanfoucher.databaseexample.data.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchResultDto {
+    private String type;
+    private Long id;
+    private String label;
+    private double score;
+
+    @Override
+    public String toString() {
+        return String.format(
+                "{ type=%s, id=%s, label=\"%s\", score=%s }",
+                type, id, label, score
+        );
+    }
+}
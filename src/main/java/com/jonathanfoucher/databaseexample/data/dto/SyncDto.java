@@ -0,0 +1,25 @@
+package com.jonathanfoucher.databaseexample.data.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+public class SyncDto {
+    private List<DirectorDto> directors;
+    private List<MovieDto> movies;
+    private List<Long> deletedDirectorIds;
+    private List<Long> deletedMovieIds;
+    private boolean hasMore;
+    private String nextToken;
+
+    @Override
+    public String toString() {
+        return String.format(
+                "{ directors=%s, movies=%s, deleted_director_ids=%s, deleted_movie_ids=%s, has_more=%s, next_token=%s }",
+                directors, movies, deletedDirectorIds, deletedMovieIds, hasMore, nextToken
+        );
+    }
+}
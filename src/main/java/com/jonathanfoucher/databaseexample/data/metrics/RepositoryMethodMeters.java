@@ -0,0 +1,62 @@
+package com.jonathanfoucher.databaseexample.data.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.Getter;
+
+@Getter
+class RepositoryMethodMeters {
+    private static final ThreadLocal<RepositoryMethodMeters> CURRENT = new ThreadLocal<>();
+
+    private final Timer successTimer;
+    private final Timer errorTimer;
+    private final Counter rows;
+    private final Counter statements;
+    private final Counter entitiesLoaded;
+    private final Counter flushes;
+
+    RepositoryMethodMeters(MeterRegistry meterRegistry, String repository, String method) {
+        Tags tags = Tags.of("repository", repository, "method", method);
+        successTimer = timer(meterRegistry, tags.and("outcome", "success"));
+        errorTimer = timer(meterRegistry, tags.and("outcome", "error"));
+        rows = Counter.builder("database.repository.rows")
+                .tags(tags)
+                .register(meterRegistry);
+        statements = Counter.builder("database.repository.statements")
+                .tags(tags)
+                .register(meterRegistry);
+        entitiesLoaded = Counter.builder("database.repository.entities.loaded")
+                .tags(tags)
+                .register(meterRegistry);
+        flushes = Counter.builder("database.repository.flushes")
+                .tags(tags)
+                .register(meterRegistry);
+    }
+
+    static RepositoryMethodMeters current() {
+        return CURRENT.get();
+    }
+
+    RepositoryMethodMeters enter() {
+        RepositoryMethodMeters previous = CURRENT.get();
+        CURRENT.set(this);
+        return previous;
+    }
+
+    static void exit(RepositoryMethodMeters previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+
+    private static Timer timer(MeterRegistry meterRegistry, Tags tags) {
+        return Timer.builder("database.repository.invocations")
+                .tags(tags)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,64 @@
+package com.jonathanfoucher.databaseexample.data.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+@RequiredArgsConstructor
+public class RepositoryMetricsInterceptor implements MethodInterceptor {
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final String repository;
+    private final Map<Method, RepositoryMethodMeters> meters = new ConcurrentHashMap<>();
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        RepositoryMethodMeters methodMeters = meters.computeIfAbsent(invocation.getMethod(),
+                method -> new RepositoryMethodMeters(meterRegistry.getObject(), repository, method.getName()));
+
+        RepositoryMethodMeters previous = methodMeters.enter();
+        long start = System.nanoTime();
+        try {
+            Object result = invocation.proceed();
+            methodMeters.getSuccessTimer().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return countRows(result, methodMeters);
+        } catch (Throwable throwable) {
+            methodMeters.getErrorTimer().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw throwable;
+        } finally {
+            RepositoryMethodMeters.exit(previous);
+        }
+    }
+
+    private Object countRows(Object result, RepositoryMethodMeters methodMeters) {
+        switch (result) {
+            case null -> {
+            }
+            case Stream<?> stream -> {
+                return stream.peek(_ -> addRows(methodMeters, 1));
+            }
+            case Collection<?> collection -> addRows(methodMeters, collection.size());
+            case Optional<?> optional -> addRows(methodMeters, optional.isPresent() ? 1 : 0);
+            case Iterable<?> iterable -> iterable.forEach(_ -> addRows(methodMeters, 1));
+            default -> addRows(methodMeters, 1);
+        }
+        return result;
+    }
+
+    private void addRows(RepositoryMethodMeters methodMeters, int rows) {
+        methodMeters.getRows().increment(rows);
+        RequestStatements requestStatements = RequestStatements.current();
+        if (requestStatements != null) {
+            requestStatements.addRows(rows);
+        }
+    }
+}
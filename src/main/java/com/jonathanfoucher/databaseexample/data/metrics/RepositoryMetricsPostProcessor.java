@@ -0,0 +1,45 @@
+package com.jonathanfoucher.databaseexample.data.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.aop.framework.Advised;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Repository;
+import org.springframework.util.ClassUtils;
+
+import java.util.Arrays;
+
+@RequiredArgsConstructor
+public class RepositoryMetricsPostProcessor implements BeanPostProcessor {
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        Class<?> repositoryType = findRepositoryType(bean);
+        if (repositoryType == null) {
+            return bean;
+        }
+
+        RepositoryMetricsInterceptor interceptor = new RepositoryMetricsInterceptor(meterRegistry, repositoryType.getSimpleName());
+        if (bean instanceof Advised advised && !advised.isFrozen()) {
+            advised.addAdvice(0, interceptor);
+            return bean;
+        }
+
+        ProxyFactory proxyFactory = new ProxyFactory(bean);
+        proxyFactory.setProxyTargetClass(!repositoryType.isInterface());
+        proxyFactory.addAdvice(interceptor);
+        return proxyFactory.getProxy();
+    }
+
+    private Class<?> findRepositoryType(Object bean) {
+        Class<?> targetClass = AopUtils.getTargetClass(bean);
+        return Arrays.stream(ClassUtils.getAllInterfacesForClass(bean.getClass()))
+                .filter(type -> type.isAnnotationPresent(Repository.class))
+                .findFirst()
+                .orElse(targetClass.isAnnotationPresent(Repository.class) ? targetClass : null);
+    }
+}
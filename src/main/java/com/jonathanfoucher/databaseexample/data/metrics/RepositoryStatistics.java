@@ -0,0 +1,37 @@
+package com.jonathanfoucher.databaseexample.data.metrics;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.internal.StatisticsImpl;
+
+public class RepositoryStatistics extends StatisticsImpl {
+    public RepositoryStatistics(SessionFactoryImplementor sessionFactory) {
+        super(sessionFactory);
+    }
+
+    @Override
+    public void prepareStatement() {
+        super.prepareStatement();
+        RepositoryMethodMeters methodMeters = RepositoryMethodMeters.current();
+        if (methodMeters != null) {
+            methodMeters.getStatements().increment();
+        }
+    }
+
+    @Override
+    public void loadEntity(String entityName) {
+        super.loadEntity(entityName);
+        RepositoryMethodMeters methodMeters = RepositoryMethodMeters.current();
+        if (methodMeters != null) {
+            methodMeters.getEntitiesLoaded().increment();
+        }
+    }
+
+    @Override
+    public void flush() {
+        super.flush();
+        RepositoryMethodMeters methodMeters = RepositoryMethodMeters.current();
+        if (methodMeters != null) {
+            methodMeters.getFlushes().increment();
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.jonathanfoucher.databaseexample.data.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+public class RequestStatementInspector implements StatementInspector {
+    @Override
+    public String inspect(String sql) {
+        RequestStatements requestStatements = RequestStatements.current();
+        if (requestStatements != null) {
+            requestStatements.addStatement(sql);
+        }
+        return sql;
+    }
+}
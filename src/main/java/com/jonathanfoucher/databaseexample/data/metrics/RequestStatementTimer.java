@@ -0,0 +1,34 @@
+package com.jonathanfoucher.databaseexample.data.metrics;
+
+import org.hibernate.SessionEventListener;
+
+public class RequestStatementTimer implements SessionEventListener {
+    private long executionStart;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        executionStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        addDatabaseTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        executionStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        addDatabaseTime();
+    }
+
+    private void addDatabaseTime() {
+        RequestStatements requestStatements = RequestStatements.current();
+        if (requestStatements != null) {
+            requestStatements.addDatabaseTime(System.nanoTime() - executionStart);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.jonathanfoucher.databaseexample.data.metrics;
+
+import lombok.Getter;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+@Getter
+public class RequestStatements {
+    private static final ThreadLocal<RequestStatements> CURRENT = new ThreadLocal<>();
+    private static final Pattern PARAMETER_LIST = Pattern.compile("\\(\\s*\\?(\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern WHITESPACES = Pattern.compile("\\s+");
+
+    private int statements;
+    private long rows;
+    private long databaseTimeNanos;
+    private final Map<String, Integer> statementShapes = new HashMap<>();
+
+    public static RequestStatements begin() {
+        RequestStatements requestStatements = new RequestStatements();
+        CURRENT.set(requestStatements);
+        return requestStatements;
+    }
+
+    public static RequestStatements current() {
+        return CURRENT.get();
+    }
+
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    public Map<String, Integer> findRepeatedStatements(int threshold) {
+        return statementShapes.entrySet()
+                .stream()
+                .filter(entry -> entry.getValue() >= threshold)
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+    }
+
+    void addStatement(String sql) {
+        statements++;
+        String shape = WHITESPACES.matcher(PARAMETER_LIST.matcher(sql).replaceAll("(?)")).replaceAll(" ").trim();
+        statementShapes.merge(shape, 1, Integer::sum);
+    }
+
+    void addRows(long rows) {
+        this.rows += rows;
+    }
+
+    void addDatabaseTime(long nanos) {
+        databaseTimeNanos += nanos;
+    }
+}
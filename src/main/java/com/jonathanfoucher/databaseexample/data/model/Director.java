@@ -1,19 +1,42 @@
 package com.jonathanfoucher.databaseexample.data.model;
 
 import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.ZonedDateTime;
 
+import static org.hibernate.annotations.CacheConcurrencyStrategy.READ_WRITE;
+
+@SqlResultSetMapping(
+        name = Director.RESULT_MAPPING,
+        classes = @ConstructorResult(
+                targetClass = Director.class,
+                columns = {
+                        @ColumnResult(name = "id", type = Long.class),
+                        @ColumnResult(name = "first_name", type = String.class),
+                        @ColumnResult(name = "last_name", type = String.class),
+                        @ColumnResult(name = "updated_at", type = ZonedDateTime.class)
+                }
+        )
+)
 @Entity
+@Cacheable
+@Cache(usage = READ_WRITE, region = "director")
 @Table(name = "director")
 @Getter
 @Setter
+@NoArgsConstructor
+@AllArgsConstructor
 public class Director {
+    public static final String RESULT_MAPPING = "DirectorResult";
+
     @Id
-    @SequenceGenerator(name = "director_id_seq", allocationSize = 1)
+    @SequenceGenerator(name = "director_id_seq", allocationSize = 50)
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "director_id_seq")
     private Long id;
     private String firstName;
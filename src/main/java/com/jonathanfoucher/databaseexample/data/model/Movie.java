@@ -1,20 +1,44 @@
 package com.jonathanfoucher.databaseexample.data.model;
 
 import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDate;
 import java.time.ZonedDateTime;
 
+import static org.hibernate.annotations.CacheConcurrencyStrategy.READ_WRITE;
+
+@SqlResultSetMapping(
+        name = Movie.RESULT_MAPPING,
+        classes = @ConstructorResult(
+                targetClass = Movie.class,
+                columns = {
+                        @ColumnResult(name = "id", type = Long.class),
+                        @ColumnResult(name = "director_id", type = Long.class),
+                        @ColumnResult(name = "title", type = String.class),
+                        @ColumnResult(name = "release_date", type = LocalDate.class),
+                        @ColumnResult(name = "updated_at", type = ZonedDateTime.class)
+                }
+        )
+)
 @Entity
+@Cacheable
+@Cache(usage = READ_WRITE, region = "movie")
 @Table(name = "movie")
 @Getter
 @Setter
+@NoArgsConstructor
+@AllArgsConstructor
 public class Movie {
+    public static final String RESULT_MAPPING = "MovieResult";
+
     @Id
-    @SequenceGenerator(name = "movie_id_seq", allocationSize = 1)
+    @SequenceGenerator(name = "movie_id_seq", allocationSize = 50)
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "movie_id_seq")
     private Long id;
     private Long directorId;
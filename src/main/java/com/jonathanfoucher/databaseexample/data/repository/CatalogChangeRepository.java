@@ -0,0 +1,45 @@
+package com.jonathanfoucher.databaseexample.data.repository;
+
+import com.jonathanfoucher.databaseexample.data.dto.CatalogChange;
+import com.jonathanfoucher.databaseexample.data.dto.CatalogChangePosition;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class CatalogChangeRepository {
+    private final JdbcTemplate jdbcTemplate;
+
+    public long findSyncHorizon() {
+        return Long.parseUnsignedLong(jdbcTemplate.queryForObject(
+                "select pg_snapshot_xmin(pg_current_snapshot())::text",
+                String.class
+        ));
+    }
+
+    public List<CatalogChange> findAllCommittedBetween(CatalogChangePosition from, long toTransactionId, int limit) {
+        return jdbcTemplate.query("""
+                    select transaction_id::text as transaction_id_text, entity_type, entity_id, deleted
+                    from catalog_change
+                    where (transaction_id, entity_type, entity_id) > (?::text::xid8, ?, ?)
+                    and transaction_id < ?::text::xid8
+                    order by transaction_id, entity_type, entity_id
+                    limit ?
+                """,
+                (resultSet, _) -> new CatalogChange(
+                        Long.parseUnsignedLong(resultSet.getString("transaction_id_text")),
+                        resultSet.getString("entity_type"),
+                        resultSet.getLong("entity_id"),
+                        resultSet.getBoolean("deleted")
+                ),
+                Long.toUnsignedString(from.transactionId()),
+                from.entityType(),
+                from.entityId(),
+                Long.toUnsignedString(toTransactionId),
+                limit
+        );
+    }
+}
@@ -0,0 +1,97 @@
+package com.jonathanfoucher.databaseexample.data.repository;
+
+import com.jonathanfoucher.databaseexample.data.cache.SecondLevelCacheInvalidator;
+import com.jonathanfoucher.databaseexample.data.model.Director;
+import com.jonathanfoucher.databaseexample.data.model.Movie;
+import lombok.RequiredArgsConstructor;
+import org.postgresql.PGConnection;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+
+@Repository
+@RequiredArgsConstructor
+public class CatalogImportRepository {
+    private final JdbcTemplate jdbcTemplate;
+    private final SecondLevelCacheInvalidator secondLevelCacheInvalidator;
+
+    public long copyDirectors(InputStream csv) {
+        jdbcTemplate.execute("""
+                    create temporary table director_import (
+                        id              bigint,
+                        first_name      varchar(50),
+                        last_name       varchar(50)
+                    ) on commit drop
+                """);
+        return copyIn("copy director_import (id, first_name, last_name) from stdin with (format csv, header true)", csv);
+    }
+
+    public long mergeDirectors() {
+        secondLevelCacheInvalidator.lockRegion(Director.class);
+        int mergedRowCount = jdbcTemplate.update("""
+                    insert into director (id, first_name, last_name, updated_at)
+                    select distinct on (id) id, first_name, last_name, now()
+                    from director_import
+                    order by id
+                    on conflict (id) do update
+                    set first_name = excluded.first_name, last_name = excluded.last_name, updated_at = excluded.updated_at
+                    where (director.first_name, director.last_name) is distinct from (excluded.first_name, excluded.last_name)
+                """);
+        synchronizeSequence("director");
+        return mergedRowCount;
+    }
+
+    public long copyMovies(InputStream csv) {
+        jdbcTemplate.execute("""
+                    create temporary table movie_import (
+                        id              bigint,
+                        director_id     bigint,
+                        title           varchar(100),
+                        release_date    date
+                    ) on commit drop
+                """);
+        return copyIn("copy movie_import (id, director_id, title, release_date) from stdin with (format csv, header true)", csv);
+    }
+
+    public long mergeMovies() {
+        secondLevelCacheInvalidator.lockRegion(Movie.class);
+        int mergedRowCount = jdbcTemplate.update("""
+                    insert into movie (id, director_id, title, release_date, updated_at)
+                    select distinct on (id) id, director_id, title, release_date, now()
+                    from movie_import
+                    order by id
+                    on conflict (id) do update
+                    set director_id = excluded.director_id, title = excluded.title,
+                    release_date = excluded.release_date, updated_at = excluded.updated_at
+                    where (movie.director_id, movie.title, movie.release_date)
+                    is distinct from (excluded.director_id, excluded.title, excluded.release_date)
+                """);
+        synchronizeSequence("movie");
+        return mergedRowCount;
+    }
+
+    private long copyIn(String sql, InputStream csv) {
+        return jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            try {
+                return connection.unwrap(PGConnection.class)
+                        .getCopyAPI()
+                        .copyIn(sql, csv);
+            } catch (IOException exception) {
+                throw new UncheckedIOException(exception);
+            }
+        });
+    }
+
+    private void synchronizeSequence(String table) {
+        jdbcTemplate.queryForList(String.format("""
+                    select setval('%1$s_id_seq', greatest(imported.max_id, sequence.last_value + pooled.seqincrement - 1))
+                    from (select max(id) as max_id from %1$s) imported, %1$s_id_seq sequence, pg_sequence pooled
+                    where pooled.seqrelid = '%1$s_id_seq'::regclass
+                    and imported.max_id >= sequence.last_value
+                """, table));
+    }
+}
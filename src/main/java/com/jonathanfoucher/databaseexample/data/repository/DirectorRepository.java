@@ -1,14 +1,28 @@
 package com.jonathanfoucher.databaseexample.data.repository;
 
+import com.jonathanfoucher.databaseexample.data.dto.DirectorDto;
 import com.jonathanfoucher.databaseexample.data.model.Director;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.ZonedDateTime;
+import java.util.Optional;
 import java.util.stream.Stream;
 
 @Repository
 public interface DirectorRepository extends JpaRepository<Director, Long> {
-    Stream<Director> findAllByOrderByLastNameAscFirstNameAsc();
+    @Query("select new com.jonathanfoucher.databaseexample.data.dto.DirectorDto(d.id, d.firstName, d.lastName, d.updatedAt) " +
+            "from Director d " +
+            "order by d.lastName, d.firstName")
+    Stream<DirectorDto> findAllByOrderByLastNameAscFirstNameAsc();
 
-    Stream<Director> findByLastName(String lastName);
+    @Query("select new com.jonathanfoucher.databaseexample.data.dto.DirectorDto(d.id, d.firstName, d.lastName, d.updatedAt) " +
+            "from Director d " +
+            "where d.lastName = :lastName")
+    Stream<DirectorDto> findByLastName(@Param("lastName") String lastName);
+
+    @Query("select d.updatedAt from Director d where d.id = :id")
+    Optional<ZonedDateTime> findUpdatedAtById(@Param("id") Long id);
 }
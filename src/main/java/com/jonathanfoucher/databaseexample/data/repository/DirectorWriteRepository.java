@@ -0,0 +1,43 @@
+package com.jonathanfoucher.databaseexample.data.repository;
+
+import com.jonathanfoucher.databaseexample.data.cache.SecondLevelCacheInvalidator;
+import com.jonathanfoucher.databaseexample.data.model.Director;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+@RequiredArgsConstructor
+public class DirectorWriteRepository {
+    private static final String UPDATE_SQL = """
+                update director
+                set first_name = ?, last_name = ?, updated_at = now()
+                where id = ?
+                returning id, first_name, last_name, updated_at
+            """;
+    private static final String DELETE_SQL = "delete from director where id = ? returning id";
+
+    private final EntityManager entityManager;
+    private final SecondLevelCacheInvalidator secondLevelCacheInvalidator;
+
+    public Optional<Director> update(Director director) {
+        secondLevelCacheInvalidator.lockItem(Director.class, director.getId());
+        List<Director> updatedDirectors = entityManager.createNativeQuery(UPDATE_SQL, Director.RESULT_MAPPING)
+                .setParameter(1, director.getFirstName())
+                .setParameter(2, director.getLastName())
+                .setParameter(3, director.getId())
+                .getResultList();
+        return updatedDirectors.stream().findFirst();
+    }
+
+    public boolean deleteById(Long id) {
+        secondLevelCacheInvalidator.lockItem(Director.class, id);
+        return !entityManager.createNativeQuery(DELETE_SQL)
+                .setParameter(1, id)
+                .getResultList()
+                .isEmpty();
+    }
+}
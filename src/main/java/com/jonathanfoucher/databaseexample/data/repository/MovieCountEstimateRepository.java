@@ -0,0 +1,51 @@
+package com.jonathanfoucher.databaseexample.data.repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class MovieCountEstimateRepository {
+    private static final String EXPLAIN_SQL = "explain (format json) select 1 from movie";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public long estimateCount(LocalDate releaseAfter, ZonedDateTime updatedSince) {
+        List<String> predicates = new ArrayList<>();
+        List<Object> parameters = new ArrayList<>();
+        if (releaseAfter != null) {
+            predicates.add("release_date > ?");
+            parameters.add(releaseAfter);
+        }
+        if (updatedSince != null) {
+            predicates.add("updated_at > ?");
+            parameters.add(updatedSince.toOffsetDateTime());
+        }
+
+        String sql = predicates.isEmpty() ? EXPLAIN_SQL : EXPLAIN_SQL + " where " + String.join(" and ", predicates);
+        String plan = jdbcTemplate.queryForObject(sql, String.class, parameters.toArray());
+        return readPlanRows(plan);
+    }
+
+    private long readPlanRows(String plan) {
+        try {
+            return objectMapper.readTree(plan)
+                    .path(0)
+                    .path("Plan")
+                    .path("Plan Rows")
+                    .asLong();
+        } catch (JsonProcessingException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+}
@@ -1,27 +1,69 @@
 package com.jonathanfoucher.databaseexample.data.repository;
 
+import com.jonathanfoucher.databaseexample.common.properties.StreamingProperties;
 import com.jonathanfoucher.databaseexample.data.dto.FlatMovieDirectorDto;
 import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.stereotype.Repository;
 
+import java.sql.PreparedStatement;
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 @Repository
 @RequiredArgsConstructor
 public class MovieDirectorCustomRepository {
+    private static final String FLAT_MOVIE_DIRECTORS_SQL = """
+                select m.id movie_id, m.title, m.release_date,
+                d.id director_id, d.first_name, d.last_name
+                from movie m
+                inner join director d on d.id = m.director_id
+                order by d.id, m.id
+            """;
+    private static final String DIRECTOR_MOVIES_SQL = """
+                select m.id movie_id, m.title, m.release_date,
+                d.id director_id, d.first_name, d.last_name
+                from director d
+                left join movie m on m.director_id = d.id
+                order by d.id, m.id
+            """;
+    private static final String MOVIE_DIRECTOR_LINKS_SQL = "select id, director_id from movie order by director_id, id";
+
+    @FunctionalInterface
+    public interface MovieDirectorLinkHandler {
+        void handle(long movieId, long directorId);
+    }
+
     private final EntityManager entityManager;
+    private final JdbcTemplate jdbcTemplate;
+    private final StreamingProperties streamingProperties;
 
     public List<FlatMovieDirectorDto> findAllFlatMovieDirectors() {
-        String sql = """
-                    select m.id movie_id, m.title, m.release_date,
-                    d.id director_id, d.first_name, d.last_name
-                    from movie m
-                    inner join director d on d.id = m.director_id
-                    order by d.id, m.id
-                """;
-
-        return entityManager.createNativeQuery(sql, FlatMovieDirectorDto.NAME)
+        return entityManager.createNativeQuery(FLAT_MOVIE_DIRECTORS_SQL, FlatMovieDirectorDto.NAME)
                 .getResultList();
     }
+
+    public Stream<FlatMovieDirectorDto> streamAllFlatMovieDirectors() {
+        return entityManager.createNativeQuery(FLAT_MOVIE_DIRECTORS_SQL, FlatMovieDirectorDto.NAME)
+                .setHint(HINT_FETCH_SIZE, streamingProperties.fetchSize())
+                .getResultStream();
+    }
+
+    public Stream<FlatMovieDirectorDto> streamAllDirectorMovies() {
+        return entityManager.createNativeQuery(DIRECTOR_MOVIES_SQL, FlatMovieDirectorDto.NAME)
+                .setHint(HINT_FETCH_SIZE, streamingProperties.fetchSize())
+                .getResultStream();
+    }
+
+    public void forEachMovieDirectorLink(MovieDirectorLinkHandler handler) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(MOVIE_DIRECTOR_LINKS_SQL);
+            statement.setFetchSize(streamingProperties.fetchSize());
+            return statement;
+        }, (RowCallbackHandler) resultSet -> handler.handle(resultSet.getLong(1), resultSet.getLong(2)));
+    }
 }
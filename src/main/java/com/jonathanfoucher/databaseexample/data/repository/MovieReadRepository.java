@@ -0,0 +1,47 @@
+package com.jonathanfoucher.databaseexample.data.repository;
+
+import com.jonathanfoucher.databaseexample.data.dto.MovieDto;
+import com.jonathanfoucher.databaseexample.data.model.Movie;
+import com.jonathanfoucher.databaseexample.data.model.Movie_;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class MovieReadRepository {
+    private final EntityManager entityManager;
+
+    public List<MovieDto> findAll(Specification<Movie> specification, Sort sort, long offset, int limit) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<MovieDto> query = builder.createQuery(MovieDto.class);
+        Root<Movie> root = query.from(Movie.class);
+        query.select(builder.construct(MovieDto.class,
+                root.get(Movie_.id),
+                root.get(Movie_.directorId),
+                root.get(Movie_.title),
+                root.get(Movie_.releaseDate),
+                root.get(Movie_.updatedAt)
+        ));
+
+        Predicate predicate = specification.toPredicate(root, query, builder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(sort, root, builder));
+
+        return entityManager.createQuery(query)
+                .setFirstResult(Math.toIntExact(offset))
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
@@ -0,0 +1,44 @@
+package com.jonathanfoucher.databaseexample.data.repository;
+
+import com.jonathanfoucher.databaseexample.data.cache.SecondLevelCacheInvalidator;
+import com.jonathanfoucher.databaseexample.data.model.Movie;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+@RequiredArgsConstructor
+public class MovieWriteRepository {
+    private static final String UPDATE_SQL = """
+                update movie
+                set director_id = ?, title = ?, release_date = ?, updated_at = now()
+                where id = ?
+                returning id, director_id, title, release_date, updated_at
+            """;
+    private static final String DELETE_SQL = "delete from movie where id = ? returning id";
+
+    private final EntityManager entityManager;
+    private final SecondLevelCacheInvalidator secondLevelCacheInvalidator;
+
+    public Optional<Movie> update(Movie movie) {
+        secondLevelCacheInvalidator.lockItem(Movie.class, movie.getId());
+        List<Movie> updatedMovies = entityManager.createNativeQuery(UPDATE_SQL, Movie.RESULT_MAPPING)
+                .setParameter(1, movie.getDirectorId())
+                .setParameter(2, movie.getTitle())
+                .setParameter(3, movie.getReleaseDate())
+                .setParameter(4, movie.getId())
+                .getResultList();
+        return updatedMovies.stream().findFirst();
+    }
+
+    public boolean deleteById(Long id) {
+        secondLevelCacheInvalidator.lockItem(Movie.class, id);
+        return !entityManager.createNativeQuery(DELETE_SQL)
+                .setParameter(1, id)
+                .getResultList()
+                .isEmpty();
+    }
+}
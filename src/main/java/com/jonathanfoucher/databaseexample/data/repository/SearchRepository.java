@@ -0,0 +1,42 @@
+package com.jonathanfoucher.databaseexample.data.repository;
+
+import com.jonathanfoucher.databaseexample.data.dto.SearchResultDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class SearchRepository {
+    private static final String SEARCH_SQL = """
+                select type, id, label, score
+                from (
+                    select 'movie' as type, id, title as label, word_similarity(?, title) as score
+                    from movie
+                    where ? <% title
+                    union all
+                    select 'director' as type, id, first_name || ' ' || last_name as label,
+                        word_similarity(?, first_name || ' ' || last_name) as score
+                    from director
+                    where ? <% (first_name || ' ' || last_name)
+                ) result
+                order by score desc, type, id
+                limit ? offset ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public List<SearchResultDto> search(String query, int limit, long offset) {
+        return jdbcTemplate.query(SEARCH_SQL,
+                (resultSet, _) -> new SearchResultDto(
+                        resultSet.getString("type"),
+                        resultSet.getLong("id"),
+                        resultSet.getString("label"),
+                        resultSet.getDouble("score")
+                ),
+                query, query, query, query, limit, offset
+        );
+    }
+}
@@ -1,7 +1,9 @@
 package com.jonathanfoucher.databaseexample.data.repository.specifications;
 
+import com.jonathanfoucher.databaseexample.common.pagination.MovieCursor;
 import com.jonathanfoucher.databaseexample.data.model.Movie;
 import com.jonathanfoucher.databaseexample.data.model.Movie_;
+import jakarta.persistence.metamodel.SingularAttribute;
 import org.springframework.data.jpa.domain.Specification;
 
 import java.time.LocalDate;
@@ -18,4 +20,26 @@ public abstract class MovieSpecs {
     public static Specification<Movie> isUpdatedSince(ZonedDateTime updatedSince) {
         return (root, _, builder) -> updatedSince != null ? builder.greaterThan(root.get(Movie_.updatedAt), updatedSince) : null;
     }
+
+    public static Specification<Movie> isAfterCursor(MovieCursor cursor) {
+        if (cursor == null) {
+            return (_, _, _) -> null;
+        }
+
+        return switch (cursor.sortKey()) {
+            case ID -> (root, _, builder) -> builder.greaterThan(root.get(Movie_.id), cursor.id());
+            case RELEASE_DATE -> isAfterKey(Movie_.releaseDate, cursor.releaseDateValue(), cursor.id());
+            case UPDATED_AT -> isAfterKey(Movie_.updatedAt, cursor.updatedAtValue(), cursor.id());
+        };
+    }
+
+    private static <T extends Comparable<? super T>> Specification<Movie> isAfterKey(SingularAttribute<Movie, T> attribute, T value, Long id) {
+        return (root, _, builder) -> builder.and(
+                builder.greaterThanOrEqualTo(root.get(attribute), value),
+                builder.or(
+                        builder.greaterThan(root.get(attribute), value),
+                        builder.greaterThan(root.get(Movie_.id), id)
+                )
+        );
+    }
 }
@@ -0,0 +1,65 @@
+package com.jonathanfoucher.databaseexample.data.routing;
+
+import com.jonathanfoucher.databaseexample.common.properties.ReplicaProperties;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.util.WebUtils;
+
+import java.time.Clock;
+
+@RequiredArgsConstructor
+public class ReadYourWrites implements TransactionExecutionListener {
+    public static final String COOKIE_NAME = "read-your-writes-until";
+    private static final String REQUEST_ATTRIBUTE = ReadYourWrites.class.getName() + ".until";
+
+    private final ReplicaProperties replicaProperties;
+    private final Clock clock;
+
+    @Override
+    public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+        if (commitFailure != null || transaction.isReadOnly()
+                || !(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) {
+            return;
+        }
+
+        long until = clock.millis() + replicaProperties.readYourWritesWindow().toMillis();
+        HttpServletRequest request = attributes.getRequest();
+        request.setAttribute(REQUEST_ATTRIBUTE, until);
+
+        HttpServletResponse response = attributes.getResponse();
+        if (response != null && !response.isCommitted()) {
+            Cookie cookie = new Cookie(COOKIE_NAME, Long.toString(until));
+            cookie.setPath(request.getContextPath().isEmpty() ? "/" : request.getContextPath());
+            cookie.setMaxAge((int) replicaProperties.readYourWritesWindow().toSeconds());
+            cookie.setHttpOnly(true);
+            response.addCookie(cookie);
+        }
+    }
+
+    public boolean isPinnedToPrimary() {
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) {
+            return false;
+        }
+
+        HttpServletRequest request = attributes.getRequest();
+        if (request.getAttribute(REQUEST_ATTRIBUTE) instanceof Long until) {
+            return until > clock.millis();
+        }
+
+        Cookie cookie = WebUtils.getCookie(request, COOKIE_NAME);
+        if (cookie == null) {
+            return false;
+        }
+        try {
+            return Long.parseLong(cookie.getValue()) > clock.millis();
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.jonathanfoucher.databaseexample.data.routing;
+
+import jakarta.persistence.CacheStoreMode;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@RequiredArgsConstructor
+public class ReplicaCacheStoreMode implements TransactionExecutionListener {
+    private final ReadYourWrites readYourWrites;
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Override
+    public void afterBegin(TransactionExecution transaction, Throwable beginFailure) {
+        if (beginFailure == null && transaction.isReadOnly() && !readYourWrites.isPinnedToPrimary()) {
+            setCacheStoreMode(CacheStoreMode.BYPASS);
+        }
+    }
+
+    @Override
+    public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+        if (transaction.isReadOnly()) {
+            setCacheStoreMode(CacheStoreMode.USE);
+        }
+    }
+
+    @Override
+    public void afterRollback(TransactionExecution transaction, Throwable rollbackFailure) {
+        if (transaction.isReadOnly()) {
+            setCacheStoreMode(CacheStoreMode.USE);
+        }
+    }
+
+    private void setCacheStoreMode(CacheStoreMode cacheStoreMode) {
+        if (TransactionSynchronizationManager.getResource(entityManagerFactory) instanceof EntityManagerHolder holder) {
+            holder.getEntityManager().setProperty(AvailableSettings.JAKARTA_SHARED_CACHE_STORE_MODE, cacheStoreMode);
+        }
+    }
+}
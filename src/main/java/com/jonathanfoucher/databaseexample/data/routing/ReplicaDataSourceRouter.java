@@ -0,0 +1,123 @@
+package com.jonathanfoucher.databaseexample.data.routing;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Slf4j
+public class ReplicaDataSourceRouter extends AbstractDataSource implements DisposableBean {
+    private static final String REPLICATION_LAG_SQL = """
+                select case
+                    when not pg_is_in_recovery() or pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() then 0
+                    else coalesce(extract(epoch from now() - pg_last_xact_replay_timestamp()), 0)
+                end
+            """;
+
+    private final DataSource primaryDataSource;
+    private final List<Replica> replicas;
+    private final ReadYourWrites readYourWrites;
+    private final Duration maxLag;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    public ReplicaDataSourceRouter(DataSource primaryDataSource, List<Replica> replicas, ReadYourWrites readYourWrites,
+                                   Duration maxLag, MeterRegistry meterRegistry) {
+        this.primaryDataSource = primaryDataSource;
+        this.replicas = replicas;
+        this.readYourWrites = readYourWrites;
+        this.maxLag = maxLag;
+        replicas.forEach(replica -> {
+            Gauge.builder("database.replica.available", replica, r -> r.isAvailable() ? 1 : 0)
+                    .tag("replica", replica.getName())
+                    .register(meterRegistry);
+            Gauge.builder("database.replica.lag", replica, r -> r.getLag().toMillis() / 1000.0)
+                    .tag("replica", replica.getName())
+                    .baseUnit("seconds")
+                    .register(meterRegistry);
+        });
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return determineTargetDataSource().getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return determineTargetDataSource().getConnection(username, password);
+    }
+
+    @Scheduled(fixedDelayString = "${database-example.replicas.health-check-interval}")
+    public void checkReplicas() {
+        replicas.forEach(replica -> {
+            boolean wasAvailable = replica.isAvailable();
+            try {
+                replica.setLag(measureLag(replica.getDataSource()));
+                replica.setAvailable(replica.getLag().compareTo(maxLag) <= 0);
+            } catch (RuntimeException exception) {
+                replica.setAvailable(false);
+            }
+
+            if (wasAvailable != replica.isAvailable()) {
+                log.warn("Replica {} is now {} (lag {})", replica.getName(), replica.isAvailable() ? "available" : "unavailable", replica.getLag());
+            }
+        });
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        for (Replica replica : replicas) {
+            if (replica.getDataSource() instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    DataSource determineTargetDataSource() {
+        if (readYourWrites.isPinnedToPrimary()) {
+            return primaryDataSource;
+        }
+
+        for (int attempt = 0; attempt < replicas.size(); attempt++) {
+            Replica replica = replicas.get(Math.floorMod(nextReplica.getAndIncrement(), replicas.size()));
+            if (replica.isAvailable()) {
+                return replica.getDataSource();
+            }
+        }
+        return primaryDataSource;
+    }
+
+    Duration measureLag(DataSource dataSource) {
+        Double lagSeconds = new JdbcTemplate(dataSource).queryForObject(REPLICATION_LAG_SQL, Double.class);
+        return Duration.ofMillis(Math.round((lagSeconds != null ? lagSeconds : 0) * 1000));
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class Replica {
+        private final String name;
+        private final DataSource dataSource;
+        private volatile boolean available;
+        private volatile Duration lag = Duration.ZERO;
+
+        void setAvailable(boolean available) {
+            this.available = available;
+        }
+
+        void setLag(Duration lag) {
+            this.lag = lag;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.jonathanfoucher.databaseexample.services;
+
+import com.jonathanfoucher.databaseexample.common.errors.InvalidImportException;
+import com.jonathanfoucher.databaseexample.data.dto.ImportReportDto;
+import com.jonathanfoucher.databaseexample.data.repository.CatalogImportRepository;
+import com.jonathanfoucher.databaseexample.services.events.DirectorsImportedEvent;
+import com.jonathanfoucher.databaseexample.services.events.MoviesImportedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CatalogImportService {
+    private static final String DIRECTOR_TABLE = "director";
+    private static final String MOVIE_TABLE = "movie";
+
+    private final CatalogImportRepository catalogImportRepository;
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    @Transactional
+    public ImportReportDto importDirectors(InputStream csv) {
+        long start = System.nanoTime();
+        try {
+            long copiedRowCount = catalogImportRepository.copyDirectors(csv);
+            long mergedRowCount = catalogImportRepository.mergeDirectors();
+            applicationEventPublisher.publishEvent(new DirectorsImportedEvent(mergedRowCount));
+            return generateReport(DIRECTOR_TABLE, copiedRowCount, mergedRowCount, System.nanoTime() - start);
+        } catch (DataIntegrityViolationException exception) {
+            throw new InvalidImportException(DIRECTOR_TABLE, exception);
+        }
+    }
+
+    @Transactional
+    public ImportReportDto importMovies(InputStream csv) {
+        long start = System.nanoTime();
+        try {
+            long copiedRowCount = catalogImportRepository.copyMovies(csv);
+            long mergedRowCount = catalogImportRepository.mergeMovies();
+            applicationEventPublisher.publishEvent(new MoviesImportedEvent(mergedRowCount));
+            return generateReport(MOVIE_TABLE, copiedRowCount, mergedRowCount, System.nanoTime() - start);
+        } catch (DataIntegrityViolationException exception) {
+            throw new InvalidImportException(MOVIE_TABLE, exception);
+        }
+    }
+
+    private ImportReportDto generateReport(String table, long copiedRowCount, long mergedRowCount, long durationNanos) {
+        ImportReportDto report = new ImportReportDto();
+        report.setTable(table);
+        report.setCopiedRowCount(copiedRowCount);
+        report.setMergedRowCount(mergedRowCount);
+        report.setDurationMillis(TimeUnit.NANOSECONDS.toMillis(durationNanos));
+        report.setRowsPerSecond(durationNanos > 0 ? copiedRowCount * TimeUnit.SECONDS.toNanos(1) / durationNanos : copiedRowCount);
+        log.info("Imported {}", report);
+        return report;
+    }
+}
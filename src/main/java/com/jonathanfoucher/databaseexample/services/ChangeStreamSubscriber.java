@@ -0,0 +1,68 @@
+package com.jonathanfoucher.databaseexample.services;
+
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+
+class ChangeStreamSubscriber<T> {
+    private final SseEmitter emitter;
+    private final String eventName;
+    private final BlockingQueue<T> pendingEvents;
+    private final TaskExecutor taskExecutor;
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private volatile boolean closed;
+
+    ChangeStreamSubscriber(SseEmitter emitter, String eventName, int bufferSize, TaskExecutor taskExecutor) {
+        this.emitter = emitter;
+        this.eventName = eventName;
+        this.pendingEvents = new ArrayBlockingQueue<>(bufferSize);
+        this.taskExecutor = taskExecutor;
+    }
+
+    boolean offer(T event) {
+        if (closed) {
+            return false;
+        }
+        if (!pendingEvents.offer(event)) {
+            close();
+            emitter.complete();
+            return false;
+        }
+        scheduleDrain();
+        return true;
+    }
+
+    void close() {
+        closed = true;
+        pendingEvents.clear();
+    }
+
+    private void scheduleDrain() {
+        if (draining.compareAndSet(false, true)) {
+            taskExecutor.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        try {
+            T event;
+            while (!closed && (event = pendingEvents.poll()) != null) {
+                emitter.send(SseEmitter.event().name(eventName).data(event, APPLICATION_JSON));
+            }
+        } catch (IOException | IllegalStateException e) {
+            close();
+            emitter.completeWithError(e);
+        } finally {
+            draining.set(false);
+        }
+        if (!closed && !pendingEvents.isEmpty()) {
+            scheduleDrain();
+        }
+    }
+}
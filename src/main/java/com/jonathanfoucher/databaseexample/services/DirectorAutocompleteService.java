@@ -0,0 +1,72 @@
+package com.jonathanfoucher.databaseexample.services;
+
+import com.jonathanfoucher.databaseexample.common.properties.AutocompleteProperties;
+import com.jonathanfoucher.databaseexample.data.dto.DirectorDto;
+import com.jonathanfoucher.databaseexample.data.dto.DirectorSuggestionDto;
+import com.jonathanfoucher.databaseexample.services.events.DirectorChangedEvent;
+import com.jonathanfoucher.databaseexample.services.events.DirectorDeletedEvent;
+import com.jonathanfoucher.databaseexample.services.events.DirectorsImportedEvent;
+import com.jonathanfoucher.databaseexample.services.events.DirectorsSavedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DirectorAutocompleteService {
+    private final DirectorService directorService;
+    private final AutocompleteProperties autocompleteProperties;
+
+    private volatile DirectorNameIndex index = DirectorNameIndex.EMPTY;
+
+    public List<DirectorSuggestionDto> findByPrefix(String prefix, Integer size) {
+        int limit = size == null ? autocompleteProperties.defaultSize() : Math.min(size, autocompleteProperties.maxSize());
+        return index.findByPrefix(prefix, limit);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        long start = System.nanoTime();
+        List<DirectorSuggestionDto> directors = new ArrayList<>();
+        directorService.findAllByOrderByLastNameAscFirstNameAsc(director -> directors.add(convertDtoToSuggestion(director)));
+        index = DirectorNameIndex.of(directors);
+        log.info("Built the director autocomplete index with {} directors in {} ms", directors.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onDirectorChanged(DirectorChangedEvent event) {
+        index = index.withDirector(convertDtoToSuggestion(event.director()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onDirectorsSaved(DirectorsSavedEvent event) {
+        if (!event.directors().isEmpty()) {
+            index = index.withDirectors(event.directors().stream()
+                    .map(this::convertDtoToSuggestion)
+                    .toList());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onDirectorDeleted(DirectorDeletedEvent event) {
+        index = index.withoutDirector(event.id());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDirectorsImported(DirectorsImportedEvent event) {
+        if (event.mergedRowCount() > 0) {
+            rebuild();
+        }
+    }
+
+    private DirectorSuggestionDto convertDtoToSuggestion(DirectorDto director) {
+        return new DirectorSuggestionDto(director.getId(), director.getFirstName(), director.getLastName());
+    }
+}
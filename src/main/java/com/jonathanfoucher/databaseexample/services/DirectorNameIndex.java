@@ -0,0 +1,151 @@
+package com.jonathanfoucher.databaseexample.services;
+
+import com.jonathanfoucher.databaseexample.data.dto.DirectorSuggestionDto;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+final class DirectorNameIndex {
+    static final DirectorNameIndex EMPTY = new DirectorNameIndex(new String[0], new DirectorSuggestionDto[0]);
+
+    private static final Comparator<Entry> ENTRY_COMPARATOR = Comparator.comparing(Entry::key)
+            .thenComparing(entry -> entry.director().getId());
+
+    private final String[] keys;
+    private final DirectorSuggestionDto[] directors;
+
+    private DirectorNameIndex(String[] keys, DirectorSuggestionDto[] directors) {
+        this.keys = keys;
+        this.directors = directors;
+    }
+
+    static DirectorNameIndex of(Collection<DirectorSuggestionDto> directors) {
+        List<Entry> entries = new ArrayList<>(directors.size() * 2);
+        directors.forEach(director -> addEntries(entries, director));
+        entries.sort(ENTRY_COMPARATOR);
+        return fromSortedEntries(entries);
+    }
+
+    static String normalize(String value) {
+        return value == null ? "" : value.strip().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    int size() {
+        return keys.length;
+    }
+
+    DirectorNameIndex withDirector(DirectorSuggestionDto director) {
+        List<Entry> addedEntries = new ArrayList<>(2);
+        addEntries(addedEntries, director);
+        addedEntries.sort(ENTRY_COMPARATOR);
+        return merge(Set.of(director.getId()), addedEntries);
+    }
+
+    DirectorNameIndex withDirectors(Collection<DirectorSuggestionDto> directors) {
+        Set<Long> changedIds = new HashSet<>(directors.size() * 2);
+        List<Entry> addedEntries = new ArrayList<>(directors.size() * 2);
+        directors.forEach(director -> {
+            changedIds.add(director.getId());
+            addEntries(addedEntries, director);
+        });
+        addedEntries.sort(ENTRY_COMPARATOR);
+        return merge(changedIds, addedEntries);
+    }
+
+    DirectorNameIndex withoutDirector(Long id) {
+        return merge(Set.of(id), List.of());
+    }
+
+    List<DirectorSuggestionDto> findByPrefix(String prefix, int limit) {
+        String normalizedPrefix = normalize(prefix);
+        if (normalizedPrefix.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        List<DirectorSuggestionDto> suggestions = new ArrayList<>(limit);
+        Set<Long> suggestedIds = new HashSet<>();
+        for (int i = lowerBound(normalizedPrefix); i < keys.length && keys[i].startsWith(normalizedPrefix); i++) {
+            if (suggestedIds.add(directors[i].getId())) {
+                suggestions.add(directors[i]);
+                if (suggestions.size() == limit) {
+                    break;
+                }
+            }
+        }
+        return suggestions;
+    }
+
+    private DirectorNameIndex merge(Set<Long> removedIds, List<Entry> addedEntries) {
+        int removedCount = 0;
+        for (DirectorSuggestionDto director : directors) {
+            if (removedIds.contains(director.getId())) {
+                removedCount++;
+            }
+        }
+
+        String[] mergedKeys = new String[keys.length - removedCount + addedEntries.size()];
+        DirectorSuggestionDto[] mergedDirectors = new DirectorSuggestionDto[mergedKeys.length];
+        int position = 0;
+        int added = 0;
+        for (int i = 0; i < keys.length; i++) {
+            if (removedIds.contains(directors[i].getId())) {
+                continue;
+            }
+            while (added < addedEntries.size() && compare(addedEntries.get(added), keys[i], directors[i]) < 0) {
+                mergedKeys[position] = addedEntries.get(added).key();
+                mergedDirectors[position++] = addedEntries.get(added++).director();
+            }
+            mergedKeys[position] = keys[i];
+            mergedDirectors[position++] = directors[i];
+        }
+        while (added < addedEntries.size()) {
+            mergedKeys[position] = addedEntries.get(added).key();
+            mergedDirectors[position++] = addedEntries.get(added++).director();
+        }
+        return new DirectorNameIndex(mergedKeys, mergedDirectors);
+    }
+
+    private static int compare(Entry entry, String key, DirectorSuggestionDto director) {
+        int keyComparison = entry.key().compareTo(key);
+        return keyComparison != 0 ? keyComparison : entry.director().getId().compareTo(director.getId());
+    }
+
+    private int lowerBound(String prefix) {
+        int low = 0;
+        int high = keys.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (keys[middle].compareTo(prefix) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private static void addEntries(List<Entry> entries, DirectorSuggestionDto director) {
+        String firstName = normalize(director.getFirstName());
+        String lastName = normalize(director.getLastName());
+        entries.add(new Entry(lastName + " " + firstName, director));
+        entries.add(new Entry(firstName + " " + lastName, director));
+    }
+
+    private static DirectorNameIndex fromSortedEntries(List<Entry> entries) {
+        String[] keys = new String[entries.size()];
+        DirectorSuggestionDto[] directors = new DirectorSuggestionDto[entries.size()];
+        for (int i = 0; i < entries.size(); i++) {
+            keys[i] = entries.get(i).key();
+            directors[i] = entries.get(i).director();
+        }
+        return new DirectorNameIndex(keys, directors);
+    }
+
+    private record Entry(String key, DirectorSuggestionDto director) {
+    }
+}
@@ -1,51 +1,145 @@
 package com.jonathanfoucher.databaseexample.services;
 
+import com.jonathanfoucher.databaseexample.common.coalescing.LookupCoalescer;
 import com.jonathanfoucher.databaseexample.common.errors.DirectorNotFoundException;
+import com.jonathanfoucher.databaseexample.common.properties.BatchProperties;
 import com.jonathanfoucher.databaseexample.data.dto.DirectorDto;
+import com.jonathanfoucher.databaseexample.data.dto.DirectorMovieDto;
+import com.jonathanfoucher.databaseexample.data.dto.DirectorWithMoviesDto;
+import com.jonathanfoucher.databaseexample.data.dto.FlatMovieDirectorDto;
 import com.jonathanfoucher.databaseexample.data.model.Director;
 import com.jonathanfoucher.databaseexample.data.repository.DirectorRepository;
-import jakarta.transaction.Transactional;
+import com.jonathanfoucher.databaseexample.data.repository.DirectorWriteRepository;
+import com.jonathanfoucher.databaseexample.data.repository.MovieDirectorCustomRepository;
+import com.jonathanfoucher.databaseexample.services.events.DirectorChangedEvent;
+import com.jonathanfoucher.databaseexample.services.events.DirectorDeletedEvent;
+import com.jonathanfoucher.databaseexample.services.events.DirectorsSavedEvent;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static com.jonathanfoucher.databaseexample.common.coalescing.LookupEntity.DIRECTOR;
 
 @Service
 @RequiredArgsConstructor
 public class DirectorService {
     private final DirectorRepository directorRepository;
+    private final DirectorWriteRepository directorWriteRepository;
+    private final EntityManager entityManager;
+    private final BatchProperties batchProperties;
+    private final MovieDirectorCustomRepository movieDirectorCustomRepository;
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final LookupCoalescer lookupCoalescer;
 
     public DirectorDto findById(Long id) {
-        Director director = findByIdOrThrowNotFound(id);
-        return convertEntityToDto(director);
+        return lookupCoalescer.load(DIRECTOR, id, () -> convertEntityToDto(findByIdOrThrowNotFound(id)));
     }
 
-    @Transactional
-    public List<DirectorDto> findAllByOrderByLastNameAscFirstNameAsc() {
-        return directorRepository.findAllByOrderByLastNameAscFirstNameAsc()
-                .map(this::convertEntityToDto)
+    public List<DirectorDto> findAllById(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return directorRepository.findAllById(ids)
+                .stream()
+                .map(DirectorService::convertEntityToDto)
                 .toList();
     }
 
-    @Transactional
-    public List<DirectorDto> findByLastName(String lastName) {
-        return directorRepository.findByLastName(lastName)
-                .map(this::convertEntityToDto)
-                .toList();
+    public ZonedDateTime findUpdatedAtById(Long id) {
+        return directorRepository.findUpdatedAtById(id)
+                .orElseThrow(() -> new DirectorNotFoundException(id));
+    }
+
+    @Transactional(readOnly = true)
+    public void findAllByOrderByLastNameAscFirstNameAsc(Consumer<DirectorDto> consumer) {
+        try (Stream<DirectorDto> directors = directorRepository.findAllByOrderByLastNameAscFirstNameAsc()) {
+            directors.forEach(consumer);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public void findByLastName(String lastName, Consumer<DirectorDto> consumer) {
+        try (Stream<DirectorDto> directors = directorRepository.findByLastName(lastName)) {
+            directors.forEach(consumer);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public void streamAllWithMovies(Consumer<DirectorWithMoviesDto> consumer) {
+        try (Stream<FlatMovieDirectorDto> directorMovies = movieDirectorCustomRepository.streamAllDirectorMovies()) {
+            Iterator<FlatMovieDirectorDto> iterator = directorMovies.iterator();
+            DirectorWithMoviesDto director = null;
+            while (iterator.hasNext()) {
+                FlatMovieDirectorDto flatMovieDirector = iterator.next();
+                if (director == null || !director.getId().equals(flatMovieDirector.getDirectorId())) {
+                    if (director != null) {
+                        consumer.accept(director);
+                    }
+                    director = new DirectorWithMoviesDto(flatMovieDirector.getDirectorId(), flatMovieDirector.getFirstName(),
+                            flatMovieDirector.getLastName(), new ArrayList<>());
+                }
+                if (flatMovieDirector.getMovieId() != null) {
+                    director.getMovies().add(new DirectorMovieDto(flatMovieDirector.getMovieId(), flatMovieDirector.getTitle(),
+                            flatMovieDirector.getReleaseDate()));
+                }
+            }
+            if (director != null) {
+                consumer.accept(director);
+            }
+        }
     }
 
     @Transactional
     public void save(DirectorDto director) {
-        Director directorToSave = director.getId() != null ? findByIdOrThrowNotFound(director.getId()) : new Director();
-        directorToSave.setFirstName(director.getFirstName());
-        directorToSave.setLastName(director.getLastName());
-        directorRepository.save(directorToSave);
+        Director savedDirector = director.getId() != null ? updateOrThrowNotFound(director) : create(director);
+        applicationEventPublisher.publishEvent(new DirectorChangedEvent(convertEntityToDto(savedDirector)));
+    }
+
+    @Transactional
+    public void saveAll(List<DirectorDto> directors) {
+        List<DirectorDto> savedDirectors = new ArrayList<>(directors.size());
+        for (int from = 0; from < directors.size(); from += batchProperties.size()) {
+            List<Director> directorsToSave = directors.subList(from, Math.min(from + batchProperties.size(), directors.size()))
+                    .stream()
+                    .map(this::convertDtoToNewEntity)
+                    .toList();
+            directorRepository.saveAll(directorsToSave);
+            entityManager.flush();
+            entityManager.clear();
+            directorsToSave.forEach(savedDirector -> savedDirectors.add(convertEntityToDto(savedDirector)));
+        }
+        applicationEventPublisher.publishEvent(new DirectorsSavedEvent(savedDirectors));
     }
 
     @Transactional
     public void deleteById(Long id) {
-        Director director = findByIdOrThrowNotFound(id);
-        directorRepository.delete(director);
+        if (!directorWriteRepository.deleteById(id)) {
+            throw new DirectorNotFoundException(id);
+        }
+        applicationEventPublisher.publishEvent(new DirectorDeletedEvent(id));
+    }
+
+    private Director create(DirectorDto director) {
+        Director directorToSave = convertDtoToNewEntity(director);
+        directorRepository.save(directorToSave);
+        return directorToSave;
+    }
+
+    private Director updateOrThrowNotFound(DirectorDto director) {
+        Director directorToSave = convertDtoToNewEntity(director);
+        directorToSave.setId(director.getId());
+        return directorWriteRepository.update(directorToSave)
+                .orElseThrow(() -> new DirectorNotFoundException(director.getId()));
     }
 
     private Director findByIdOrThrowNotFound(Long id) {
@@ -53,11 +147,19 @@ public class DirectorService {
                 .orElseThrow(() -> new DirectorNotFoundException(id));
     }
 
-    private DirectorDto convertEntityToDto(Director entity) {
+    private Director convertDtoToNewEntity(DirectorDto dto) {
+        Director entity = new Director();
+        entity.setFirstName(dto.getFirstName());
+        entity.setLastName(dto.getLastName());
+        return entity;
+    }
+
+    static DirectorDto convertEntityToDto(Director entity) {
         DirectorDto dto = new DirectorDto();
         dto.setId(entity.getId());
         dto.setFirstName(entity.getFirstName());
         dto.setLastName(entity.getLastName());
+        dto.setUpdatedAt(entity.getUpdatedAt());
         return dto;
     }
 }
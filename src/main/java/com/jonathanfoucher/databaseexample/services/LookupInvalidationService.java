@@ -0,0 +1,67 @@
+package com.jonathanfoucher.databaseexample.services;
+
+import com.jonathanfoucher.databaseexample.common.coalescing.LookupCoalescer;
+import com.jonathanfoucher.databaseexample.services.events.DirectorChangedEvent;
+import com.jonathanfoucher.databaseexample.services.events.DirectorDeletedEvent;
+import com.jonathanfoucher.databaseexample.services.events.DirectorsImportedEvent;
+import com.jonathanfoucher.databaseexample.services.events.DirectorsSavedEvent;
+import com.jonathanfoucher.databaseexample.services.events.MovieChangedEvent;
+import com.jonathanfoucher.databaseexample.services.events.MovieDeletedEvent;
+import com.jonathanfoucher.databaseexample.services.events.MoviesImportedEvent;
+import com.jonathanfoucher.databaseexample.services.events.MoviesSavedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import static com.jonathanfoucher.databaseexample.common.coalescing.LookupEntity.DIRECTOR;
+import static com.jonathanfoucher.databaseexample.common.coalescing.LookupEntity.MOVIE;
+
+@Service
+@RequiredArgsConstructor
+public class LookupInvalidationService {
+    private final LookupCoalescer lookupCoalescer;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMovieChanged(MovieChangedEvent event) {
+        lookupCoalescer.invalidate(MOVIE, event.movie().getId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMoviesSaved(MoviesSavedEvent event) {
+        event.movies().forEach(movie -> lookupCoalescer.invalidate(MOVIE, movie.getId()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMovieDeleted(MovieDeletedEvent event) {
+        lookupCoalescer.invalidate(MOVIE, event.id());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMoviesImported(MoviesImportedEvent event) {
+        if (event.mergedRowCount() > 0) {
+            lookupCoalescer.invalidateAll(MOVIE);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDirectorChanged(DirectorChangedEvent event) {
+        lookupCoalescer.invalidate(DIRECTOR, event.director().getId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDirectorsSaved(DirectorsSavedEvent event) {
+        event.directors().forEach(director -> lookupCoalescer.invalidate(DIRECTOR, director.getId()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDirectorDeleted(DirectorDeletedEvent event) {
+        lookupCoalescer.invalidate(DIRECTOR, event.id());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDirectorsImported(DirectorsImportedEvent event) {
+        if (event.mergedRowCount() > 0) {
+            lookupCoalescer.invalidateAll(DIRECTOR);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.jonathanfoucher.databaseexample.services;
+
+import com.jonathanfoucher.databaseexample.common.properties.ChangeStreamProperties;
+import com.jonathanfoucher.databaseexample.data.dto.MovieDto;
+import com.jonathanfoucher.databaseexample.services.events.MovieChangedEvent;
+import com.jonathanfoucher.databaseexample.services.events.MoviesSavedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+@RequiredArgsConstructor
+public class MovieChangeStreamService {
+    private static final String EVENT_NAME = "movie";
+
+    private final Set<ChangeStreamSubscriber<MovieDto>> subscribers = ConcurrentHashMap.newKeySet();
+    private final ChangeStreamProperties changeStreamProperties;
+    private final TaskExecutor taskExecutor;
+
+    public SseEmitter subscribe() {
+        SseEmitter emitter = new SseEmitter(changeStreamProperties.timeout().toMillis());
+        ChangeStreamSubscriber<MovieDto> subscriber = new ChangeStreamSubscriber<>(emitter, EVENT_NAME, changeStreamProperties.bufferSize(), taskExecutor);
+        subscribers.add(subscriber);
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(() -> unsubscribe(subscriber));
+        emitter.onError(e -> unsubscribe(subscriber));
+        return emitter;
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMovieChanged(MovieChangedEvent event) {
+        subscribers.removeIf(subscriber -> !subscriber.offer(event.movie()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMoviesSaved(MoviesSavedEvent event) {
+        subscribers.removeIf(subscriber -> !event.movies().stream().allMatch(subscriber::offer));
+    }
+
+    private void unsubscribe(ChangeStreamSubscriber<MovieDto> subscriber) {
+        subscriber.close();
+        subscribers.remove(subscriber);
+    }
+}
@@ -0,0 +1,178 @@
+package com.jonathanfoucher.databaseexample.services;
+
+import com.jonathanfoucher.databaseexample.data.dto.MovieDirectorLink;
+import com.jonathanfoucher.databaseexample.data.dto.MovieDto;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+final class MovieDirectorIndex {
+    static final MovieDirectorIndex EMPTY = new MovieDirectorIndex(new long[0], new int[]{0}, new long[0]);
+
+    private static final Comparator<Link> LINK_COMPARATOR = Comparator.comparingLong(Link::directorId)
+            .thenComparingLong(Link::movieId);
+
+    private final long[] directorIds;
+    private final int[] offsets;
+    private final long[] movieIds;
+
+    private MovieDirectorIndex(long[] directorIds, int[] offsets, long[] movieIds) {
+        this.directorIds = directorIds;
+        this.offsets = offsets;
+        this.movieIds = movieIds;
+    }
+
+    static Builder builder() {
+        return new Builder(1024, 64);
+    }
+
+    int size() {
+        return movieIds.length;
+    }
+
+    int directorCount() {
+        return directorIds.length;
+    }
+
+    long[] findMovieIdsByDirectorId(long directorId) {
+        int position = Arrays.binarySearch(directorIds, directorId);
+        return position < 0 ? new long[0] : Arrays.copyOfRange(movieIds, offsets[position], offsets[position + 1]);
+    }
+
+    List<MovieDirectorLink> links() {
+        return new AbstractList<>() {
+            @Override
+            public MovieDirectorLink get(int index) {
+                long movieId = movieIds[index];
+                long directorId = directorIds[directorPosition(index)];
+                return new MovieDirectorLink() {
+                    @Override
+                    public Long getMovieId() {
+                        return movieId;
+                    }
+
+                    @Override
+                    public Long getDirectorId() {
+                        return directorId;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return movieIds.length;
+            }
+        };
+    }
+
+    MovieDirectorIndex withMovie(long movieId, long directorId) {
+        return merge(new long[]{movieId}, List.of(new Link(movieId, directorId)));
+    }
+
+    MovieDirectorIndex withMovies(Collection<MovieDto> movies) {
+        long[] changedMovieIds = movies.stream()
+                .mapToLong(MovieDto::getId)
+                .sorted()
+                .toArray();
+        List<Link> addedLinks = movies.stream()
+                .map(movie -> new Link(movie.getId(), movie.getDirectorId()))
+                .sorted(LINK_COMPARATOR)
+                .toList();
+        return merge(changedMovieIds, addedLinks);
+    }
+
+    MovieDirectorIndex withoutMovie(long movieId) {
+        return merge(new long[]{movieId}, List.of());
+    }
+
+    private MovieDirectorIndex merge(long[] removedMovieIds, List<Link> addedLinks) {
+        Builder builder = new Builder(movieIds.length + addedLinks.size(), directorIds.length + addedLinks.size());
+        int added = 0;
+        for (int position = 0; position < directorIds.length; position++) {
+            long directorId = directorIds[position];
+            while (added < addedLinks.size() && addedLinks.get(added).directorId() < directorId) {
+                builder.add(addedLinks.get(added++));
+            }
+            for (int i = offsets[position]; i < offsets[position + 1]; i++) {
+                long movieId = movieIds[i];
+                if (Arrays.binarySearch(removedMovieIds, movieId) >= 0) {
+                    continue;
+                }
+                while (added < addedLinks.size() && addedLinks.get(added).directorId() == directorId
+                        && addedLinks.get(added).movieId() < movieId) {
+                    builder.add(addedLinks.get(added++));
+                }
+                builder.add(movieId, directorId);
+            }
+            while (added < addedLinks.size() && addedLinks.get(added).directorId() == directorId) {
+                builder.add(addedLinks.get(added++));
+            }
+        }
+        while (added < addedLinks.size()) {
+            builder.add(addedLinks.get(added++));
+        }
+        return builder.build();
+    }
+
+    private int directorPosition(int index) {
+        int low = 0;
+        int high = directorIds.length - 1;
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if (offsets[middle] <= index) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return low;
+    }
+
+    static final class Builder {
+        private long[] directorIds;
+        private int[] offsets;
+        private long[] movieIds;
+        private int directorCount;
+        private int movieCount;
+
+        private Builder(int movieCapacity, int directorCapacity) {
+            directorIds = new long[Math.max(directorCapacity, 1)];
+            offsets = new int[Math.max(directorCapacity, 1) + 1];
+            movieIds = new long[Math.max(movieCapacity, 1)];
+        }
+
+        void add(long movieId, long directorId) {
+            if (directorCount == 0 || directorIds[directorCount - 1] != directorId) {
+                if (directorCount > 0 && directorIds[directorCount - 1] > directorId) {
+                    throw new IllegalArgumentException("Movie director links must be ordered by director id and movie id");
+                }
+                if (directorCount == directorIds.length) {
+                    directorIds = Arrays.copyOf(directorIds, directorIds.length * 2);
+                    offsets = Arrays.copyOf(offsets, directorIds.length + 1);
+                }
+                directorIds[directorCount] = directorId;
+                offsets[directorCount++] = movieCount;
+            }
+            if (movieCount == movieIds.length) {
+                movieIds = Arrays.copyOf(movieIds, movieIds.length * 2);
+            }
+            movieIds[movieCount++] = movieId;
+        }
+
+        MovieDirectorIndex build() {
+            int[] builtOffsets = Arrays.copyOf(offsets, directorCount + 1);
+            builtOffsets[directorCount] = movieCount;
+            return new MovieDirectorIndex(Arrays.copyOf(directorIds, directorCount), builtOffsets, Arrays.copyOf(movieIds, movieCount));
+        }
+
+        private void add(Link link) {
+            add(link.movieId(), link.directorId());
+        }
+    }
+
+    private record Link(long movieId, long directorId) {
+    }
+}
@@ -0,0 +1,67 @@
+package com.jonathanfoucher.databaseexample.services;
+
+import com.jonathanfoucher.databaseexample.data.dto.MovieDirectorLink;
+import com.jonathanfoucher.databaseexample.data.dto.MovieDto;
+import com.jonathanfoucher.databaseexample.services.events.MovieChangedEvent;
+import com.jonathanfoucher.databaseexample.services.events.MovieDeletedEvent;
+import com.jonathanfoucher.databaseexample.services.events.MoviesImportedEvent;
+import com.jonathanfoucher.databaseexample.services.events.MoviesSavedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class MovieDirectorIndexService {
+    private final MovieService movieService;
+
+    private volatile MovieDirectorIndex index = MovieDirectorIndex.EMPTY;
+
+    public List<MovieDirectorLink> findAllMovieDirectorLinks() {
+        return index.links();
+    }
+
+    public long[] findMovieIdsByDirectorId(Long directorId) {
+        return index.findMovieIdsByDirectorId(directorId);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        long start = System.nanoTime();
+        MovieDirectorIndex.Builder builder = MovieDirectorIndex.builder();
+        movieService.forEachMovieDirectorLink(builder::add);
+        index = builder.build();
+        log.info("Built the movie director index with {} movies and {} directors in {} ms", index.size(), index.directorCount(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onMovieChanged(MovieChangedEvent event) {
+        MovieDto movie = event.movie();
+        index = index.withMovie(movie.getId(), movie.getDirectorId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onMoviesSaved(MoviesSavedEvent event) {
+        if (!event.movies().isEmpty()) {
+            index = index.withMovies(event.movies());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onMovieDeleted(MovieDeletedEvent event) {
+        index = index.withoutMovie(event.id());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMoviesImported(MoviesImportedEvent event) {
+        if (event.mergedRowCount() > 0) {
+            rebuild();
+        }
+    }
+}
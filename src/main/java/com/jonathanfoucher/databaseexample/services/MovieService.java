@@ -1,69 +1,205 @@
 package com.jonathanfoucher.databaseexample.services;
 
+import com.jonathanfoucher.databaseexample.common.coalescing.LookupCoalescer;
 import com.jonathanfoucher.databaseexample.common.errors.MovieNotFoundException;
+import com.jonathanfoucher.databaseexample.common.pagination.MovieCursor;
+import com.jonathanfoucher.databaseexample.common.pagination.MovieSortKey;
+import com.jonathanfoucher.databaseexample.common.properties.BatchProperties;
+import com.jonathanfoucher.databaseexample.data.dto.CursorPageDto;
 import com.jonathanfoucher.databaseexample.data.dto.FlatMovieDirectorDto;
-import com.jonathanfoucher.databaseexample.data.dto.MovieDirectorLink;
 import com.jonathanfoucher.databaseexample.data.dto.MovieDto;
 import com.jonathanfoucher.databaseexample.data.model.Movie;
+import com.jonathanfoucher.databaseexample.data.repository.MovieCountEstimateRepository;
 import com.jonathanfoucher.databaseexample.data.repository.MovieDirectorCustomRepository;
+import com.jonathanfoucher.databaseexample.data.repository.MovieDirectorCustomRepository.MovieDirectorLinkHandler;
+import com.jonathanfoucher.databaseexample.data.repository.MovieReadRepository;
 import com.jonathanfoucher.databaseexample.data.repository.MovieRepository;
-import jakarta.transaction.Transactional;
+import com.jonathanfoucher.databaseexample.data.repository.MovieWriteRepository;
+import com.jonathanfoucher.databaseexample.services.events.MovieChangedEvent;
+import com.jonathanfoucher.databaseexample.services.events.MovieDeletedEvent;
+import com.jonathanfoucher.databaseexample.services.events.MoviesSavedEvent;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
+import static com.jonathanfoucher.databaseexample.common.coalescing.LookupEntity.MOVIE;
+import static com.jonathanfoucher.databaseexample.data.repository.specifications.MovieSpecs.isAfterCursor;
 import static com.jonathanfoucher.databaseexample.data.repository.specifications.MovieSpecs.isReleasedAfter;
 import static com.jonathanfoucher.databaseexample.data.repository.specifications.MovieSpecs.isUpdatedSince;
 
 @Service
 @RequiredArgsConstructor
 public class MovieService {
+    private static final int MAX_CURSOR_PAGE_SIZE = 2000;
+
     private final MovieRepository movieRepository;
     private final MovieDirectorCustomRepository movieDirectorCustomRepository;
+    private final MovieReadRepository movieReadRepository;
+    private final MovieWriteRepository movieWriteRepository;
+    private final MovieCountEstimateRepository movieCountEstimateRepository;
+    private final EntityManager entityManager;
+    private final BatchProperties batchProperties;
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final LookupCoalescer lookupCoalescer;
 
     public MovieDto findById(Long id) {
-        Movie movie = findByIdOrThrowNotFound(id);
-        return convertEntityToDto(movie);
+        return lookupCoalescer.load(MOVIE, id, () -> convertEntityToDto(findByIdOrThrowNotFound(id)));
+    }
+
+    public List<MovieDto> findAllById(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return movieRepository.findAllById(ids)
+                .stream()
+                .map(MovieService::convertEntityToDto)
+                .toList();
+    }
+
+    public ZonedDateTime findUpdatedAtById(Long id) {
+        return movieRepository.findUpdatedAtById(id)
+                .orElseThrow(() -> new MovieNotFoundException(id));
     }
 
+    @Transactional(readOnly = true)
     public Page<MovieDto> findAllFiltered(Pageable pageable, LocalDate releaseAfter, ZonedDateTime updatedSince) {
         Specification<Movie> specifications = Specification.allOf(
                 isReleasedAfter(releaseAfter),
                 isUpdatedSince(updatedSince)
         );
 
-        return movieRepository.findAll(specifications, pageable)
-                .map(this::convertEntityToDto);
+        List<MovieDto> movies = movieReadRepository.findAll(specifications, pageable.getSort(), pageable.getOffset(), pageable.getPageSize());
+        return PageableExecutionUtils.getPage(movies, pageable, () -> movieRepository.count(specifications));
+    }
+
+    @Transactional(readOnly = true)
+    public Slice<MovieDto> findAllFilteredWithoutCount(Pageable pageable, LocalDate releaseAfter, ZonedDateTime updatedSince) {
+        return findSliceFiltered(pageable, releaseAfter, updatedSince);
+    }
+
+    @Transactional(readOnly = true)
+    public Page<MovieDto> findAllFilteredWithEstimatedCount(Pageable pageable, LocalDate releaseAfter, ZonedDateTime updatedSince) {
+        Slice<MovieDto> movies = findSliceFiltered(pageable, releaseAfter, updatedSince);
+        long knownCount = pageable.getOffset() + movies.getNumberOfElements();
+        long count;
+        if (movies.hasNext()) {
+            count = Math.max(movieCountEstimateRepository.estimateCount(releaseAfter, updatedSince), knownCount + 1);
+        } else if (!movies.hasContent() && pageable.getOffset() > 0) {
+            count = Math.min(movieCountEstimateRepository.estimateCount(releaseAfter, updatedSince), pageable.getOffset());
+        } else {
+            count = knownCount;
+        }
+        return new PageImpl<>(movies.getContent(), pageable, count);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPageDto<MovieDto> findAllFilteredByCursor(String cursor, String sort, int size, LocalDate releaseAfter, ZonedDateTime updatedSince) {
+        MovieCursor afterCursor = cursor == null || cursor.isBlank() ? null : MovieCursor.decode(cursor);
+        MovieSortKey sortKey = afterCursor != null ? afterCursor.sortKey() : MovieSortKey.fromParameter(sort);
+        int pageSize = Math.clamp(size, 1, MAX_CURSOR_PAGE_SIZE);
+
+        Specification<Movie> specifications = Specification.allOf(
+                isReleasedAfter(releaseAfter),
+                isUpdatedSince(updatedSince),
+                isAfterCursor(afterCursor)
+        );
+
+        List<MovieDto> movies = movieReadRepository.findAll(specifications, sortKey.getSort(), 0, pageSize + 1);
+        boolean hasNext = movies.size() > pageSize;
+        List<MovieDto> content = hasNext ? movies.subList(0, pageSize) : movies;
+
+        CursorPageDto<MovieDto> page = new CursorPageDto<>();
+        page.setContent(content);
+        page.setNextCursor(hasNext ? MovieCursor.of(sortKey, content.getLast()).encode() : null);
+        return page;
     }
 
-    public List<MovieDirectorLink> findAllMovieDirectorLinks() {
-        return movieRepository.findAllMovieDirectorLinks();
+    @Transactional(readOnly = true)
+    public void forEachMovieDirectorLink(MovieDirectorLinkHandler handler) {
+        movieDirectorCustomRepository.forEachMovieDirectorLink(handler);
     }
 
     public List<FlatMovieDirectorDto> findAllFlatMovieDirectors() {
         return movieDirectorCustomRepository.findAllFlatMovieDirectors();
     }
 
+    @Transactional(readOnly = true)
+    public void streamAllFlatMovieDirectors(Consumer<FlatMovieDirectorDto> consumer) {
+        try (Stream<FlatMovieDirectorDto> flatMovieDirectors = movieDirectorCustomRepository.streamAllFlatMovieDirectors()) {
+            flatMovieDirectors.forEach(consumer);
+        }
+    }
+
     @Transactional
     public void save(MovieDto movie) {
-        Movie movieToSave = movie.getId() != null ? findByIdOrThrowNotFound(movie.getId()) : new Movie();
-        movieToSave.setId(movie.getId());
-        movieToSave.setDirectorId(movie.getDirectorId());
-        movieToSave.setTitle(movie.getTitle());
-        movieToSave.setReleaseDate(movie.getReleaseDate());
-        movieRepository.save(movieToSave);
+        Movie savedMovie = movie.getId() != null ? updateOrThrowNotFound(movie) : create(movie);
+        applicationEventPublisher.publishEvent(new MovieChangedEvent(convertEntityToDto(savedMovie)));
+    }
+
+    @Transactional
+    public void saveAll(List<MovieDto> movies) {
+        List<MovieDto> savedMovies = new ArrayList<>(movies.size());
+        for (int from = 0; from < movies.size(); from += batchProperties.size()) {
+            List<Movie> moviesToSave = movies.subList(from, Math.min(from + batchProperties.size(), movies.size()))
+                    .stream()
+                    .map(this::convertDtoToNewEntity)
+                    .toList();
+            movieRepository.saveAll(moviesToSave);
+            entityManager.flush();
+            entityManager.clear();
+            moviesToSave.forEach(savedMovie -> savedMovies.add(convertEntityToDto(savedMovie)));
+        }
+        applicationEventPublisher.publishEvent(new MoviesSavedEvent(savedMovies));
     }
 
     @Transactional
     public void deleteById(Long id) {
-        Movie movie = findByIdOrThrowNotFound(id);
-        movieRepository.delete(movie);
+        if (!movieWriteRepository.deleteById(id)) {
+            throw new MovieNotFoundException(id);
+        }
+        applicationEventPublisher.publishEvent(new MovieDeletedEvent(id));
+    }
+
+    private Movie create(MovieDto movie) {
+        Movie movieToSave = convertDtoToNewEntity(movie);
+        movieRepository.save(movieToSave);
+        entityManager.flush();
+        return movieToSave;
+    }
+
+    private Movie updateOrThrowNotFound(MovieDto movie) {
+        Movie movieToSave = convertDtoToNewEntity(movie);
+        movieToSave.setId(movie.getId());
+        return movieWriteRepository.update(movieToSave)
+                .orElseThrow(() -> new MovieNotFoundException(movie.getId()));
+    }
+
+    private Slice<MovieDto> findSliceFiltered(Pageable pageable, LocalDate releaseAfter, ZonedDateTime updatedSince) {
+        Specification<Movie> specifications = Specification.allOf(
+                isReleasedAfter(releaseAfter),
+                isUpdatedSince(updatedSince)
+        );
+
+        List<MovieDto> movies = movieReadRepository.findAll(specifications, pageable.getSort(), pageable.getOffset(), pageable.getPageSize() + 1);
+        boolean hasNext = movies.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? movies.subList(0, pageable.getPageSize()) : movies, pageable, hasNext);
     }
 
     private Movie findByIdOrThrowNotFound(Long id) {
@@ -71,12 +207,21 @@ public class MovieService {
                 .orElseThrow(() -> new MovieNotFoundException(id));
     }
 
-    private MovieDto convertEntityToDto(Movie entity) {
+    private Movie convertDtoToNewEntity(MovieDto dto) {
+        Movie entity = new Movie();
+        entity.setDirectorId(dto.getDirectorId());
+        entity.setTitle(dto.getTitle());
+        entity.setReleaseDate(dto.getReleaseDate());
+        return entity;
+    }
+
+    static MovieDto convertEntityToDto(Movie entity) {
         MovieDto dto = new MovieDto();
         dto.setId(entity.getId());
         dto.setDirectorId(entity.getDirectorId());
         dto.setTitle(entity.getTitle());
         dto.setReleaseDate(entity.getReleaseDate());
+        dto.setUpdatedAt(entity.getUpdatedAt());
         return dto;
     }
 }
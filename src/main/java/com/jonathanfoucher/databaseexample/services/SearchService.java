@@ -0,0 +1,29 @@
+package com.jonathanfoucher.databaseexample.services;
+
+import com.jonathanfoucher.databaseexample.data.dto.SearchResultDto;
+import com.jonathanfoucher.databaseexample.data.repository.SearchRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class SearchService {
+    private final SearchRepository searchRepository;
+
+    @Transactional(readOnly = true)
+    public Slice<SearchResultDto> search(String query, Pageable pageable) {
+        if (query == null || query.isBlank()) {
+            return new SliceImpl<>(List.of(), pageable, false);
+        }
+
+        List<SearchResultDto> results = searchRepository.search(query.strip(), pageable.getPageSize() + 1, pageable.getOffset());
+        boolean hasNext = results.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? results.subList(0, pageable.getPageSize()) : results, pageable, hasNext);
+    }
+}
@@ -0,0 +1,92 @@
+package com.jonathanfoucher.databaseexample.services;
+
+import com.jonathanfoucher.databaseexample.common.errors.InvalidSyncTokenException;
+import com.jonathanfoucher.databaseexample.common.properties.SyncProperties;
+import com.jonathanfoucher.databaseexample.data.dto.CatalogChange;
+import com.jonathanfoucher.databaseexample.data.dto.CatalogChangePosition;
+import com.jonathanfoucher.databaseexample.data.dto.SyncDto;
+import com.jonathanfoucher.databaseexample.data.repository.CatalogChangeRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+import static java.util.stream.Collectors.groupingBy;
+import static org.springframework.transaction.annotation.Isolation.REPEATABLE_READ;
+
+@Service
+@RequiredArgsConstructor
+public class SyncService {
+    private static final String DIRECTOR_ENTITY_TYPE = "director";
+    private static final String MOVIE_ENTITY_TYPE = "movie";
+    private static final String TOKEN_SEPARATOR = ":";
+
+    private final CatalogChangeRepository catalogChangeRepository;
+    private final DirectorService directorService;
+    private final MovieService movieService;
+    private final SyncProperties syncProperties;
+
+    @Transactional(readOnly = true, isolation = REPEATABLE_READ)
+    public SyncDto findChangesSince(String token) {
+        CatalogChangePosition from = decodeToken(token);
+        long toTransactionId = catalogChangeRepository.findSyncHorizon();
+        boolean hasCommittedChanges = Long.compareUnsigned(from.transactionId(), toTransactionId) < 0;
+        int pageSize = syncProperties.pageSize();
+
+        List<CatalogChange> changes = hasCommittedChanges
+                ? catalogChangeRepository.findAllCommittedBetween(from, toTransactionId, pageSize + 1)
+                : List.of();
+        boolean hasMore = changes.size() > pageSize;
+        List<CatalogChange> page = hasMore ? changes.subList(0, pageSize) : changes;
+
+        Map<String, List<CatalogChange>> changesByEntityType = page.stream()
+                .collect(groupingBy(CatalogChange::entityType));
+        List<CatalogChange> directorChanges = changesByEntityType.getOrDefault(DIRECTOR_ENTITY_TYPE, List.of());
+        List<CatalogChange> movieChanges = changesByEntityType.getOrDefault(MOVIE_ENTITY_TYPE, List.of());
+
+        SyncDto sync = new SyncDto();
+        sync.setDirectors(directorService.findAllById(filterIds(directorChanges, change -> !change.deleted())));
+        sync.setMovies(movieService.findAllById(filterIds(movieChanges, change -> !change.deleted())));
+        sync.setDeletedDirectorIds(filterIds(directorChanges, CatalogChange::deleted));
+        sync.setDeletedMovieIds(filterIds(movieChanges, CatalogChange::deleted));
+        sync.setHasMore(hasMore);
+        sync.setNextToken(hasMore
+                ? encodeToken(CatalogChangePosition.after(page.getLast()))
+                : Long.toUnsignedString(hasCommittedChanges ? toTransactionId : from.transactionId()));
+        return sync;
+    }
+
+    private CatalogChangePosition decodeToken(String token) {
+        if (token == null || token.isBlank()) {
+            return CatalogChangePosition.startOf(0L);
+        }
+        try {
+            String[] parts = token.split(TOKEN_SEPARATOR, -1);
+            return switch (parts.length) {
+                case 1 -> CatalogChangePosition.startOf(Long.parseUnsignedLong(parts[0]));
+                case 3 -> new CatalogChangePosition(Long.parseUnsignedLong(parts[0]), parts[1], Long.parseLong(parts[2]));
+                default -> throw new InvalidSyncTokenException(token);
+            };
+        } catch (NumberFormatException e) {
+            throw new InvalidSyncTokenException(token);
+        }
+    }
+
+    private String encodeToken(CatalogChangePosition position) {
+        return String.join(TOKEN_SEPARATOR,
+                Long.toUnsignedString(position.transactionId()),
+                position.entityType(),
+                Long.toString(position.entityId())
+        );
+    }
+
+    private List<Long> filterIds(List<CatalogChange> changes, Predicate<CatalogChange> predicate) {
+        return changes.stream()
+                .filter(predicate)
+                .map(CatalogChange::entityId)
+                .toList();
+    }
+}
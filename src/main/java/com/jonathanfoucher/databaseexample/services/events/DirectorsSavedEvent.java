@@ -0,0 +1,8 @@
+package com.jonathanfoucher.databaseexample.services.events;
+
+import com.jonathanfoucher.databaseexample.data.dto.DirectorDto;
+
+import java.util.List;
+
+public record DirectorsSavedEvent(List<DirectorDto> directors) {
+}
@@ -0,0 +1,6 @@
+package com.jonathanfoucher.databaseexample.services.events;
+
+import com.jonathanfoucher.databaseexample.data.dto.MovieDto;
+
+public record MovieChangedEvent(MovieDto movie) {
+}
@@ -0,0 +1,4 @@
+package com.jonathanfoucher.databaseexample.services.events;
+
+public record MovieDeletedEvent(Long id) {
+}
@@ -0,0 +1,8 @@
+package com.jonathanfoucher.databaseexample.services.events;
+
+import com.jonathanfoucher.databaseexample.data.dto.MovieDto;
+
+import java.util.List;
+
+public record MoviesSavedEvent(List<MovieDto> movies) {
+}
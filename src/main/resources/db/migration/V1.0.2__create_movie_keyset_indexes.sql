@@ -0,0 +1,5 @@
+drop index if exists movie_idx02;
+drop index if exists movie_idx03;
+
+create index movie_idx02 on movie(release_date, id);
+create index movie_idx03 on movie(updated_at, id);
@@ -0,0 +1,2 @@
+alter sequence director_id_seq increment by 50;
+alter sequence movie_id_seq increment by 50;
@@ -0,0 +1,37 @@
+drop trigger if exists director_trg01 on director;
+drop trigger if exists movie_trg01 on movie;
+drop function if exists log_catalog_change();
+drop index if exists catalog_change_idx01;
+
+drop table if exists catalog_change;
+create table catalog_change (
+    entity_type     varchar(20)     not null,
+    entity_id       bigint          not null,
+    deleted         boolean         not null,
+    transaction_id  xid8            not null default pg_current_xact_id(),
+    changed_at      timestamptz     not null default now(),
+    constraint catalog_change_pk primary key (entity_type, entity_id)
+);
+
+create index catalog_change_idx01 on catalog_change(transaction_id);
+
+insert into catalog_change (entity_type, entity_id, deleted)
+select 'director', id, false from director
+union all
+select 'movie', id, false from movie;
+
+create function log_catalog_change() returns trigger as $$
+begin
+    insert into catalog_change (entity_type, entity_id, deleted)
+    values (tg_table_name, case when tg_op = 'DELETE' then old.id else new.id end, tg_op = 'DELETE')
+    on conflict (entity_type, entity_id) do update
+    set deleted = excluded.deleted, transaction_id = excluded.transaction_id, changed_at = excluded.changed_at;
+    return null;
+end;
+$$ language plpgsql;
+
+create trigger director_trg01 after insert or update or delete on director
+for each row execute function log_catalog_change();
+
+create trigger movie_trg01 after insert or update or delete on movie
+for each row execute function log_catalog_change();
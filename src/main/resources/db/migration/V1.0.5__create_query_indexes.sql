@@ -0,0 +1,5 @@
+drop index if exists director_idx01;
+drop index if exists movie_idx01;
+
+create index director_idx01 on director(last_name, first_name) include (id, updated_at);
+create index movie_idx01 on movie(director_id, id);
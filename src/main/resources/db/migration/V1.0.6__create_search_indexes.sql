@@ -0,0 +1,7 @@
+create extension if not exists pg_trgm;
+
+drop index if exists movie_idx04;
+drop index if exists director_idx02;
+
+create index movie_idx04 on movie using gin (title gin_trgm_ops);
+create index director_idx02 on director using gin ((first_name || ' ' || last_name) gin_trgm_ops);
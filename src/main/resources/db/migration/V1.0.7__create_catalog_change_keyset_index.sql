@@ -0,0 +1,3 @@
+drop index if exists catalog_change_idx01;
+
+create index catalog_change_idx01 on catalog_change(transaction_id, entity_type, entity_id);
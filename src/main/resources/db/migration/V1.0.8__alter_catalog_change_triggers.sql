@@ -0,0 +1,42 @@
+drop trigger if exists director_trg01 on director;
+drop trigger if exists director_trg02 on director;
+drop trigger if exists director_trg03 on director;
+drop trigger if exists movie_trg01 on movie;
+drop trigger if exists movie_trg02 on movie;
+drop trigger if exists movie_trg03 on movie;
+drop function if exists log_catalog_change();
+
+create function log_catalog_change() returns trigger as $$
+begin
+    insert into catalog_change (entity_type, entity_id, deleted)
+    select tg_table_name, changed_rows.id, tg_op = 'DELETE'
+    from changed_rows
+    on conflict (entity_type, entity_id) do update
+    set deleted = excluded.deleted, transaction_id = excluded.transaction_id, changed_at = excluded.changed_at;
+    return null;
+end;
+$$ language plpgsql;
+
+create trigger director_trg01 after insert on director
+referencing new table as changed_rows
+for each statement execute function log_catalog_change();
+
+create trigger director_trg02 after update on director
+referencing new table as changed_rows
+for each statement execute function log_catalog_change();
+
+create trigger director_trg03 after delete on director
+referencing old table as changed_rows
+for each statement execute function log_catalog_change();
+
+create trigger movie_trg01 after insert on movie
+referencing new table as changed_rows
+for each statement execute function log_catalog_change();
+
+create trigger movie_trg02 after update on movie
+referencing new table as changed_rows
+for each statement execute function log_catalog_change();
+
+create trigger movie_trg03 after delete on movie
+referencing old table as changed_rows
+for each statement execute function log_catalog_change();
@@ -0,0 +1,152 @@
+package com.jonathanfoucher.databaseexample.benchmarks;
+
+import com.jonathanfoucher.databaseexample.common.pagination.MovieCursor;
+import com.jonathanfoucher.databaseexample.common.pagination.MovieSortKey;
+import com.jonathanfoucher.databaseexample.data.dto.CursorPageDto;
+import com.jonathanfoucher.databaseexample.data.dto.MovieDto;
+import com.jonathanfoucher.databaseexample.data.model.Movie;
+import com.jonathanfoucher.databaseexample.data.repository.MovieRepository;
+import com.jonathanfoucher.databaseexample.services.MovieService;
+import com.jonathanfoucher.databaseexample.support.EmbeddedPostgresIntegrationTest;
+import com.jonathanfoucher.databaseexample.support.TestDataSeeder;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@Tag("benchmark")
+@Slf4j
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class MoviePaginationBenchmarkTest extends EmbeddedPostgresIntegrationTest {
+    @Autowired
+    private MovieService movieService;
+    @Autowired
+    private MovieRepository movieRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private static final int DIRECTOR_COUNT = 1_000;
+    private static final int MOVIE_COUNT = 500_000;
+    private static final int PAGE_SIZE = 20;
+    private static final int[] PAGES = {0, 500, 5_000, 20_000};
+    private static final int[] PROJECTION_PAGE_SIZES = {20, 200, 1_000};
+    private static final int WARMUP_ITERATIONS = 5;
+    private static final int MEASURED_ITERATIONS = 20;
+
+    @BeforeAll
+    void seed() {
+        new TestDataSeeder(jdbcTemplate).seed(DIRECTOR_COUNT, MOVIE_COUNT);
+    }
+
+    @Test
+    void deepPageLatency() {
+        for (int page : PAGES) {
+            PageRequest pageRequest = PageRequest.of(page, PAGE_SIZE, MovieSortKey.ID.getSort());
+            long lastIdOfPreviousPage = (long) page * PAGE_SIZE;
+            String cursor = page == 0 ? "" : new MovieCursor(MovieSortKey.ID, Long.toString(lastIdOfPreviousPage), lastIdOfPreviousPage).encode();
+
+            Page<MovieDto> offsetPage = movieService.findAllFiltered(pageRequest, null, null);
+            CursorPageDto<MovieDto> cursorPage = movieService.findAllFilteredByCursor(cursor, MovieSortKey.ID.getParameter(), PAGE_SIZE, null, null);
+            assertEquals(offsetPage.getContent().getFirst().getId(), cursorPage.getContent().getFirst().getId());
+
+            double offsetMedian = medianMillis(() -> movieService.findAllFiltered(pageRequest, null, null));
+            double cursorMedian = medianMillis(() -> movieService.findAllFilteredByCursor(cursor, MovieSortKey.ID.getParameter(), PAGE_SIZE, null, null));
+
+            log.info("page={} size={} offset={}ms cursor={}ms", page, PAGE_SIZE,
+                    String.format("%.3f", offsetMedian), String.format("%.3f", cursorMedian));
+        }
+    }
+
+    @Test
+    void countModeLatency() {
+        LocalDate releaseAfter = LocalDate.of(1990, 1, 1);
+        PageRequest pageRequest = PageRequest.of(0, PAGE_SIZE, MovieSortKey.ID.getSort());
+
+        Page<MovieDto> exactPage = movieService.findAllFiltered(pageRequest, releaseAfter, null);
+        Page<MovieDto> estimatedPage = movieService.findAllFilteredWithEstimatedCount(pageRequest, releaseAfter, null);
+        assertEquals(exactPage.getContent().getFirst().getId(), estimatedPage.getContent().getFirst().getId());
+
+        double exactMedian = medianMillis(() -> movieService.findAllFiltered(pageRequest, releaseAfter, null));
+        double estimateMedian = medianMillis(() -> movieService.findAllFilteredWithEstimatedCount(pageRequest, releaseAfter, null));
+        double noneMedian = medianMillis(() -> movieService.findAllFilteredWithoutCount(pageRequest, releaseAfter, null));
+
+        log.info("size={} exact={}ms ({} rows) estimate={}ms ({} rows) none={}ms", PAGE_SIZE,
+                String.format("%.3f", exactMedian), exactPage.getTotalElements(),
+                String.format("%.3f", estimateMedian), estimatedPage.getTotalElements(),
+                String.format("%.3f", noneMedian));
+    }
+
+    @Test
+    void projectionLatencyAndAllocation() {
+        for (int size : PROJECTION_PAGE_SIZES) {
+            PageRequest pageRequest = PageRequest.of(0, size, MovieSortKey.UPDATED_AT.getSort());
+            Supplier<List<MovieDto>> entityCall = () -> movieRepository.findBy(Specification.<Movie>allOf(), query -> query
+                            .sortBy(pageRequest.getSort())
+                            .limit(size + 1)
+                            .all())
+                    .stream()
+                    .map(movie -> new MovieDto(movie.getId(), movie.getDirectorId(), movie.getTitle(), movie.getReleaseDate(), movie.getUpdatedAt()))
+                    .toList();
+            Supplier<Slice<MovieDto>> projectionCall = () -> movieService.findAllFilteredWithoutCount(pageRequest, null, null);
+
+            assertEquals(entityCall.get().getFirst().getId(), projectionCall.get().getContent().getFirst().getId());
+
+            double entityMedian = medianMillis(entityCall);
+            double projectionMedian = medianMillis(projectionCall);
+            long entityAllocated = medianAllocatedBytes(entityCall);
+            long projectionAllocated = medianAllocatedBytes(projectionCall);
+
+            log.info("size={} entity={}ms ({} bytes) projection={}ms ({} bytes)", size,
+                    String.format("%.3f", entityMedian), entityAllocated,
+                    String.format("%.3f", projectionMedian), projectionAllocated);
+        }
+    }
+
+    private static long medianAllocatedBytes(Supplier<?> call) {
+        com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            call.get();
+        }
+
+        long[] allocations = new long[MEASURED_ITERATIONS];
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            long start = threadMXBean.getCurrentThreadAllocatedBytes();
+            call.get();
+            allocations[i] = threadMXBean.getCurrentThreadAllocatedBytes() - start;
+        }
+
+        Arrays.sort(allocations);
+        return allocations[MEASURED_ITERATIONS / 2];
+    }
+
+    private static double medianMillis(Supplier<?> call) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            call.get();
+        }
+
+        long[] durations = new long[MEASURED_ITERATIONS];
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            long start = System.nanoTime();
+            call.get();
+            durations[i] = System.nanoTime() - start;
+        }
+
+        Arrays.sort(durations);
+        return durations[MEASURED_ITERATIONS / 2] / 1_000_000.0;
+    }
+}
@@ -0,0 +1,94 @@
+package com.jonathanfoucher.databaseexample.common.bulkhead;
+
+import com.jonathanfoucher.databaseexample.common.errors.BulkheadFullException;
+import com.jonathanfoucher.databaseexample.common.properties.BulkheadProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static com.jonathanfoucher.databaseexample.common.bulkhead.EndpointClass.EXPORT;
+import static com.jonathanfoucher.databaseexample.common.bulkhead.EndpointClass.LOOKUP;
+import static com.jonathanfoucher.databaseexample.common.bulkhead.EndpointClass.WRITE;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.*;
+
+class DatabaseBulkheadsTest {
+    private MeterRegistry meterRegistry;
+    private DatabaseBulkheads databaseBulkheads;
+
+    @BeforeEach
+    void init() {
+        meterRegistry = new SimpleMeterRegistry();
+        BulkheadProperties bulkheadProperties = new BulkheadProperties(true, Duration.ofMillis(10), Map.of(LOOKUP, 2, EXPORT, 1));
+        databaseBulkheads = new DatabaseBulkheads(bulkheadProperties, meterRegistry);
+    }
+
+    @Test
+    void acquire() {
+        // WHEN
+        boolean result = databaseBulkheads.acquire(LOOKUP);
+
+        // THEN
+        assertTrue(result);
+        assertEquals(1.0, permitsInUse(LOOKUP));
+        assertEquals(0.0, permitsInUse(EXPORT));
+        assertEquals(1, waitTimerCount(LOOKUP, "acquired"));
+    }
+
+    @Test
+    void acquireWithoutConfiguredPermits() {
+        // WHEN
+        boolean result = databaseBulkheads.acquire(WRITE);
+
+        // THEN
+        assertFalse(result);
+        assertNull(meterRegistry.find("database.bulkhead.permits.in.use").tag("endpoint.class", "write").gauge());
+    }
+
+    @Test
+    void acquireWithBulkheadFull() {
+        // GIVEN
+        databaseBulkheads.acquire(EXPORT);
+
+        // WHEN / THEN
+        assertThatThrownBy(() -> databaseBulkheads.acquire(EXPORT))
+                .isInstanceOf(BulkheadFullException.class)
+                .hasMessage("Too many concurrent export requests");
+
+        assertEquals(1.0, permitsInUse(EXPORT));
+        assertEquals(1, waitTimerCount(EXPORT, "acquired"));
+        assertEquals(1, waitTimerCount(EXPORT, "rejected"));
+    }
+
+    @Test
+    void release() {
+        // GIVEN
+        databaseBulkheads.acquire(EXPORT);
+
+        // WHEN
+        databaseBulkheads.release(EXPORT);
+
+        // THEN
+        assertEquals(0.0, permitsInUse(EXPORT));
+        assertTrue(databaseBulkheads.acquire(EXPORT));
+    }
+
+    private double permitsInUse(EndpointClass endpointClass) {
+        return meterRegistry.get("database.bulkhead.permits.in.use")
+                .tag("endpoint.class", endpointClass.getTag())
+                .gauge()
+                .value();
+    }
+
+    private long waitTimerCount(EndpointClass endpointClass, String outcome) {
+        return meterRegistry.get("database.bulkhead.wait")
+                .tag("endpoint.class", endpointClass.getTag())
+                .tag("outcome", outcome)
+                .timer()
+                .count();
+    }
+}
@@ -0,0 +1,279 @@
+package com.jonathanfoucher.databaseexample.common.coalescing;
+
+import com.jonathanfoucher.databaseexample.common.errors.MovieNotFoundException;
+import com.jonathanfoucher.databaseexample.data.dto.MovieDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.jonathanfoucher.databaseexample.common.coalescing.LookupEntity.DIRECTOR;
+import static com.jonathanfoucher.databaseexample.common.coalescing.LookupEntity.MOVIE;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.*;
+
+class LookupCoalescerTest {
+    private MeterRegistry meterRegistry;
+    private LookupCoalescer lookupCoalescer;
+    private ExecutorService executorService;
+    private AtomicBoolean pinnedToPrimary;
+
+    private static final Long ID = 15L;
+    private static final int CALLER_COUNT = 8;
+
+    @BeforeEach
+    void init() {
+        meterRegistry = new SimpleMeterRegistry();
+        pinnedToPrimary = new AtomicBoolean();
+        lookupCoalescer = new LookupCoalescer(meterRegistry, pinnedToPrimary::get);
+        executorService = Executors.newFixedThreadPool(CALLER_COUNT);
+    }
+
+    @AfterEach
+    void shutdown() {
+        executorService.shutdownNow();
+    }
+
+    @Test
+    void load() {
+        // GIVEN
+        MovieDto movie = initMovie();
+
+        // WHEN
+        MovieDto result = lookupCoalescer.load(MOVIE, ID, () -> movie);
+
+        // THEN
+        assertSame(movie, result);
+        assertEquals(0.0, coalescedCount(MOVIE));
+        assertEquals(0, lookupCoalescer.inFlightCount());
+    }
+
+    @Test
+    void loadWithConcurrentCallers() throws Exception {
+        // GIVEN
+        MovieDto movie = initMovie();
+        AtomicInteger loadCount = new AtomicInteger();
+        CountDownLatch loadStarted = new CountDownLatch(1);
+        CountDownLatch loadReleased = new CountDownLatch(1);
+
+        Future<MovieDto> leader = executorService.submit(() -> lookupCoalescer.load(MOVIE, ID, () -> {
+            loadCount.incrementAndGet();
+            loadStarted.countDown();
+            await(loadReleased);
+            return movie;
+        }));
+        assertTrue(loadStarted.await(5, TimeUnit.SECONDS));
+
+        // WHEN
+        List<Future<MovieDto>> followers = new ArrayList<>();
+        for (int i = 1; i < CALLER_COUNT; i++) {
+            followers.add(executorService.submit(() -> lookupCoalescer.load(MOVIE, ID, () -> {
+                loadCount.incrementAndGet();
+                return initMovie();
+            })));
+        }
+        waitForCoalescedCount(MOVIE, CALLER_COUNT - 1);
+        loadReleased.countDown();
+
+        // THEN
+        assertSame(movie, leader.get(5, TimeUnit.SECONDS));
+        for (Future<MovieDto> follower : followers) {
+            assertSame(movie, follower.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, loadCount.get());
+        assertEquals(CALLER_COUNT - 1, coalescedCount(MOVIE));
+        assertEquals(0.0, coalescedCount(DIRECTOR));
+        assertEquals(0, lookupCoalescer.inFlightCount());
+    }
+
+    @Test
+    void loadWithConcurrentCallersAndException() throws Exception {
+        // GIVEN
+        CountDownLatch loadStarted = new CountDownLatch(1);
+        CountDownLatch loadReleased = new CountDownLatch(1);
+
+        Future<MovieDto> leader = executorService.submit(() -> lookupCoalescer.load(MOVIE, ID, () -> {
+            loadStarted.countDown();
+            await(loadReleased);
+            throw new MovieNotFoundException(ID);
+        }));
+        assertTrue(loadStarted.await(5, TimeUnit.SECONDS));
+
+        // WHEN
+        Future<MovieDto> follower = executorService.submit(() -> lookupCoalescer.load(MOVIE, ID, this::initMovie));
+        waitForCoalescedCount(MOVIE, 1);
+        loadReleased.countDown();
+
+        // THEN
+        assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(MovieNotFoundException.class);
+        assertThatThrownBy(() -> follower.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(MovieNotFoundException.class)
+                .cause()
+                .hasMessage("Movie with id " + ID + " not found");
+        assertEquals(0, lookupCoalescer.inFlightCount());
+
+        MovieDto movie = initMovie();
+        assertSame(movie, lookupCoalescer.load(MOVIE, ID, () -> movie));
+    }
+
+    @Test
+    void loadWithOtherIdOrEntity() {
+        // GIVEN
+        AtomicInteger loadCount = new AtomicInteger();
+
+        // WHEN
+        lookupCoalescer.load(MOVIE, ID, () -> {
+            loadCount.incrementAndGet();
+            lookupCoalescer.load(MOVIE, ID + 1, loadCount::incrementAndGet);
+            lookupCoalescer.load(DIRECTOR, ID, loadCount::incrementAndGet);
+            return initMovie();
+        });
+
+        // THEN
+        assertEquals(3, loadCount.get());
+        assertEquals(0.0, coalescedCount(MOVIE));
+        assertEquals(0.0, coalescedCount(DIRECTOR));
+        assertEquals(0, lookupCoalescer.inFlightCount());
+    }
+
+    @Test
+    void loadWhenPinnedToPrimary() throws Exception {
+        // GIVEN
+        MovieDto movie = initMovie();
+        MovieDto primaryMovie = initMovie();
+        CountDownLatch loadStarted = new CountDownLatch(1);
+        CountDownLatch loadReleased = new CountDownLatch(1);
+
+        Future<MovieDto> leader = executorService.submit(() -> lookupCoalescer.load(MOVIE, ID, () -> {
+            loadStarted.countDown();
+            await(loadReleased);
+            return movie;
+        }));
+        assertTrue(loadStarted.await(5, TimeUnit.SECONDS));
+        pinnedToPrimary.set(true);
+
+        // WHEN
+        MovieDto result = lookupCoalescer.load(MOVIE, ID, () -> primaryMovie);
+
+        // THEN
+        assertSame(primaryMovie, result);
+        assertEquals(0.0, coalescedCount(MOVIE));
+        assertEquals(1, lookupCoalescer.inFlightCount());
+
+        loadReleased.countDown();
+        assertSame(movie, leader.get(5, TimeUnit.SECONDS));
+        assertEquals(0, lookupCoalescer.inFlightCount());
+    }
+
+    @Test
+    void loadAfterInvalidate() throws Exception {
+        // GIVEN
+        MovieDto staleMovie = initMovie();
+        MovieDto changedMovie = initMovie();
+        CountDownLatch loadStarted = new CountDownLatch(1);
+        CountDownLatch loadReleased = new CountDownLatch(1);
+        CountDownLatch changedLoadStarted = new CountDownLatch(1);
+        CountDownLatch changedLoadReleased = new CountDownLatch(1);
+
+        Future<MovieDto> staleLeader = executorService.submit(() -> lookupCoalescer.load(MOVIE, ID, () -> {
+            loadStarted.countDown();
+            await(loadReleased);
+            return staleMovie;
+        }));
+        assertTrue(loadStarted.await(5, TimeUnit.SECONDS));
+
+        // WHEN
+        lookupCoalescer.invalidate(MOVIE, ID);
+        Future<MovieDto> changedLeader = executorService.submit(() -> lookupCoalescer.load(MOVIE, ID, () -> {
+            changedLoadStarted.countDown();
+            await(changedLoadReleased);
+            return changedMovie;
+        }));
+        assertTrue(changedLoadStarted.await(5, TimeUnit.SECONDS));
+        loadReleased.countDown();
+        assertSame(staleMovie, staleLeader.get(5, TimeUnit.SECONDS));
+
+        Future<MovieDto> follower = executorService.submit(() -> lookupCoalescer.load(MOVIE, ID, this::initMovie));
+        waitForCoalescedCount(MOVIE, 1);
+        changedLoadReleased.countDown();
+
+        // THEN
+        assertSame(changedMovie, changedLeader.get(5, TimeUnit.SECONDS));
+        assertSame(changedMovie, follower.get(5, TimeUnit.SECONDS));
+        assertEquals(0, lookupCoalescer.inFlightCount());
+    }
+
+    @Test
+    void invalidateAll() throws Exception {
+        // GIVEN
+        CountDownLatch loadStarted = new CountDownLatch(2);
+        CountDownLatch loadReleased = new CountDownLatch(1);
+
+        Future<MovieDto> movieLeader = executorService.submit(() -> lookupCoalescer.load(MOVIE, ID, () -> {
+            loadStarted.countDown();
+            await(loadReleased);
+            return initMovie();
+        }));
+        Future<Long> directorLeader = executorService.submit(() -> lookupCoalescer.load(DIRECTOR, ID, () -> {
+            loadStarted.countDown();
+            await(loadReleased);
+            return ID;
+        }));
+        assertTrue(loadStarted.await(5, TimeUnit.SECONDS));
+
+        // WHEN
+        lookupCoalescer.invalidateAll(MOVIE);
+
+        // THEN
+        assertEquals(1, lookupCoalescer.inFlightCount());
+
+        loadReleased.countDown();
+        movieLeader.get(5, TimeUnit.SECONDS);
+        assertEquals(ID, directorLeader.get(5, TimeUnit.SECONDS));
+        assertEquals(0, lookupCoalescer.inFlightCount());
+    }
+
+    private void waitForCoalescedCount(LookupEntity entity, double count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (coalescedCount(entity) < count && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertEquals(count, coalescedCount(entity));
+    }
+
+    private double coalescedCount(LookupEntity entity) {
+        return meterRegistry.get("database.lookup.coalesced")
+                .tag("entity", entity.getTag())
+                .counter()
+                .count();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private MovieDto initMovie() {
+        MovieDto movie = new MovieDto();
+        movie.setId(ID);
+        return movie;
+    }
+}
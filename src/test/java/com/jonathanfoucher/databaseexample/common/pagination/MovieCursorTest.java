@@ -0,0 +1,85 @@
+package com.jonathanfoucher.databaseexample.common.pagination;
+
+import com.jonathanfoucher.databaseexample.common.errors.InvalidCursorException;
+import com.jonathanfoucher.databaseexample.common.errors.InvalidSortKeyException;
+import com.jonathanfoucher.databaseexample.data.dto.MovieDto;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class MovieCursorTest {
+    private static final Long ID = 15L;
+    private static final LocalDate RELEASE_DATE = LocalDate.of(2022, 7, 19);
+    private static final ZonedDateTime UPDATED_AT = ZonedDateTime.of(
+            LocalDateTime.of(2021, 7, 27, 3, 4, 32, 123_456_000),
+            ZoneOffset.ofHours(2)
+    );
+
+    @Test
+    void encodeAndDecode() {
+        // GIVEN
+        MovieDto movie = initMovie();
+
+        for (MovieSortKey sortKey : MovieSortKey.values()) {
+            MovieCursor cursor = MovieCursor.of(sortKey, movie);
+
+            // WHEN
+            MovieCursor result = MovieCursor.decode(cursor.encode());
+
+            // THEN
+            assertEquals(cursor, result);
+            assertEquals(ID, result.id());
+        }
+    }
+
+    @Test
+    void decodeValues() {
+        // GIVEN
+        MovieDto movie = initMovie();
+
+        // WHEN
+        MovieCursor releaseDateCursor = MovieCursor.decode(MovieCursor.of(MovieSortKey.RELEASE_DATE, movie).encode());
+        MovieCursor updatedAtCursor = MovieCursor.decode(MovieCursor.of(MovieSortKey.UPDATED_AT, movie).encode());
+
+        // THEN
+        assertEquals(RELEASE_DATE, releaseDateCursor.releaseDateValue());
+        assertEquals(UPDATED_AT.toInstant(), updatedAtCursor.updatedAtValue().toInstant());
+    }
+
+    @Test
+    void decodeWithInvalidCursor() {
+        // WHEN / THEN
+        assertThatThrownBy(() -> MovieCursor.decode("not a cursor"))
+                .isInstanceOf(InvalidCursorException.class)
+                .hasMessage("Invalid cursor not a cursor");
+
+        String invalidDateCursor = new MovieCursor(MovieSortKey.RELEASE_DATE, "not a date", ID).encode();
+        assertThatThrownBy(() -> MovieCursor.decode(invalidDateCursor))
+                .isInstanceOf(InvalidCursorException.class);
+    }
+
+    @Test
+    void fromParameter() {
+        // WHEN / THEN
+        assertEquals(MovieSortKey.ID, MovieSortKey.fromParameter("id"));
+        assertEquals(MovieSortKey.RELEASE_DATE, MovieSortKey.fromParameter("release_date"));
+        assertEquals(MovieSortKey.UPDATED_AT, MovieSortKey.fromParameter("updated_at"));
+        assertThatThrownBy(() -> MovieSortKey.fromParameter("title"))
+                .isInstanceOf(InvalidSortKeyException.class)
+                .hasMessage("Invalid sort key title");
+    }
+
+    private MovieDto initMovie() {
+        MovieDto movie = new MovieDto();
+        movie.setId(ID);
+        movie.setReleaseDate(RELEASE_DATE);
+        movie.setUpdatedAt(UPDATED_AT);
+        return movie;
+    }
+}
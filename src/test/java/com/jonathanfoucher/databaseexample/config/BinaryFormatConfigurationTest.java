@@ -0,0 +1,72 @@
+package com.jonathanfoucher.databaseexample.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.jonathanfoucher.databaseexample.data.dto.DirectorMovieDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Scope;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.mock.http.MockHttpOutputMessage;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.io.IOException;
+import java.time.LocalDate;
+
+import static com.fasterxml.jackson.databind.PropertyNamingStrategies.SNAKE_CASE;
+import static org.springframework.beans.factory.config.BeanDefinition.SCOPE_PROTOTYPE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.http.MediaType.APPLICATION_CBOR;
+
+@SpringJUnitConfig({BinaryFormatConfiguration.class, BinaryFormatConfigurationTest.ObjectMapperConfiguration.class})
+class BinaryFormatConfigurationTest {
+    @Autowired
+    private MappingJackson2CborHttpMessageConverter cborHttpMessageConverter;
+    @Autowired
+    private MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter;
+
+    private static final DirectorMovieDto MOVIE = new DirectorMovieDto(5L, "Some movie", LocalDate.of(2022, 8, 26));
+
+    @Configuration
+    static class ObjectMapperConfiguration {
+        @Bean
+        @Scope(SCOPE_PROTOTYPE)
+        Jackson2ObjectMapperBuilder objectMapperBuilder() {
+            return Jackson2ObjectMapperBuilder.json()
+                    .modules(new JavaTimeModule())
+                    .propertyNamingStrategy(SNAKE_CASE);
+        }
+    }
+
+    @Test
+    void cborHttpMessageConverter() throws IOException {
+        // WHEN
+        MockHttpOutputMessage message = new MockHttpOutputMessage();
+        cborHttpMessageConverter.write(MOVIE, APPLICATION_CBOR, message);
+
+        // THEN
+        JsonNode movie = cborHttpMessageConverter.getObjectMapper().readTree(message.getBodyAsBytes());
+        checkMovie(movie);
+    }
+
+    @Test
+    void smileHttpMessageConverter() throws IOException {
+        // WHEN
+        MockHttpOutputMessage message = new MockHttpOutputMessage();
+        smileHttpMessageConverter.write(MOVIE, null, message);
+
+        // THEN
+        JsonNode movie = smileHttpMessageConverter.getObjectMapper().readTree(message.getBodyAsBytes());
+        checkMovie(movie);
+    }
+
+    private void checkMovie(JsonNode movie) {
+        assertEquals(5L, movie.get("id").asLong());
+        assertEquals("Some movie", movie.get("title").asText());
+        assertEquals(3, movie.get("release_date").size());
+    }
+}
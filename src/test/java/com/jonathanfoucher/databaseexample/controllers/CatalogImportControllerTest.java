@@ -0,0 +1,153 @@
+package com.jonathanfoucher.databaseexample.controllers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.jonathanfoucher.databaseexample.common.errors.InvalidImportException;
+import com.jonathanfoucher.databaseexample.controllers.advisers.CustomResponseEntityExceptionHandler;
+import com.jonathanfoucher.databaseexample.data.dto.ImportReportDto;
+import com.jonathanfoucher.databaseexample.services.CatalogImportService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.InputStream;
+import java.util.regex.Pattern;
+
+import static com.fasterxml.jackson.databind.PropertyNamingStrategies.SNAKE_CASE;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.matchesPattern;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(CatalogImportController.class)
+@SpringJUnitConfig({CatalogImportController.class, CustomResponseEntityExceptionHandler.class})
+class CatalogImportControllerTest {
+    private MockMvc mockMvc;
+    @Autowired
+    private CatalogImportController catalogImportController;
+    @Autowired
+    private CustomResponseEntityExceptionHandler customResponseEntityExceptionHandler;
+    @MockitoBean
+    private CatalogImportService catalogImportService;
+
+    private static final String DIRECTORS_IMPORT_PATH = "/imports/directors";
+    private static final String MOVIES_IMPORT_PATH = "/imports/movies";
+    private static final String TEXT_CSV = "text/csv";
+
+    private static final String DIRECTORS_CSV = "id,first_name,last_name\n2,John,Doe\n";
+    private static final String MOVIES_CSV = "id,director_id,title,release_date\n15,2,Some movie,2022-07-19\n";
+
+    private static final Pattern TIMESTAMP_REGEX_PATTERN = Pattern.compile("^\\d{4}-\\d{2}-\\d{2} \\d{2}:\\d{2}:\\d{2}$");
+    private static final String DEFAULT_TYPE = "about:blank";
+
+    private static final ObjectMapper objectMapper;
+
+    static {
+        objectMapper = JsonMapper.builder()
+                .addModule(new JavaTimeModule())
+                .propertyNamingStrategy(SNAKE_CASE)
+                .build();
+    }
+
+    @BeforeEach
+    void init() {
+        mockMvc = MockMvcBuilders.standaloneSetup(catalogImportController)
+                .setControllerAdvice(customResponseEntityExceptionHandler)
+                .setMessageConverters(new MappingJackson2HttpMessageConverter(objectMapper))
+                .build();
+    }
+
+    @Test
+    void importDirectors() throws Exception {
+        // GIVEN
+        ImportReportDto report = initReport("director");
+
+        when(catalogImportService.importDirectors(any()))
+                .thenAnswer(invocation -> {
+                    InputStream csv = invocation.getArgument(0);
+                    assertEquals(DIRECTORS_CSV, new String(csv.readAllBytes(), UTF_8));
+                    return report;
+                });
+
+        // WHEN / THEN
+        mockMvc.perform(post(DIRECTORS_IMPORT_PATH).contentType(TEXT_CSV)
+                        .content(DIRECTORS_CSV))
+                .andExpect(status().isOk())
+                .andExpect(content().string(objectMapper.writeValueAsString(report)));
+
+        verify(catalogImportService, times(1)).importDirectors(any());
+    }
+
+    @Test
+    void importDirectorsWithUnsupportedContentType() throws Exception {
+        // WHEN / THEN
+        mockMvc.perform(post(DIRECTORS_IMPORT_PATH).contentType(APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isUnsupportedMediaType());
+
+        verify(catalogImportService, never()).importDirectors(any());
+    }
+
+    @Test
+    void importMovies() throws Exception {
+        // GIVEN
+        ImportReportDto report = initReport("movie");
+
+        when(catalogImportService.importMovies(any()))
+                .thenReturn(report);
+
+        // WHEN / THEN
+        mockMvc.perform(post(MOVIES_IMPORT_PATH).contentType(TEXT_CSV)
+                        .content(MOVIES_CSV))
+                .andExpect(status().isOk())
+                .andExpect(content().string(objectMapper.writeValueAsString(report)));
+
+        ArgumentCaptor<InputStream> capturedCsv = ArgumentCaptor.forClass(InputStream.class);
+        verify(catalogImportService, times(1)).importMovies(capturedCsv.capture());
+    }
+
+    @Test
+    void importMoviesWithInvalidFile() throws Exception {
+        // GIVEN
+        when(catalogImportService.importMovies(any()))
+                .thenThrow(new InvalidImportException("movie", new DataIntegrityViolationException("some error")));
+
+        // WHEN / THEN
+        mockMvc.perform(post(MOVIES_IMPORT_PATH).contentType(TEXT_CSV)
+                        .content(MOVIES_CSV))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.type", equalTo(DEFAULT_TYPE)))
+                .andExpect(jsonPath("$.title", equalTo(BAD_REQUEST.getReasonPhrase())))
+                .andExpect(jsonPath("$.status", equalTo(BAD_REQUEST.value())))
+                .andExpect(jsonPath("$.detail", equalTo("Invalid movie import file : some error")))
+                .andExpect(jsonPath("$.instance", equalTo("uri=/imports/movies")))
+                .andExpect(jsonPath("$.properties.timestamp", matchesPattern(TIMESTAMP_REGEX_PATTERN)));
+
+        verify(catalogImportService, times(1)).importMovies(any());
+    }
+
+    private ImportReportDto initReport(String table) {
+        ImportReportDto report = new ImportReportDto();
+        report.setTable(table);
+        report.setCopiedRowCount(1L);
+        report.setMergedRowCount(1L);
+        report.setDurationMillis(3L);
+        report.setRowsPerSecond(333L);
+        return report;
+    }
+}
@@ -0,0 +1,80 @@
+package com.jonathanfoucher.databaseexample.controllers;
+
+import com.jonathanfoucher.databaseexample.support.EmbeddedPostgresIntegrationTest;
+import com.jonathanfoucher.databaseexample.support.TestDataSeeder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.test.annotation.DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@DirtiesContext(classMode = BEFORE_EACH_TEST_METHOD)
+class CatalogImportSequenceTest extends EmbeddedPostgresIntegrationTest {
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private MockMvc mockMvc;
+
+    private static final int DIRECTOR_COUNT = 5;
+    private static final int MOVIE_COUNT = 20;
+    private static final long BLOCK_START = 100L;
+    private static final int ALLOCATION_SIZE = 50;
+    private static final String MOVIE_JSON = "{\"director_id\":1,\"title\":\"Created movie\",\"release_date\":\"2020-01-01\"}";
+
+    @BeforeEach
+    void init() {
+        new TestDataSeeder(jdbcTemplate).seed(DIRECTOR_COUNT, MOVIE_COUNT);
+        jdbcTemplate.queryForList("select setval('movie_id_seq', ?, false)", BLOCK_START);
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+    }
+
+    @Test
+    void importMovieAtBlockStartThenSaveMovie() throws Exception {
+        // GIVEN
+        importMovie(BLOCK_START);
+
+        // WHEN
+        mockMvc.perform(post("/movies").contentType(APPLICATION_JSON).content(MOVIE_JSON))
+                .andExpect(status().isOk());
+
+        // THEN
+        checkCreatedMovie();
+    }
+
+    @Test
+    void importMovieInsideBlockThenSaveMovie() throws Exception {
+        // GIVEN
+        importMovie(BLOCK_START + 10);
+
+        // WHEN
+        mockMvc.perform(post("/movies").contentType(APPLICATION_JSON).content(MOVIE_JSON))
+                .andExpect(status().isOk());
+
+        // THEN
+        checkCreatedMovie();
+    }
+
+    private void importMovie(long id) throws Exception {
+        mockMvc.perform(post("/imports/movies").contentType("text/csv")
+                        .content("id,director_id,title,release_date\n" + id + ",1,Imported movie,2020-01-01\n"))
+                .andExpect(status().isOk());
+    }
+
+    private void checkCreatedMovie() {
+        assertEquals(MOVIE_COUNT + 2, jdbcTemplate.queryForObject("select count(*) from movie", Integer.class));
+        Long createdId = jdbcTemplate.queryForObject("select id from movie where title = 'Created movie'", Long.class);
+        assertTrue(createdId >= BLOCK_START + ALLOCATION_SIZE);
+    }
+}
@@ -1,56 +1,100 @@
 package com.jonathanfoucher.databaseexample.controllers;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.json.JsonMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.jonathanfoucher.databaseexample.common.errors.DirectorNotFoundException;
+import com.jonathanfoucher.databaseexample.config.BinaryFormatConfiguration;
 import com.jonathanfoucher.databaseexample.controllers.advisers.CustomResponseEntityExceptionHandler;
+import com.jonathanfoucher.databaseexample.controllers.streaming.EntityStreamWriter;
 import com.jonathanfoucher.databaseexample.data.dto.DirectorDto;
+import com.jonathanfoucher.databaseexample.data.dto.DirectorMovieDto;
+import com.jonathanfoucher.databaseexample.data.dto.DirectorSuggestionDto;
+import com.jonathanfoucher.databaseexample.data.dto.DirectorWithMoviesDto;
+import com.jonathanfoucher.databaseexample.services.DirectorAutocompleteService;
 import com.jonathanfoucher.databaseexample.services.DirectorService;
+import com.jonathanfoucher.databaseexample.services.MovieDirectorIndexService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Scope;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.regex.Pattern;
 
 import static com.fasterxml.jackson.databind.PropertyNamingStrategies.SNAKE_CASE;
+import static com.jonathanfoucher.databaseexample.controllers.streaming.EntityStreamWriter.APPLICATION_SMILE;
 import static java.util.Collections.emptyList;
 import static org.hamcrest.Matchers.*;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
+import static org.springframework.beans.factory.config.BeanDefinition.SCOPE_PROTOTYPE;
+import static org.springframework.http.HttpHeaders.*;
 import static org.springframework.http.HttpStatus.INTERNAL_SERVER_ERROR;
 import static org.springframework.http.HttpStatus.NOT_FOUND;
+import static org.springframework.http.MediaType.APPLICATION_CBOR;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(DirectorController.class)
-@SpringJUnitConfig({DirectorController.class, CustomResponseEntityExceptionHandler.class})
+@SpringJUnitConfig({DirectorController.class, CustomResponseEntityExceptionHandler.class, EntityStreamWriter.class, BinaryFormatConfiguration.class, DirectorControllerTest.ObjectMapperConfiguration.class})
 class DirectorControllerTest {
     private MockMvc mockMvc;
     @Autowired
     private DirectorController directorController;
     @Autowired
     private CustomResponseEntityExceptionHandler customResponseEntityExceptionHandler;
+    @Autowired
+    private MappingJackson2CborHttpMessageConverter cborHttpMessageConverter;
+    @Autowired
+    private MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter;
     @MockitoBean
     private DirectorService directorService;
+    @MockitoBean
+    private DirectorAutocompleteService directorAutocompleteService;
+    @MockitoBean
+    private MovieDirectorIndexService movieDirectorIndexService;
 
     private static final String DIRECTOR_BY_ID_PATH = "/directors/{id}";
     private static final String DIRECTORS_ORDERED_PATH = "/directors/ordered";
+    private static final String DIRECTORS_WITH_MOVIES_PATH = "/directors/with-movies";
+    private static final String DIRECTORS_AUTOCOMPLETE_PATH = "/directors/autocomplete";
+    private static final String DIRECTOR_MOVIE_IDS_PATH = "/directors/{id}/movie-ids";
     private static final String DIRECTORS_PATH = "/directors";
+    private static final String DIRECTOR_BATCH_PATH = "/directors/batch";
 
     private static final Long ID = 2L;
     private static final String FIRST_NAME = "John";
     private static final String LAST_NAME = "Doe";
+    private static final ZonedDateTime UPDATED_AT = ZonedDateTime.of(
+            LocalDateTime.of(2024, 3, 11, 21, 58, 34, 358_123_000),
+            ZoneOffset.UTC
+    );
+    private static final String ENTITY_TAG = "\"1710194314358123\"";
+    private static final String LAST_MODIFIED_DATE = "Mon, 11 Mar 2024 21:58:34 GMT";
 
     private static final Pattern TIMESTAMP_REGEX_PATTERN = Pattern.compile("^\\d{4}-\\d{2}-\\d{2} \\d{2}:\\d{2}:\\d{2}$");
     private static final String DEFAULT_TYPE = "about:blank";
@@ -64,6 +108,22 @@ class DirectorControllerTest {
                 .build();
     }
 
+    @Configuration
+    static class ObjectMapperConfiguration {
+        @Bean
+        ObjectMapper objectMapper() {
+            return objectMapper;
+        }
+
+        @Bean
+        @Scope(SCOPE_PROTOTYPE)
+        Jackson2ObjectMapperBuilder objectMapperBuilder() {
+            return Jackson2ObjectMapperBuilder.json()
+                    .modules(new JavaTimeModule())
+                    .propertyNamingStrategy(SNAKE_CASE);
+        }
+    }
+
     @BeforeEach
     void init() {
         mockMvc = MockMvcBuilders.standaloneSetup(directorController)
@@ -83,11 +143,80 @@ class DirectorControllerTest {
         // WHEN / THEN
         mockMvc.perform(get(DIRECTOR_BY_ID_PATH, ID))
                 .andExpect(status().isOk())
+                .andExpect(header().string(ETAG, ENTITY_TAG))
+                .andExpect(header().string(LAST_MODIFIED, LAST_MODIFIED_DATE))
+                .andExpect(content().string(objectMapper.writeValueAsString(director)));
+
+        verify(directorService, times(1)).findById(ID);
+        verify(directorService, never()).findUpdatedAtById(ID);
+    }
+
+    @Test
+    void findByIdWithMatchingEntityTag() throws Exception {
+        // GIVEN
+        when(directorService.findUpdatedAtById(ID))
+                .thenReturn(UPDATED_AT);
+
+        // WHEN / THEN
+        mockMvc.perform(get(DIRECTOR_BY_ID_PATH, ID).header(IF_NONE_MATCH, ENTITY_TAG))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(ETAG, ENTITY_TAG))
+                .andExpect(content().string(emptyString()));
+
+        verify(directorService, times(1)).findUpdatedAtById(ID);
+        verify(directorService, never()).findById(ID);
+    }
+
+    @Test
+    void findByIdWithUnmodifiedSince() throws Exception {
+        // GIVEN
+        when(directorService.findUpdatedAtById(ID))
+                .thenReturn(UPDATED_AT);
+
+        // WHEN / THEN
+        mockMvc.perform(get(DIRECTOR_BY_ID_PATH, ID).header(IF_MODIFIED_SINCE, LAST_MODIFIED_DATE))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(emptyString()));
+
+        verify(directorService, times(1)).findUpdatedAtById(ID);
+        verify(directorService, never()).findById(ID);
+    }
+
+    @Test
+    void findByIdWithStaleEntityTag() throws Exception {
+        // GIVEN
+        DirectorDto director = initDirector();
+
+        when(directorService.findUpdatedAtById(ID))
+                .thenReturn(UPDATED_AT);
+        when(directorService.findById(ID))
+                .thenReturn(director);
+
+        // WHEN / THEN
+        mockMvc.perform(get(DIRECTOR_BY_ID_PATH, ID).header(IF_NONE_MATCH, "\"1\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(ETAG, ENTITY_TAG))
                 .andExpect(content().string(objectMapper.writeValueAsString(director)));
 
+        verify(directorService, times(1)).findUpdatedAtById(ID);
         verify(directorService, times(1)).findById(ID);
     }
 
+    @Test
+    void findByIdWithEntityTagAndDirectorNotFound() throws Exception {
+        // GIVEN
+        when(directorService.findUpdatedAtById(ID))
+                .thenThrow(new DirectorNotFoundException(ID));
+
+        // WHEN / THEN
+        mockMvc.perform(get(DIRECTOR_BY_ID_PATH, ID).header(IF_NONE_MATCH, ENTITY_TAG))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.detail", equalTo("Director with id 2 not found")));
+
+        verify(directorService, times(1)).findUpdatedAtById(ID);
+        verify(directorService, never()).findById(ID);
+    }
+
     @Test
     void findByIdWithDirectorNotFound() throws Exception {
         // GIVEN
@@ -135,59 +264,239 @@ class DirectorControllerTest {
         // GIVEN
         DirectorDto director = initDirector();
 
-        when(directorService.findAllByOrderByLastNameAscFirstNameAsc())
-                .thenReturn(List.of(director));
+        doAnswer(invocation -> {
+            Consumer<DirectorDto> consumer = invocation.getArgument(0);
+            consumer.accept(director);
+            return null;
+        }).when(directorService).findAllByOrderByLastNameAscFirstNameAsc(any());
 
         // WHEN / THEN
-        mockMvc.perform(get(DIRECTORS_ORDERED_PATH))
+        MvcResult result = mockMvc.perform(get(DIRECTORS_ORDERED_PATH))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk())
+                .andExpect(content().contentType(APPLICATION_JSON))
                 .andExpect(content().string(objectMapper.writeValueAsString(List.of(director))));
 
-        verify(directorService, times(1)).findAllByOrderByLastNameAscFirstNameAsc();
+        verify(directorService, times(1)).findAllByOrderByLastNameAscFirstNameAsc(any());
+    }
+
+    @Test
+    void findAllByOrderByLastNameAscFirstNameAscAsCbor() throws Exception {
+        // GIVEN
+        DirectorDto director = initDirector();
+
+        doAnswer(invocation -> {
+            Consumer<DirectorDto> consumer = invocation.getArgument(0);
+            consumer.accept(director);
+            return null;
+        }).when(directorService).findAllByOrderByLastNameAscFirstNameAsc(any());
+
+        // WHEN / THEN
+        MvcResult result = mockMvc.perform(get(DIRECTORS_ORDERED_PATH).accept(APPLICATION_CBOR))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        MvcResult dispatchResult = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(APPLICATION_CBOR))
+                .andReturn();
+
+        JsonNode directors = cborHttpMessageConverter.getObjectMapper().readTree(dispatchResult.getResponse().getContentAsByteArray());
+        assertEquals(1, directors.size());
+        assertEquals(ID, directors.get(0).get("id").asLong());
+        assertEquals(FIRST_NAME, directors.get(0).get("first_name").asText());
+        assertEquals(LAST_NAME, directors.get(0).get("last_name").asText());
+
+        verify(directorService, times(1)).findAllByOrderByLastNameAscFirstNameAsc(any());
+    }
+
+    @Test
+    void findAllByOrderByLastNameAscFirstNameAscAsSmile() throws Exception {
+        // GIVEN
+        DirectorDto director = initDirector();
+
+        doAnswer(invocation -> {
+            Consumer<DirectorDto> consumer = invocation.getArgument(0);
+            consumer.accept(director);
+            return null;
+        }).when(directorService).findAllByOrderByLastNameAscFirstNameAsc(any());
+
+        // WHEN / THEN
+        MvcResult result = mockMvc.perform(get(DIRECTORS_ORDERED_PATH).accept(APPLICATION_SMILE))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        MvcResult dispatchResult = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(APPLICATION_SMILE))
+                .andReturn();
+
+        JsonNode directors = smileHttpMessageConverter.getObjectMapper().readTree(dispatchResult.getResponse().getContentAsByteArray());
+        assertEquals(1, directors.size());
+        assertEquals(FIRST_NAME, directors.get(0).get("first_name").asText());
+        assertEquals(LAST_NAME, directors.get(0).get("last_name").asText());
+
+        verify(directorService, times(1)).findAllByOrderByLastNameAscFirstNameAsc(any());
     }
 
     @Test
     void findAllByOrderByLastNameAscFirstNameAscWithoutResult() throws Exception {
+        // WHEN / THEN
+        MvcResult result = mockMvc.perform(get(DIRECTORS_ORDERED_PATH))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().string(objectMapper.writeValueAsString(emptyList())));
+
+        verify(directorService, times(1)).findAllByOrderByLastNameAscFirstNameAsc(any());
+    }
+
+    @Test
+    void streamAllWithMovies() throws Exception {
+        // GIVEN
+        DirectorWithMoviesDto director = new DirectorWithMoviesDto(ID, FIRST_NAME, LAST_NAME,
+                List.of(new DirectorMovieDto(5L, "Some movie", LocalDate.of(2022, 8, 26))));
+
+        doAnswer(invocation -> {
+            Consumer<DirectorWithMoviesDto> consumer = invocation.getArgument(0);
+            consumer.accept(director);
+            return null;
+        }).when(directorService).streamAllWithMovies(any());
+
+        // WHEN / THEN
+        MvcResult result = mockMvc.perform(get(DIRECTORS_WITH_MOVIES_PATH))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(APPLICATION_JSON))
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id").value(ID))
+                .andExpect(jsonPath("$[0].first_name").value(FIRST_NAME))
+                .andExpect(jsonPath("$[0].last_name").value(LAST_NAME))
+                .andExpect(jsonPath("$[0].movies", hasSize(1)))
+                .andExpect(jsonPath("$[0].movies[0].id").value(5))
+                .andExpect(jsonPath("$[0].movies[0].title").value("Some movie"))
+                .andExpect(content().string(objectMapper.writeValueAsString(List.of(director))));
+
+        verify(directorService, times(1)).streamAllWithMovies(any());
+        verify(directorService, never()).findById(any());
+    }
+
+    @Test
+    void findByPrefix() throws Exception {
+        // GIVEN
+        List<DirectorSuggestionDto> suggestions = List.of(new DirectorSuggestionDto(ID, FIRST_NAME, LAST_NAME));
+
+        when(directorAutocompleteService.findByPrefix("do", null))
+                .thenReturn(suggestions);
+
+        // WHEN / THEN
+        mockMvc.perform(get(DIRECTORS_AUTOCOMPLETE_PATH).param("prefix", "do"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(objectMapper.writeValueAsString(suggestions)));
+
+        verify(directorAutocompleteService, times(1)).findByPrefix("do", null);
+        verifyNoInteractions(directorService);
+    }
+
+    @Test
+    void findMovieIdsById() throws Exception {
+        // GIVEN
+        when(movieDirectorIndexService.findMovieIdsByDirectorId(ID))
+                .thenReturn(new long[]{3L, 7L, 12L});
+
+        // WHEN / THEN
+        mockMvc.perform(get(DIRECTOR_MOVIE_IDS_PATH, ID))
+                .andExpect(status().isOk())
+                .andExpect(content().string("[3,7,12]"));
+
+        verify(movieDirectorIndexService, times(1)).findMovieIdsByDirectorId(ID);
+        verifyNoInteractions(directorService);
+    }
+
+    @Test
+    void findMovieIdsByIdWithoutMovie() throws Exception {
         // GIVEN
-        when(directorService.findAllByOrderByLastNameAscFirstNameAsc())
+        when(movieDirectorIndexService.findMovieIdsByDirectorId(ID))
+                .thenReturn(new long[0]);
+
+        // WHEN / THEN
+        mockMvc.perform(get(DIRECTOR_MOVIE_IDS_PATH, ID))
+                .andExpect(status().isOk())
+                .andExpect(content().string("[]"));
+
+        verify(movieDirectorIndexService, times(1)).findMovieIdsByDirectorId(ID);
+    }
+
+    @Test
+    void findByPrefixWithSize() throws Exception {
+        // GIVEN
+        when(directorAutocompleteService.findByPrefix("do", 5))
                 .thenReturn(emptyList());
 
         // WHEN / THEN
-        mockMvc.perform(get(DIRECTORS_ORDERED_PATH))
+        mockMvc.perform(get(DIRECTORS_AUTOCOMPLETE_PATH).param("prefix", "do").param("size", "5"))
                 .andExpect(status().isOk())
                 .andExpect(content().string(objectMapper.writeValueAsString(emptyList())));
 
-        verify(directorService, times(1)).findAllByOrderByLastNameAscFirstNameAsc();
+        verify(directorAutocompleteService, times(1)).findByPrefix("do", 5);
+    }
+
+    @Test
+    void findByPrefixWithoutPrefix() throws Exception {
+        // WHEN / THEN
+        mockMvc.perform(get(DIRECTORS_AUTOCOMPLETE_PATH))
+                .andExpect(status().isBadRequest());
+
+        verify(directorAutocompleteService, never()).findByPrefix(any(), any());
     }
 
     @Test
     void findByLastName() throws Exception {
         // GIVEN
         DirectorDto director = initDirector();
+        DirectorDto otherDirector = initDirector();
+        otherDirector.setId(ID + 1);
 
-        when(directorService.findByLastName(LAST_NAME))
-                .thenReturn(List.of(director));
+        doAnswer(invocation -> {
+            Consumer<DirectorDto> consumer = invocation.getArgument(1);
+            consumer.accept(director);
+            consumer.accept(otherDirector);
+            return null;
+        }).when(directorService).findByLastName(eq(LAST_NAME), any());
 
         // WHEN / THEN
-        mockMvc.perform(get(DIRECTORS_PATH).queryParam("last_name", LAST_NAME))
+        MvcResult result = mockMvc.perform(get(DIRECTORS_PATH).queryParam("last_name", LAST_NAME))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk())
-                .andExpect(content().string(objectMapper.writeValueAsString(List.of(director))));
+                .andExpect(content().contentType(APPLICATION_JSON))
+                .andExpect(content().string(objectMapper.writeValueAsString(List.of(director, otherDirector))));
 
-        verify(directorService, times(1)).findByLastName(LAST_NAME);
+        verify(directorService, times(1)).findByLastName(eq(LAST_NAME), any());
     }
 
     @Test
     void findByLastNameWithoutResult() throws Exception {
-        // GIVEN
-        when(directorService.findByLastName(LAST_NAME))
-                .thenReturn(emptyList());
-
         // WHEN / THEN
-        mockMvc.perform(get(DIRECTORS_PATH).queryParam("last_name", LAST_NAME))
+        MvcResult result = mockMvc.perform(get(DIRECTORS_PATH).queryParam("last_name", LAST_NAME))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk())
                 .andExpect(content().string(objectMapper.writeValueAsString(emptyList())));
 
-        verify(directorService, times(1)).findByLastName(LAST_NAME);
+        verify(directorService, times(1)).findByLastName(eq(LAST_NAME), any());
     }
 
     @Test
@@ -208,6 +517,26 @@ class DirectorControllerTest {
         checkDirector(savedDirector);
     }
 
+    @Test
+    void saveAll() throws Exception {
+        // GIVEN
+        DirectorDto director = initDirector();
+
+        // WHEN / THEN
+        mockMvc.perform(post(DIRECTOR_BATCH_PATH).contentType(APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(director, director))))
+                .andExpect(status().isOk())
+                .andExpect(content().string(emptyString()));
+
+        ArgumentCaptor<List<DirectorDto>> capturedDirectors = ArgumentCaptor.forClass(List.class);
+        verify(directorService, times(1)).saveAll(capturedDirectors.capture());
+
+        List<DirectorDto> savedDirectors = capturedDirectors.getValue();
+        assertEquals(2, savedDirectors.size());
+        checkDirector(savedDirectors.getFirst());
+        checkDirector(savedDirectors.getLast());
+    }
+
     @Test
     void deleteById() throws Exception {
         // WHEN / THEN
@@ -244,6 +573,7 @@ class DirectorControllerTest {
         director.setId(ID);
         director.setFirstName(FIRST_NAME);
         director.setLastName(LAST_NAME);
+        director.setUpdatedAt(UPDATED_AT);
         return director;
     }
 
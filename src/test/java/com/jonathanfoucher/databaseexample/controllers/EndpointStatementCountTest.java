@@ -0,0 +1,425 @@
+package com.jonathanfoucher.databaseexample.controllers;
+
+import com.jonathanfoucher.databaseexample.controllers.conditional.ConditionalResponses;
+import com.jonathanfoucher.databaseexample.support.EmbeddedPostgresIntegrationTest;
+import com.jonathanfoucher.databaseexample.support.StatementRecorder;
+import com.jonathanfoucher.databaseexample.support.StatementRecorder.RecordedStatement;
+import com.jonathanfoucher.databaseexample.support.TestDataSeeder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultMatcher;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.http.HttpHeaders.IF_NONE_MATCH;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@Import(StatementRecorder.class)
+class EndpointStatementCountTest extends EmbeddedPostgresIntegrationTest {
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+    @Autowired
+    private StatementRecorder statementRecorder;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private MockMvc mockMvc;
+
+    private static final int DIRECTOR_COUNT = 5;
+    private static final int MOVIE_COUNT = 20;
+    private static final Long ID = 2L;
+    private static final Long DIRECTOR_WITHOUT_MOVIE_ID = 100L;
+    private static final String SEQUENCE_STATEMENT_PREFIX = "select nextval(";
+    private static final String MOVIE_JSON = "{\"director_id\":1,\"title\":\"Some movie\",\"release_date\":\"2020-01-01\"}";
+    private static final String DIRECTOR_JSON = "{\"first_name\":\"John\",\"last_name\":\"Doe\"}";
+
+    @BeforeEach
+    void init() {
+        new TestDataSeeder(jdbcTemplate).seed(DIRECTOR_COUNT, MOVIE_COUNT);
+        entityManagerFactory.getCache().evictAll();
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+    }
+
+    @Test
+    void findMovieById() {
+        // WHEN
+        List<RecordedStatement> statements = record(get("/movies/{id}", ID), status().isOk());
+
+        // THEN
+        assertStatements(statements, 1, 1);
+    }
+
+    @Test
+    void findMovieByIdNotModified() {
+        // GIVEN
+        String entityTag = entityTag("movie", ID);
+
+        // WHEN
+        List<RecordedStatement> statements = record(get("/movies/{id}", ID).header(IF_NONE_MATCH, entityTag), status().isNotModified());
+
+        // THEN
+        assertStatements(statements, 1, 1);
+    }
+
+    @Test
+    void findAllMoviesFiltered() {
+        // WHEN
+        List<RecordedStatement> statements = record(get("/movies"), status().isOk());
+
+        // THEN
+        assertStatements(statements, 2, 20);
+    }
+
+    @Test
+    void findAllMoviesFilteredWithoutCount() {
+        // WHEN
+        List<RecordedStatement> statements = record(get("/movies").param("count", "none").param("size", "10"),
+                ResultMatcher.matchAll(status().isOk(), jsonPath("$.has_next").value(true)));
+
+        // THEN
+        assertStatements(statements, 1, 11);
+    }
+
+    @Test
+    void findAllMoviesFilteredWithEstimatedCount() {
+        // WHEN
+        List<RecordedStatement> statements = record(get("/movies").param("count", "estimate").param("size", "10"),
+                ResultMatcher.matchAll(status().isOk(), jsonPath("$.total_elements").value(MOVIE_COUNT)));
+
+        // THEN
+        assertStatements(statements, 2, 11);
+    }
+
+    @Test
+    void findAllMoviesFilteredByCursor() {
+        // WHEN
+        List<RecordedStatement> statements = record(get("/movies").param("cursor", "").param("size", "10"), status().isOk());
+
+        // THEN
+        assertStatements(statements, 1, 11);
+    }
+
+    @Test
+    void findAllMovieDirectorLinks() {
+        // WHEN
+        List<RecordedStatement> statements = record(get("/movies/directors/links"), status().isOk());
+
+        // THEN
+        assertStatements(statements, 0, 0);
+    }
+
+    @Test
+    void findAllFlatMovieDirectors() {
+        // WHEN
+        List<RecordedStatement> statements = record(get("/movies/directors").accept(APPLICATION_JSON), status().isOk());
+
+        // THEN
+        assertStatements(statements, 1, MOVIE_COUNT);
+    }
+
+    @Test
+    void streamAllFlatMovieDirectors() {
+        // WHEN
+        List<RecordedStatement> statements = record(get("/movies/directors").accept(APPLICATION_NDJSON), status().isOk());
+
+        // THEN
+        assertStatements(statements, 1, MOVIE_COUNT);
+    }
+
+    @Test
+    void saveMovieCreated() {
+        // WHEN
+        List<RecordedStatement> statements = record(post("/movies").contentType(APPLICATION_JSON).content(MOVIE_JSON), status().isOk());
+
+        // THEN
+        assertStatements(statements, 1, 0);
+    }
+
+    @Test
+    void saveMovieUpdated() {
+        // WHEN
+        List<RecordedStatement> statements = record(post("/movies").contentType(APPLICATION_JSON)
+                .content(MOVIE_JSON.replace("{", "{\"id\":" + ID + ",")), status().isOk());
+
+        // THEN
+        assertStatements(statements, 1, 1);
+    }
+
+    @Test
+    void saveAllMovies() {
+        // WHEN
+        List<RecordedStatement> statements = record(post("/movies/batch").contentType(APPLICATION_JSON)
+                .content("[" + MOVIE_JSON + "," + MOVIE_JSON + "," + MOVIE_JSON + "]"), status().isOk());
+
+        // THEN
+        assertStatements(statements, 1, 0);
+    }
+
+    @Test
+    void deleteMovieById() {
+        // WHEN
+        List<RecordedStatement> statements = record(delete("/movies/{id}", ID), status().isOk());
+
+        // THEN
+        assertStatements(statements, 1, 1);
+    }
+
+    @Test
+    void findDirectorById() {
+        // WHEN
+        List<RecordedStatement> statements = record(get("/directors/{id}", ID), status().isOk());
+
+        // THEN
+        assertStatements(statements, 1, 1);
+    }
+
+    @Test
+    void findDirectorByIdNotModified() {
+        // GIVEN
+        String entityTag = entityTag("director", ID);
+
+        // WHEN
+        List<RecordedStatement> statements = record(get("/directors/{id}", ID).header(IF_NONE_MATCH, entityTag), status().isNotModified());
+
+        // THEN
+        assertStatements(statements, 1, 1);
+    }
+
+    @Test
+    void findAllDirectorsByOrderByLastNameAscFirstNameAsc() {
+        // WHEN
+        List<RecordedStatement> statements = record(get("/directors/ordered"), status().isOk());
+
+        // THEN
+        assertStatements(statements, 1, DIRECTOR_COUNT);
+    }
+
+    @Test
+    void streamAllDirectorsWithMovies() {
+        // WHEN
+        List<RecordedStatement> statements = record(get("/directors/with-movies"), status().isOk());
+
+        // THEN
+        assertStatements(statements, 1, MOVIE_COUNT);
+    }
+
+    @Test
+    void findDirectorsByPrefix() {
+        // WHEN
+        List<RecordedStatement> statements = record(get("/directors/autocomplete").param("prefix", "last_name_1"), status().isOk());
+
+        // THEN
+        assertStatements(statements, 0, 0);
+    }
+
+    @Test
+    void findMovieIdsByDirectorId() {
+        // WHEN
+        List<RecordedStatement> statements = record(get("/directors/{id}/movie-ids", ID), status().isOk());
+
+        // THEN
+        assertStatements(statements, 0, 0);
+    }
+
+    @Test
+    void findDirectorsByLastName() {
+        // WHEN
+        List<RecordedStatement> statements = record(get("/directors").param("last_name", "last_name_1"), status().isOk());
+
+        // THEN
+        assertStatements(statements, 1, 1);
+    }
+
+    @Test
+    void saveDirectorCreated() {
+        // WHEN
+        List<RecordedStatement> statements = record(post("/directors").contentType(APPLICATION_JSON).content(DIRECTOR_JSON), status().isOk());
+
+        // THEN
+        assertStatements(statements, 1, 0);
+    }
+
+    @Test
+    void saveDirectorUpdated() {
+        // WHEN
+        List<RecordedStatement> statements = record(post("/directors").contentType(APPLICATION_JSON)
+                .content(DIRECTOR_JSON.replace("{", "{\"id\":" + ID + ",")), status().isOk());
+
+        // THEN
+        assertStatements(statements, 1, 1);
+    }
+
+    @Test
+    void saveAllDirectors() {
+        // WHEN
+        List<RecordedStatement> statements = record(post("/directors/batch").contentType(APPLICATION_JSON)
+                .content("[" + DIRECTOR_JSON + "," + DIRECTOR_JSON + "," + DIRECTOR_JSON + "]"), status().isOk());
+
+        // THEN
+        assertStatements(statements, 1, 0);
+    }
+
+    @Test
+    void deleteDirectorById() {
+        // GIVEN
+        jdbcTemplate.update("insert into director (id, first_name, last_name, updated_at) values (?, 'John', 'Doe', now())", DIRECTOR_WITHOUT_MOVIE_ID);
+
+        // WHEN
+        List<RecordedStatement> statements = record(delete("/directors/{id}", DIRECTOR_WITHOUT_MOVIE_ID), status().isOk());
+
+        // THEN
+        assertStatements(statements, 1, 1);
+    }
+
+    @Test
+    void saveMovieUpdatedWithinBudget() {
+        // GIVEN
+        RequestBuilder request = post("/movies").contentType(APPLICATION_JSON)
+                .content(MOVIE_JSON.replace("{", "{\"id\":" + ID + ","));
+
+        // WHEN / THEN
+        assertWithinBudget("POST", "/movies", request, 1);
+    }
+
+    @Test
+    void deleteMovieByIdWithinBudget() {
+        // WHEN / THEN
+        assertWithinBudget("DELETE", "/movies/{id}", delete("/movies/{id}", ID), 1);
+    }
+
+    @Test
+    void saveDirectorUpdatedWithinBudget() {
+        // GIVEN
+        RequestBuilder request = post("/directors").contentType(APPLICATION_JSON)
+                .content(DIRECTOR_JSON.replace("{", "{\"id\":" + ID + ","));
+
+        // WHEN / THEN
+        assertWithinBudget("POST", "/directors", request, 1);
+    }
+
+    @Test
+    void deleteDirectorByIdWithinBudget() {
+        // GIVEN
+        jdbcTemplate.update("insert into director (id, first_name, last_name, updated_at) values (?, 'John', 'Doe', now())", DIRECTOR_WITHOUT_MOVIE_ID);
+
+        // WHEN / THEN
+        assertWithinBudget("DELETE", "/directors/{id}", delete("/directors/{id}", DIRECTOR_WITHOUT_MOVIE_ID), 1);
+    }
+
+    @Test
+    void findChangesSince() {
+        // WHEN
+        List<RecordedStatement> statements = record(get("/sync"), status().isOk());
+
+        // THEN
+        assertStatements(statements, 4, DIRECTOR_COUNT + MOVIE_COUNT);
+    }
+
+    @Test
+    void search() {
+        // WHEN
+        List<RecordedStatement> statements = record(get("/search").param("q", "title_1").param("size", "10"), status().isOk());
+
+        // THEN
+        assertStatements(statements, 1, 11);
+    }
+
+    @Test
+    void importDirectors() {
+        // WHEN
+        List<RecordedStatement> statements = record(post("/imports/directors").contentType("text/csv")
+                .content("id,first_name,last_name\n100,John,Doe\n"), status().isOk());
+
+        // THEN
+        assertStatements(statements, 4, DIRECTOR_COUNT + 1);
+    }
+
+    @Test
+    void importMovies() {
+        // WHEN
+        List<RecordedStatement> statements = record(post("/imports/movies").contentType("text/csv")
+                .content("id,director_id,title,release_date\n100,1,Some movie,2020-01-01\n"), status().isOk());
+
+        // THEN
+        assertStatements(statements, 4, MOVIE_COUNT + 1);
+    }
+
+    private List<RecordedStatement> record(RequestBuilder request, ResultMatcher expectedStatus) {
+        return statementRecorder.recordStatements(() -> {
+            try {
+                MvcResult result = mockMvc.perform(request).andReturn();
+                if (result.getRequest().isAsyncStarted()) {
+                    mockMvc.perform(asyncDispatch(result)).andExpect(expectedStatus);
+                } else {
+                    expectedStatus.match(result);
+                }
+            } catch (Exception exception) {
+                throw new IllegalStateException(exception);
+            }
+        });
+    }
+
+    private void assertStatements(List<RecordedStatement> statements, int expectedStatementCount, int maxRowsPerStatement) {
+        List<RecordedStatement> statementsWithoutSequences = statements.stream()
+                .filter(statement -> !statement.sql().startsWith(SEQUENCE_STATEMENT_PREFIX))
+                .toList();
+        assertThat(statementsWithoutSequences)
+                .as("statements")
+                .hasSize(expectedStatementCount);
+        assertThat(statementsWithoutSequences)
+                .as("rows fetched per statement")
+                .allSatisfy(statement -> assertThat(statement.rows().get()).as(statement.sql()).isLessThanOrEqualTo(maxRowsPerStatement));
+    }
+
+    private void assertWithinBudget(String method, String uri, RequestBuilder request, int expectedStatementCount) {
+        double countedStatements = countedStatements(method, uri);
+        double exceededBudgets = exceededBudgets(method, uri);
+
+        List<RecordedStatement> statements = record(request, status().isOk());
+
+        assertThat(statements).hasSize(expectedStatementCount);
+        assertThat(countedStatements(method, uri) - countedStatements)
+                .as("statements counted against the budget")
+                .isEqualTo(expectedStatementCount);
+        assertThat(exceededBudgets(method, uri))
+                .as("exceeded budgets")
+                .isEqualTo(exceededBudgets);
+    }
+
+    private double countedStatements(String method, String uri) {
+        DistributionSummary summary = meterRegistry.find("database.request.statements").tags("method", method, "uri", uri).summary();
+        return summary != null ? summary.totalAmount() : 0;
+    }
+
+    private double exceededBudgets(String method, String uri) {
+        Counter counter = meterRegistry.find("database.request.budget.exceeded").tags("method", method, "uri", uri).counter();
+        return counter != null ? counter.count() : 0;
+    }
+
+    private String entityTag(String table, Long id) {
+        OffsetDateTime updatedAt = jdbcTemplate.queryForObject("select updated_at from " + table + " where id = ?", OffsetDateTime.class, id);
+        return ConditionalResponses.entityTag(updatedAt.toZonedDateTime());
+    }
+}
@@ -0,0 +1,73 @@
+package com.jonathanfoucher.databaseexample.controllers;
+
+import com.jonathanfoucher.databaseexample.support.EmbeddedPostgresIntegrationTest;
+import com.jonathanfoucher.databaseexample.support.TestDataSeeder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.http.MediaType.TEXT_EVENT_STREAM;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@DirtiesContext
+class MovieChangeStreamTest extends EmbeddedPostgresIntegrationTest {
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private MockMvc mockMvc;
+
+    private static final int DIRECTOR_COUNT = 5;
+    private static final int MOVIE_COUNT = 20;
+    private static final String MOVIES_JSON = """
+            [{"director_id":1,"title":"Batch movie 1","release_date":"2020-01-01"},
+            {"director_id":2,"title":"Batch movie 2","release_date":"2020-01-02"}]
+            """;
+
+    @BeforeEach
+    void init() {
+        new TestDataSeeder(jdbcTemplate).seed(DIRECTOR_COUNT, MOVIE_COUNT);
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+    }
+
+    @Test
+    void streamChangesWithBatchSave() throws Exception {
+        // GIVEN
+        MockHttpServletResponse stream = mockMvc.perform(get("/movies/changes/stream").accept(TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn()
+                .getResponse();
+
+        // WHEN
+        mockMvc.perform(post("/movies/batch").contentType(APPLICATION_JSON).content(MOVIES_JSON))
+                .andExpect(status().isOk());
+
+        // THEN
+        String events = waitForEvents(stream, 2);
+        assertThat(events).contains("\"title\":\"Batch movie 1\"", "\"title\":\"Batch movie 2\"");
+    }
+
+    private String waitForEvents(MockHttpServletResponse stream, int count) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        String events = stream.getContentAsString();
+        while (events.split("event:movie", -1).length <= count && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            events = stream.getContentAsString();
+        }
+        return events;
+    }
+}
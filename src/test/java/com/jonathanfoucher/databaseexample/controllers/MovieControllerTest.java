@@ -1,28 +1,45 @@
 package com.jonathanfoucher.databaseexample.controllers;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.json.JsonMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.jonathanfoucher.databaseexample.common.errors.InvalidCursorException;
 import com.jonathanfoucher.databaseexample.common.errors.MovieNotFoundException;
+import com.jonathanfoucher.databaseexample.config.BinaryFormatConfiguration;
 import com.jonathanfoucher.databaseexample.controllers.advisers.CustomResponseEntityExceptionHandler;
+import com.jonathanfoucher.databaseexample.controllers.streaming.EntityStreamWriter;
+import com.jonathanfoucher.databaseexample.data.dto.CursorPageDto;
 import com.jonathanfoucher.databaseexample.data.dto.FlatMovieDirectorDto;
 import com.jonathanfoucher.databaseexample.data.dto.MovieDirectorLink;
 import com.jonathanfoucher.databaseexample.data.dto.MovieDto;
+import com.jonathanfoucher.databaseexample.services.MovieChangeStreamService;
+import com.jonathanfoucher.databaseexample.services.MovieDirectorIndexService;
 import com.jonathanfoucher.databaseexample.services.MovieService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Scope;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -30,35 +47,54 @@ import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.regex.Pattern;
 
 import static com.fasterxml.jackson.databind.PropertyNamingStrategies.SNAKE_CASE;
+import static com.jonathanfoucher.databaseexample.controllers.streaming.EntityStreamWriter.APPLICATION_SMILE;
 import static java.util.Collections.emptyList;
 import static org.hamcrest.Matchers.*;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
+import static org.springframework.beans.factory.config.BeanDefinition.SCOPE_PROTOTYPE;
+import static org.springframework.http.HttpHeaders.*;
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
 import static org.springframework.http.HttpStatus.INTERNAL_SERVER_ERROR;
 import static org.springframework.http.HttpStatus.NOT_FOUND;
+import static org.springframework.http.MediaType.APPLICATION_CBOR;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON;
+import static org.springframework.http.MediaType.TEXT_EVENT_STREAM;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(MovieController.class)
-@SpringJUnitConfig({MovieController.class, CustomResponseEntityExceptionHandler.class})
+@SpringJUnitConfig({MovieController.class, CustomResponseEntityExceptionHandler.class, EntityStreamWriter.class, BinaryFormatConfiguration.class, MovieControllerTest.ObjectMapperConfiguration.class})
 class MovieControllerTest {
     private MockMvc mockMvc;
     @Autowired
     private MovieController movieController;
     @Autowired
     private CustomResponseEntityExceptionHandler customResponseEntityExceptionHandler;
+    @Autowired
+    private MappingJackson2CborHttpMessageConverter cborHttpMessageConverter;
+    @Autowired
+    private MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter;
     @MockitoBean
     private MovieService movieService;
+    @MockitoBean
+    private MovieChangeStreamService movieChangeStreamService;
+    @MockitoBean
+    private MovieDirectorIndexService movieDirectorIndexService;
 
     private static final String MOVIE_BY_ID_PATH = "/movies/{id}";
     private static final String MOVIES_PATH = "/movies";
+    private static final String MOVIE_BATCH_PATH = "/movies/batch";
     private static final String MOVIE_DIRECTOR_LINKS_PATH = "/movies/directors/links";
     private static final String FLAT_MOVIE_DIRECTOR_PATH = "/movies/directors";
+    private static final String MOVIE_CHANGES_STREAM_PATH = "/movies/changes/stream";
 
     private static final Long ID = 15L;
     private static final String TITLE = "Some movie";
@@ -66,6 +102,13 @@ class MovieControllerTest {
     private static final Long DIRECTOR_ID = 2L;
     private static final String FIRST_NAME = "John";
     private static final String LAST_NAME = "Doe";
+    private static final ZonedDateTime UPDATED_AT = ZonedDateTime.of(
+            LocalDateTime.of(2024, 3, 11, 21, 58, 34, 358_123_000),
+            ZoneOffset.UTC
+    );
+    private static final String ENTITY_TAG = "\"1710194314358123\"";
+    private static final String LAST_MODIFIED_DATE = "Mon, 11 Mar 2024 21:58:34 GMT";
+    private static final String CURSOR = "SUR8MTV8MTU";
 
     private static final Pattern TIMESTAMP_REGEX_PATTERN = Pattern.compile("^\\d{4}-\\d{2}-\\d{2} \\d{2}:\\d{2}:\\d{2}$");
     private static final String DEFAULT_TYPE = "about:blank";
@@ -79,11 +122,31 @@ class MovieControllerTest {
                 .build();
     }
 
+    @Configuration
+    static class ObjectMapperConfiguration {
+        @Bean
+        ObjectMapper objectMapper() {
+            return objectMapper;
+        }
+
+        @Bean
+        @Scope(SCOPE_PROTOTYPE)
+        Jackson2ObjectMapperBuilder objectMapperBuilder() {
+            return Jackson2ObjectMapperBuilder.json()
+                    .modules(new JavaTimeModule())
+                    .propertyNamingStrategy(SNAKE_CASE);
+        }
+    }
+
     @BeforeEach
     void init() {
         mockMvc = MockMvcBuilders.standaloneSetup(movieController)
                 .setControllerAdvice(customResponseEntityExceptionHandler)
-                .setMessageConverters(new MappingJackson2HttpMessageConverter(objectMapper))
+                .setMessageConverters(
+                        new MappingJackson2HttpMessageConverter(objectMapper),
+                        cborHttpMessageConverter,
+                        smileHttpMessageConverter
+                )
                 .setCustomArgumentResolvers(new PageableHandlerMethodArgumentResolver())
                 .build();
     }
@@ -99,9 +162,78 @@ class MovieControllerTest {
         // WHEN / THEN
         mockMvc.perform(get(MOVIE_BY_ID_PATH, ID))
                 .andExpect(status().isOk())
+                .andExpect(header().string(ETAG, ENTITY_TAG))
+                .andExpect(header().string(LAST_MODIFIED, LAST_MODIFIED_DATE))
                 .andExpect(content().string(objectMapper.writeValueAsString(movie)));
 
         verify(movieService, times(1)).findById(ID);
+        verify(movieService, never()).findUpdatedAtById(ID);
+    }
+
+    @Test
+    void findByIdWithMatchingEntityTag() throws Exception {
+        // GIVEN
+        when(movieService.findUpdatedAtById(ID))
+                .thenReturn(UPDATED_AT);
+
+        // WHEN / THEN
+        mockMvc.perform(get(MOVIE_BY_ID_PATH, ID).header(IF_NONE_MATCH, ENTITY_TAG))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(ETAG, ENTITY_TAG))
+                .andExpect(content().string(emptyString()));
+
+        verify(movieService, times(1)).findUpdatedAtById(ID);
+        verify(movieService, never()).findById(ID);
+    }
+
+    @Test
+    void findByIdWithUnmodifiedSince() throws Exception {
+        // GIVEN
+        when(movieService.findUpdatedAtById(ID))
+                .thenReturn(UPDATED_AT);
+
+        // WHEN / THEN
+        mockMvc.perform(get(MOVIE_BY_ID_PATH, ID).header(IF_MODIFIED_SINCE, LAST_MODIFIED_DATE))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(emptyString()));
+
+        verify(movieService, times(1)).findUpdatedAtById(ID);
+        verify(movieService, never()).findById(ID);
+    }
+
+    @Test
+    void findByIdWithStaleEntityTag() throws Exception {
+        // GIVEN
+        MovieDto movie = initMovie();
+
+        when(movieService.findUpdatedAtById(ID))
+                .thenReturn(UPDATED_AT);
+        when(movieService.findById(ID))
+                .thenReturn(movie);
+
+        // WHEN / THEN
+        mockMvc.perform(get(MOVIE_BY_ID_PATH, ID).header(IF_NONE_MATCH, "\"1\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(ETAG, ENTITY_TAG))
+                .andExpect(content().string(objectMapper.writeValueAsString(movie)));
+
+        verify(movieService, times(1)).findUpdatedAtById(ID);
+        verify(movieService, times(1)).findById(ID);
+    }
+
+    @Test
+    void findByIdWithEntityTagAndMovieNotFound() throws Exception {
+        // GIVEN
+        when(movieService.findUpdatedAtById(ID))
+                .thenThrow(new MovieNotFoundException(ID));
+
+        // WHEN / THEN
+        mockMvc.perform(get(MOVIE_BY_ID_PATH, ID).header(IF_NONE_MATCH, ENTITY_TAG))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.detail", equalTo("Movie with id 15 not found")));
+
+        verify(movieService, times(1)).findUpdatedAtById(ID);
+        verify(movieService, never()).findById(ID);
     }
 
     @Test
@@ -228,6 +360,146 @@ class MovieControllerTest {
         verify(movieService, times(1)).findAllFiltered(pageRequest, null, null);
     }
 
+    @Test
+    void findAllFilteredWithoutCount() throws Exception {
+        // GIVEN
+        MovieDto movie = initMovie();
+        PageRequest pageRequest = PageRequest.of(0, 20);
+        Slice<MovieDto> slice = new SliceImpl<>(List.of(movie), pageRequest, true);
+
+        when(movieService.findAllFilteredWithoutCount(pageRequest, null, null))
+                .thenReturn(slice);
+
+        // WHEN / THEN
+        mockMvc.perform(get(MOVIES_PATH).queryParam("count", "none"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(objectMapper.writeValueAsString(slice)))
+                .andExpect(jsonPath("$.content[0].id", equalTo(ID.intValue())))
+                .andExpect(jsonPath("$.total_elements").doesNotExist());
+
+        verify(movieService, times(1)).findAllFilteredWithoutCount(pageRequest, null, null);
+        verify(movieService, never()).findAllFiltered(any(), any(), any());
+    }
+
+    @Test
+    void findAllFilteredWithEstimatedCount() throws Exception {
+        // GIVEN
+        MovieDto movie = initMovie();
+        PageRequest pageRequest = PageRequest.of(0, 20);
+        Page<MovieDto> page = new PageImpl<>(List.of(movie), pageRequest, 1500);
+
+        when(movieService.findAllFilteredWithEstimatedCount(pageRequest, null, null))
+                .thenReturn(page);
+
+        // WHEN / THEN
+        mockMvc.perform(get(MOVIES_PATH).queryParam("count", "estimate"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(objectMapper.writeValueAsString(page)))
+                .andExpect(jsonPath("$.total_elements", equalTo(1500)));
+
+        verify(movieService, times(1)).findAllFilteredWithEstimatedCount(pageRequest, null, null);
+        verify(movieService, never()).findAllFiltered(any(), any(), any());
+    }
+
+    @Test
+    void findAllFilteredWithExactCount() throws Exception {
+        // GIVEN
+        MovieDto movie = initMovie();
+        PageRequest pageRequest = PageRequest.of(0, 20);
+        Page<MovieDto> page = new PageImpl<>(List.of(movie), pageRequest, 1);
+
+        when(movieService.findAllFiltered(pageRequest, null, null))
+                .thenReturn(page);
+
+        // WHEN / THEN
+        mockMvc.perform(get(MOVIES_PATH).queryParam("count", "exact"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(objectMapper.writeValueAsString(page)));
+
+        verify(movieService, times(1)).findAllFiltered(pageRequest, null, null);
+        verify(movieService, never()).findAllFilteredWithoutCount(any(), any(), any());
+        verify(movieService, never()).findAllFilteredWithEstimatedCount(any(), any(), any());
+    }
+
+    @Test
+    void findAllFilteredWithInvalidCountMode() throws Exception {
+        // WHEN / THEN
+        mockMvc.perform(get(MOVIES_PATH).queryParam("count", "approximate"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.type", equalTo(DEFAULT_TYPE)))
+                .andExpect(jsonPath("$.title", equalTo(BAD_REQUEST.getReasonPhrase())))
+                .andExpect(jsonPath("$.status", equalTo(BAD_REQUEST.value())))
+                .andExpect(jsonPath("$.detail", equalTo("Invalid count mode approximate")));
+
+        verifyNoInteractions(movieService);
+    }
+
+    @Test
+    void findAllFilteredByCursor() throws Exception {
+        // GIVEN
+        CursorPageDto<MovieDto> page = new CursorPageDto<>();
+        page.setContent(List.of(initMovie()));
+        page.setNextCursor(CURSOR);
+
+        when(movieService.findAllFilteredByCursor("", "id", 20, null, null))
+                .thenReturn(page);
+
+        // WHEN / THEN
+        mockMvc.perform(get(MOVIES_PATH).queryParam("cursor", ""))
+                .andExpect(status().isOk())
+                .andExpect(content().string(objectMapper.writeValueAsString(page)))
+                .andExpect(jsonPath("$.next_cursor", equalTo(CURSOR)));
+
+        verify(movieService, times(1)).findAllFilteredByCursor("", "id", 20, null, null);
+        verify(movieService, never()).findAllFiltered(any(), any(), any());
+    }
+
+    @Test
+    void findAllFilteredByCursorWithParameters() throws Exception {
+        // GIVEN
+        CursorPageDto<MovieDto> page = new CursorPageDto<>();
+        page.setContent(List.of(initMovie()));
+
+        LocalDate releaseAfter = LocalDate.of(2021, 7, 27);
+        ZonedDateTime updatedSince = ZonedDateTime.of(
+                LocalDateTime.of(2021, 7, 27, 3, 4, 32),
+                ZoneOffset.ofHours(2)
+        );
+
+        when(movieService.findAllFilteredByCursor(CURSOR, "release_date", 40, releaseAfter, updatedSince))
+                .thenReturn(page);
+
+        // WHEN / THEN
+        mockMvc.perform(get(MOVIES_PATH).queryParam("cursor", CURSOR)
+                        .queryParam("sort", "release_date")
+                        .queryParam("size", "40")
+                        .queryParam("released_after", releaseAfter.toString())
+                        .queryParam("updated_since", updatedSince.format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS Z"))))
+                .andExpect(status().isOk())
+                .andExpect(content().string(objectMapper.writeValueAsString(page)));
+
+        verify(movieService, times(1)).findAllFilteredByCursor(CURSOR, "release_date", 40, releaseAfter, updatedSince);
+    }
+
+    @Test
+    void findAllFilteredByCursorWithInvalidCursor() throws Exception {
+        // GIVEN
+        when(movieService.findAllFilteredByCursor(CURSOR, "id", 20, null, null))
+                .thenThrow(new InvalidCursorException(CURSOR));
+
+        // WHEN / THEN
+        mockMvc.perform(get(MOVIES_PATH).queryParam("cursor", CURSOR))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.type", equalTo(DEFAULT_TYPE)))
+                .andExpect(jsonPath("$.title", equalTo(BAD_REQUEST.getReasonPhrase())))
+                .andExpect(jsonPath("$.status", equalTo(BAD_REQUEST.value())))
+                .andExpect(jsonPath("$.detail", equalTo("Invalid cursor " + CURSOR)))
+                .andExpect(jsonPath("$.instance", equalTo("uri=/movies")))
+                .andExpect(jsonPath("$.properties.timestamp", matchesPattern(TIMESTAMP_REGEX_PATTERN)));
+
+        verify(movieService, times(1)).findAllFilteredByCursor(CURSOR, "id", 20, null, null);
+    }
+
     @Test
     void findAllMovieDirectorLinks() throws Exception {
         // GIVEN
@@ -243,7 +515,7 @@ class MovieControllerTest {
             }
         };
 
-        when(movieService.findAllMovieDirectorLinks())
+        when(movieDirectorIndexService.findAllMovieDirectorLinks())
                 .thenReturn(List.of(link));
 
         // WHEN / THEN
@@ -251,13 +523,45 @@ class MovieControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(content().string(objectMapper.writeValueAsString(List.of(link))));
 
-        verify(movieService, times(1)).findAllMovieDirectorLinks();
+        verify(movieDirectorIndexService, times(1)).findAllMovieDirectorLinks();
+    }
+
+    @Test
+    void findAllMovieDirectorLinksAsCbor() throws Exception {
+        // GIVEN
+        MovieDirectorLink link = new MovieDirectorLink() {
+            @Override
+            public Long getMovieId() {
+                return ID;
+            }
+
+            @Override
+            public Long getDirectorId() {
+                return DIRECTOR_ID;
+            }
+        };
+
+        when(movieDirectorIndexService.findAllMovieDirectorLinks())
+                .thenReturn(List.of(link));
+
+        // WHEN / THEN
+        MvcResult result = mockMvc.perform(get(MOVIE_DIRECTOR_LINKS_PATH).accept(APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(APPLICATION_CBOR))
+                .andReturn();
+
+        JsonNode links = cborHttpMessageConverter.getObjectMapper().readTree(result.getResponse().getContentAsByteArray());
+        assertEquals(1, links.size());
+        assertEquals(ID, links.get(0).get("movie_id").asLong());
+        assertEquals(DIRECTOR_ID, links.get(0).get("director_id").asLong());
+
+        verify(movieDirectorIndexService, times(1)).findAllMovieDirectorLinks();
     }
 
     @Test
     void findAllMovieDirectorLinksWithoutResult() throws Exception {
         // GIVEN
-        when(movieService.findAllMovieDirectorLinks())
+        when(movieDirectorIndexService.findAllMovieDirectorLinks())
                 .thenReturn(emptyList());
 
         // WHEN / THEN
@@ -265,19 +569,13 @@ class MovieControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(content().string(objectMapper.writeValueAsString(emptyList())));
 
-        verify(movieService, times(1)).findAllMovieDirectorLinks();
+        verify(movieDirectorIndexService, times(1)).findAllMovieDirectorLinks();
     }
 
     @Test
     void findAllFlatMovieDirectors() throws Exception {
         // GIVEN
-        FlatMovieDirectorDto flatMovieDirector = new FlatMovieDirectorDto();
-        flatMovieDirector.setMovieId(ID);
-        flatMovieDirector.setTitle(TITLE);
-        flatMovieDirector.setReleaseDate(RELEASE_DATE);
-        flatMovieDirector.setDirectorId(DIRECTOR_ID);
-        flatMovieDirector.setFirstName(FIRST_NAME);
-        flatMovieDirector.setLastName(LAST_NAME);
+        FlatMovieDirectorDto flatMovieDirector = initFlatMovieDirector();
 
         when(movieService.findAllFlatMovieDirectors())
                 .thenReturn(List.of(flatMovieDirector));
@@ -290,6 +588,45 @@ class MovieControllerTest {
         verify(movieService, times(1)).findAllFlatMovieDirectors();
     }
 
+    @Test
+    void findAllFlatMovieDirectorsAsCbor() throws Exception {
+        // GIVEN
+        FlatMovieDirectorDto flatMovieDirector = initFlatMovieDirector();
+
+        when(movieService.findAllFlatMovieDirectors())
+                .thenReturn(List.of(flatMovieDirector));
+
+        // WHEN / THEN
+        mockMvc.perform(get(FLAT_MOVIE_DIRECTOR_PATH).accept(APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(APPLICATION_CBOR))
+                .andExpect(content().bytes(cborHttpMessageConverter.getObjectMapper().writeValueAsBytes(List.of(flatMovieDirector))));
+
+        verify(movieService, times(1)).findAllFlatMovieDirectors();
+    }
+
+    @Test
+    void findAllFlatMovieDirectorsAsSmile() throws Exception {
+        // GIVEN
+        FlatMovieDirectorDto flatMovieDirector = initFlatMovieDirector();
+
+        when(movieService.findAllFlatMovieDirectors())
+                .thenReturn(List.of(flatMovieDirector));
+
+        // WHEN / THEN
+        MvcResult result = mockMvc.perform(get(FLAT_MOVIE_DIRECTOR_PATH).accept(APPLICATION_SMILE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(APPLICATION_SMILE))
+                .andExpect(content().bytes(smileHttpMessageConverter.getObjectMapper().writeValueAsBytes(List.of(flatMovieDirector))))
+                .andReturn();
+
+        JsonNode flatMovieDirectors = smileHttpMessageConverter.getObjectMapper().readTree(result.getResponse().getContentAsByteArray());
+        assertEquals(flatMovieDirector.getTitle(), flatMovieDirectors.get(0).get("title").asText());
+        assertEquals(flatMovieDirector.getFirstName(), flatMovieDirectors.get(0).get("first_name").asText());
+
+        verify(movieService, times(1)).findAllFlatMovieDirectors();
+    }
+
     @Test
     void findAllFlatMovieDirectorsWithoutResult() throws Exception {
         // GIVEN
@@ -304,6 +641,74 @@ class MovieControllerTest {
         verify(movieService, times(1)).findAllFlatMovieDirectors();
     }
 
+    @Test
+    void streamAllFlatMovieDirectors() throws Exception {
+        // GIVEN
+        FlatMovieDirectorDto flatMovieDirector = initFlatMovieDirector();
+        FlatMovieDirectorDto otherFlatMovieDirector = initFlatMovieDirector();
+        otherFlatMovieDirector.setMovieId(ID + 1);
+
+        doAnswer(invocation -> {
+            Consumer<FlatMovieDirectorDto> consumer = invocation.getArgument(0);
+            consumer.accept(flatMovieDirector);
+            consumer.accept(otherFlatMovieDirector);
+            return null;
+        }).when(movieService).streamAllFlatMovieDirectors(any());
+
+        // WHEN / THEN
+        MvcResult result = mockMvc.perform(get(FLAT_MOVIE_DIRECTOR_PATH).accept(APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(APPLICATION_NDJSON))
+                .andExpect(content().string(objectMapper.writeValueAsString(flatMovieDirector) + "\n"
+                        + objectMapper.writeValueAsString(otherFlatMovieDirector) + "\n"));
+
+        verify(movieService, times(1)).streamAllFlatMovieDirectors(any());
+        verify(movieService, never()).findAllFlatMovieDirectors();
+    }
+
+    @Test
+    void streamAllFlatMovieDirectorsWithoutResult() throws Exception {
+        // WHEN / THEN
+        MvcResult result = mockMvc.perform(get(FLAT_MOVIE_DIRECTOR_PATH).accept(APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().string(emptyString()));
+
+        verify(movieService, times(1)).streamAllFlatMovieDirectors(any());
+    }
+
+    @Test
+    void streamChanges() throws Exception {
+        // GIVEN
+        MovieDto movie = initMovie();
+        SseEmitter emitter = new SseEmitter();
+
+        when(movieChangeStreamService.subscribe())
+                .thenReturn(emitter);
+
+        // WHEN / THEN
+        MvcResult result = mockMvc.perform(get(MOVIE_CHANGES_STREAM_PATH).accept(TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        emitter.send(SseEmitter.event().name("movie").data(movie, APPLICATION_JSON));
+        emitter.complete();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(TEXT_EVENT_STREAM))
+                .andExpect(content().string("event:movie\ndata:" + objectMapper.writeValueAsString(movie) + "\n\n"));
+
+        verify(movieChangeStreamService, times(1)).subscribe();
+    }
+
     @Test
     void save() throws Exception {
         // GIVEN
@@ -322,6 +727,26 @@ class MovieControllerTest {
         checkMovie(savedMovie);
     }
 
+    @Test
+    void saveAll() throws Exception {
+        // GIVEN
+        MovieDto movie = initMovie();
+
+        // WHEN / THEN
+        mockMvc.perform(post(MOVIE_BATCH_PATH).contentType(APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(movie, movie))))
+                .andExpect(status().isOk())
+                .andExpect(content().string(emptyString()));
+
+        ArgumentCaptor<List<MovieDto>> capturedMovies = ArgumentCaptor.forClass(List.class);
+        verify(movieService, times(1)).saveAll(capturedMovies.capture());
+
+        List<MovieDto> savedMovies = capturedMovies.getValue();
+        assertEquals(2, savedMovies.size());
+        checkMovie(savedMovies.getFirst());
+        checkMovie(savedMovies.getLast());
+    }
+
     @Test
     void deleteById() throws Exception {
         // WHEN / THEN
@@ -359,9 +784,21 @@ class MovieControllerTest {
         movie.setDirectorId(DIRECTOR_ID);
         movie.setTitle(TITLE);
         movie.setReleaseDate(RELEASE_DATE);
+        movie.setUpdatedAt(UPDATED_AT);
         return movie;
     }
 
+    private FlatMovieDirectorDto initFlatMovieDirector() {
+        FlatMovieDirectorDto flatMovieDirector = new FlatMovieDirectorDto();
+        flatMovieDirector.setMovieId(ID);
+        flatMovieDirector.setTitle(TITLE);
+        flatMovieDirector.setReleaseDate(RELEASE_DATE);
+        flatMovieDirector.setDirectorId(DIRECTOR_ID);
+        flatMovieDirector.setFirstName(FIRST_NAME);
+        flatMovieDirector.setLastName(LAST_NAME);
+        return flatMovieDirector;
+    }
+
     private void checkMovie(MovieDto movie) {
         assertNotNull(movie);
         assertEquals(ID, movie.getId());
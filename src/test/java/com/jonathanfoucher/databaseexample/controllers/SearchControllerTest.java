@@ -0,0 +1,113 @@
+package com.jonathanfoucher.databaseexample.controllers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.jonathanfoucher.databaseexample.controllers.advisers.CustomResponseEntityExceptionHandler;
+import com.jonathanfoucher.databaseexample.data.dto.SearchResultDto;
+import com.jonathanfoucher.databaseexample.services.SearchService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+
+import static com.fasterxml.jackson.databind.PropertyNamingStrategies.SNAKE_CASE;
+import static org.hamcrest.Matchers.equalTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(SearchController.class)
+@SpringJUnitConfig({SearchController.class, CustomResponseEntityExceptionHandler.class})
+class SearchControllerTest {
+    private MockMvc mockMvc;
+    @Autowired
+    private SearchController searchController;
+    @Autowired
+    private CustomResponseEntityExceptionHandler customResponseEntityExceptionHandler;
+    @MockitoBean
+    private SearchService searchService;
+
+    private static final String SEARCH_PATH = "/search";
+    private static final String QUERY = "tarantno";
+
+    private static final ObjectMapper objectMapper;
+
+    static {
+        objectMapper = JsonMapper.builder()
+                .propertyNamingStrategy(SNAKE_CASE)
+                .build();
+    }
+
+    @BeforeEach
+    void init() {
+        mockMvc = MockMvcBuilders.standaloneSetup(searchController)
+                .setControllerAdvice(customResponseEntityExceptionHandler)
+                .setMessageConverters(new MappingJackson2HttpMessageConverter(objectMapper))
+                .setCustomArgumentResolvers(new PageableHandlerMethodArgumentResolver())
+                .build();
+    }
+
+    @Test
+    void search() throws Exception {
+        // GIVEN
+        PageRequest pageRequest = PageRequest.of(0, 20);
+        Slice<SearchResultDto> slice = new SliceImpl<>(List.of(initResult()), pageRequest, true);
+
+        when(searchService.search(QUERY, pageRequest))
+                .thenReturn(slice);
+
+        // WHEN / THEN
+        mockMvc.perform(get(SEARCH_PATH).param("q", QUERY))
+                .andExpect(status().isOk())
+                .andExpect(content().string(objectMapper.writeValueAsString(slice)))
+                .andExpect(jsonPath("$.content[0].label", equalTo("Quentin Tarantino")))
+                .andExpect(jsonPath("$.last", equalTo(false)));
+
+        verify(searchService, times(1)).search(QUERY, pageRequest);
+    }
+
+    @Test
+    void searchWithPagination() throws Exception {
+        // GIVEN
+        PageRequest pageRequest = PageRequest.of(2, 10);
+        Slice<SearchResultDto> slice = new SliceImpl<>(List.of(initResult()), pageRequest, false);
+
+        when(searchService.search(QUERY, pageRequest))
+                .thenReturn(slice);
+
+        // WHEN / THEN
+        mockMvc.perform(get(SEARCH_PATH).param("q", QUERY).param("page", "2").param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(objectMapper.writeValueAsString(slice)));
+
+        verify(searchService, times(1)).search(QUERY, pageRequest);
+    }
+
+    @Test
+    void searchWithoutQuery() throws Exception {
+        // WHEN / THEN
+        mockMvc.perform(get(SEARCH_PATH))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.title", equalTo(BAD_REQUEST.getReasonPhrase())));
+
+        verify(searchService, never()).search(anyString(), any());
+    }
+
+    private SearchResultDto initResult() {
+        return new SearchResultDto("director", 2L, "Quentin Tarantino", 0.78);
+    }
+}
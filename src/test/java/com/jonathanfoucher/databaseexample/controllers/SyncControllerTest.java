@@ -0,0 +1,144 @@
+package com.jonathanfoucher.databaseexample.controllers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.jonathanfoucher.databaseexample.common.errors.InvalidSyncTokenException;
+import com.jonathanfoucher.databaseexample.controllers.advisers.CustomResponseEntityExceptionHandler;
+import com.jonathanfoucher.databaseexample.data.dto.DirectorDto;
+import com.jonathanfoucher.databaseexample.data.dto.MovieDto;
+import com.jonathanfoucher.databaseexample.data.dto.SyncDto;
+import com.jonathanfoucher.databaseexample.services.SyncService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static com.fasterxml.jackson.databind.PropertyNamingStrategies.SNAKE_CASE;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.matchesPattern;
+import static org.mockito.Mockito.*;
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(SyncController.class)
+@SpringJUnitConfig({SyncController.class, CustomResponseEntityExceptionHandler.class})
+class SyncControllerTest {
+    private MockMvc mockMvc;
+    @Autowired
+    private SyncController syncController;
+    @Autowired
+    private CustomResponseEntityExceptionHandler customResponseEntityExceptionHandler;
+    @MockitoBean
+    private SyncService syncService;
+
+    private static final String SYNC_PATH = "/sync";
+    private static final String TOKEN = "752";
+    private static final String NEXT_TOKEN = "754";
+
+    private static final Pattern TIMESTAMP_REGEX_PATTERN = Pattern.compile("^\\d{4}-\\d{2}-\\d{2} \\d{2}:\\d{2}:\\d{2}$");
+    private static final String DEFAULT_TYPE = "about:blank";
+
+    private static final ObjectMapper objectMapper;
+
+    static {
+        objectMapper = JsonMapper.builder()
+                .addModule(new JavaTimeModule())
+                .propertyNamingStrategy(SNAKE_CASE)
+                .build();
+    }
+
+    @BeforeEach
+    void init() {
+        mockMvc = MockMvcBuilders.standaloneSetup(syncController)
+                .setControllerAdvice(customResponseEntityExceptionHandler)
+                .setMessageConverters(new MappingJackson2HttpMessageConverter(objectMapper))
+                .build();
+    }
+
+    @Test
+    void findChangesSince() throws Exception {
+        // GIVEN
+        SyncDto sync = initSync();
+
+        when(syncService.findChangesSince(TOKEN))
+                .thenReturn(sync);
+
+        // WHEN / THEN
+        mockMvc.perform(get(SYNC_PATH).param("token", TOKEN))
+                .andExpect(status().isOk())
+                .andExpect(content().string(objectMapper.writeValueAsString(sync)))
+                .andExpect(jsonPath("$.deleted_movie_ids[0]", equalTo(4)))
+                .andExpect(jsonPath("$.has_more", equalTo(true)))
+                .andExpect(jsonPath("$.next_token", equalTo(NEXT_TOKEN)));
+
+        verify(syncService, times(1)).findChangesSince(TOKEN);
+    }
+
+    @Test
+    void findChangesSinceWithoutToken() throws Exception {
+        // GIVEN
+        SyncDto sync = initSync();
+
+        when(syncService.findChangesSince(null))
+                .thenReturn(sync);
+
+        // WHEN / THEN
+        mockMvc.perform(get(SYNC_PATH))
+                .andExpect(status().isOk())
+                .andExpect(content().string(objectMapper.writeValueAsString(sync)));
+
+        verify(syncService, times(1)).findChangesSince(null);
+    }
+
+    @Test
+    void findChangesSinceWithInvalidToken() throws Exception {
+        // GIVEN
+        when(syncService.findChangesSince("abc"))
+                .thenThrow(new InvalidSyncTokenException("abc"));
+
+        // WHEN / THEN
+        mockMvc.perform(get(SYNC_PATH).param("token", "abc"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.type", equalTo(DEFAULT_TYPE)))
+                .andExpect(jsonPath("$.title", equalTo(BAD_REQUEST.getReasonPhrase())))
+                .andExpect(jsonPath("$.status", equalTo(BAD_REQUEST.value())))
+                .andExpect(jsonPath("$.detail", equalTo("Invalid sync token abc")))
+                .andExpect(jsonPath("$.instance", equalTo("uri=/sync")))
+                .andExpect(jsonPath("$.properties.timestamp", matchesPattern(TIMESTAMP_REGEX_PATTERN)));
+
+        verify(syncService, times(1)).findChangesSince("abc");
+    }
+
+    private SyncDto initSync() {
+        DirectorDto director = new DirectorDto();
+        director.setId(2L);
+        director.setFirstName("John");
+        director.setLastName("Doe");
+
+        MovieDto movie = new MovieDto();
+        movie.setId(15L);
+        movie.setDirectorId(2L);
+        movie.setTitle("Some movie");
+        movie.setReleaseDate(LocalDate.of(2022, 7, 19));
+
+        SyncDto sync = new SyncDto();
+        sync.setDirectors(List.of(director));
+        sync.setMovies(List.of(movie));
+        sync.setDeletedDirectorIds(List.of());
+        sync.setDeletedMovieIds(List.of(4L));
+        sync.setHasMore(true);
+        sync.setNextToken(NEXT_TOKEN);
+        return sync;
+    }
+}
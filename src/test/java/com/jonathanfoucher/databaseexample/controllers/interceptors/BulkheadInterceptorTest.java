@@ -0,0 +1,128 @@
+package com.jonathanfoucher.databaseexample.controllers.interceptors;
+
+import com.jonathanfoucher.databaseexample.common.bulkhead.Bulkhead;
+import com.jonathanfoucher.databaseexample.common.bulkhead.DatabaseBulkheads;
+import com.jonathanfoucher.databaseexample.common.errors.BulkheadFullException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+
+import static com.jonathanfoucher.databaseexample.common.bulkhead.EndpointClass.EXPORT;
+import static com.jonathanfoucher.databaseexample.common.bulkhead.EndpointClass.LOOKUP;
+import static jakarta.servlet.DispatcherType.ASYNC;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class BulkheadInterceptorTest {
+    private DatabaseBulkheads databaseBulkheads;
+    private BulkheadInterceptor bulkheadInterceptor;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @Bulkhead(EXPORT)
+    static class SomeController {
+        @Bulkhead(LOOKUP)
+        public void lookup() {
+        }
+
+        public void export() {
+        }
+    }
+
+    static class UnprotectedController {
+        public void unprotected() {
+        }
+    }
+
+    @BeforeEach
+    void init() {
+        databaseBulkheads = mock(DatabaseBulkheads.class);
+        bulkheadInterceptor = new BulkheadInterceptor(databaseBulkheads);
+        request = new MockHttpServletRequest();
+        response = new MockHttpServletResponse();
+    }
+
+    @Test
+    void preHandleWithMethodBulkhead() throws Exception {
+        // GIVEN
+        HandlerMethod handler = new HandlerMethod(new SomeController(), "lookup");
+
+        when(databaseBulkheads.acquire(LOOKUP))
+                .thenReturn(true);
+
+        // WHEN
+        boolean result = bulkheadInterceptor.preHandle(request, response, handler);
+        bulkheadInterceptor.afterCompletion(request, response, handler, null);
+
+        // THEN
+        assertTrue(result);
+        verify(databaseBulkheads, times(1)).acquire(LOOKUP);
+        verify(databaseBulkheads, times(1)).release(LOOKUP);
+    }
+
+    @Test
+    void preHandleWithClassBulkhead() throws Exception {
+        // GIVEN
+        HandlerMethod handler = new HandlerMethod(new SomeController(), "export");
+
+        when(databaseBulkheads.acquire(EXPORT))
+                .thenReturn(true);
+
+        // WHEN
+        bulkheadInterceptor.preHandle(request, response, handler);
+        bulkheadInterceptor.afterCompletion(request, response, handler, null);
+        bulkheadInterceptor.afterCompletion(request, response, handler, null);
+
+        // THEN
+        verify(databaseBulkheads, times(1)).acquire(EXPORT);
+        verify(databaseBulkheads, times(1)).release(EXPORT);
+    }
+
+    @Test
+    void preHandleWithoutBulkhead() throws Exception {
+        // GIVEN
+        HandlerMethod handler = new HandlerMethod(new UnprotectedController(), "unprotected");
+
+        // WHEN
+        bulkheadInterceptor.preHandle(request, response, handler);
+        bulkheadInterceptor.afterCompletion(request, response, handler, null);
+
+        // THEN
+        verify(databaseBulkheads, never()).acquire(any());
+        verify(databaseBulkheads, never()).release(any());
+    }
+
+    @Test
+    void preHandleWithAsyncDispatch() throws Exception {
+        // GIVEN
+        HandlerMethod handler = new HandlerMethod(new SomeController(), "export");
+        request.setDispatcherType(ASYNC);
+
+        // WHEN
+        bulkheadInterceptor.preHandle(request, response, handler);
+
+        // THEN
+        verify(databaseBulkheads, never()).acquire(any());
+    }
+
+    @Test
+    void preHandleWithBulkheadFull() throws Exception {
+        // GIVEN
+        HandlerMethod handler = new HandlerMethod(new SomeController(), "lookup");
+
+        when(databaseBulkheads.acquire(LOOKUP))
+                .thenThrow(new BulkheadFullException(LOOKUP));
+
+        // WHEN / THEN
+        assertThatThrownBy(() -> bulkheadInterceptor.preHandle(request, response, handler))
+                .isInstanceOf(BulkheadFullException.class)
+                .hasMessage("Too many concurrent lookup requests");
+
+        bulkheadInterceptor.afterCompletion(request, response, handler, null);
+        verify(databaseBulkheads, never()).release(any());
+    }
+}
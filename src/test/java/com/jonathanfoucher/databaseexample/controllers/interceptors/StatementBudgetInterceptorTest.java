@@ -0,0 +1,126 @@
+package com.jonathanfoucher.databaseexample.controllers.interceptors;
+
+import com.jonathanfoucher.databaseexample.common.properties.StatementBudgetProperties;
+import com.jonathanfoucher.databaseexample.data.metrics.RequestStatementInspector;
+import com.jonathanfoucher.databaseexample.data.metrics.RequestStatements;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+
+import static jakarta.servlet.DispatcherType.ASYNC;
+import static org.junit.jupiter.api.Assertions.*;
+
+class StatementBudgetInterceptorTest {
+    private MeterRegistry meterRegistry;
+    private StatementBudgetInterceptor statementBudgetInterceptor;
+    private RequestStatementInspector requestStatementInspector;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    private static final String URI = "/movies/{id}";
+    private static final String SELECT_MOVIE = "select m1_0.id from movie m1_0 where m1_0.id=?";
+    private static final String SELECT_DIRECTORS = "select d1_0.id from director d1_0 where d1_0.id in (?,?)";
+
+    @BeforeEach
+    void init() {
+        meterRegistry = new SimpleMeterRegistry();
+        StatementBudgetProperties statementBudgetProperties = new StatementBudgetProperties(true, 10, 3, Map.of("GET " + URI, 2));
+        statementBudgetInterceptor = new StatementBudgetInterceptor(statementBudgetProperties, meterRegistry);
+        requestStatementInspector = new RequestStatementInspector();
+
+        request = new MockHttpServletRequest("GET", "/movies/1");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, URI);
+        response = new MockHttpServletResponse();
+    }
+
+    @AfterEach
+    void clear() {
+        RequestStatements.end();
+    }
+
+    @Test
+    void afterCompletionWithinBudget() {
+        // GIVEN
+        statementBudgetInterceptor.preHandle(request, response, null);
+        requestStatementInspector.inspect(SELECT_MOVIE);
+
+        // WHEN
+        statementBudgetInterceptor.afterCompletion(request, response, null, null);
+
+        // THEN
+        assertNull(RequestStatements.current());
+        assertEquals(1.0, meterRegistry.get("database.request.statements").tags("method", "GET", "uri", URI).summary().totalAmount());
+        assertEquals(1, meterRegistry.get("database.request.time").tags("method", "GET", "uri", URI).timer().count());
+        assertNull(meterRegistry.find("database.request.budget.exceeded").counter());
+        assertNull(meterRegistry.find("database.request.repeated.statements").counter());
+    }
+
+    @Test
+    void afterCompletionWithBudgetExceeded() {
+        // GIVEN
+        statementBudgetInterceptor.preHandle(request, response, null);
+        requestStatementInspector.inspect(SELECT_MOVIE);
+        requestStatementInspector.inspect(SELECT_DIRECTORS);
+        requestStatementInspector.inspect(SELECT_DIRECTORS.replace("(?,?)", "(?, ?, ?)"));
+
+        // WHEN
+        statementBudgetInterceptor.afterCompletion(request, response, null, null);
+
+        // THEN
+        assertEquals(1.0, meterRegistry.get("database.request.budget.exceeded").tags("method", "GET", "uri", URI).counter().count());
+        assertNull(meterRegistry.find("database.request.repeated.statements").counter());
+    }
+
+    @Test
+    void afterCompletionWithRepeatedStatements() {
+        // GIVEN
+        request.setMethod("POST");
+        statementBudgetInterceptor.preHandle(request, response, null);
+        requestStatementInspector.inspect(SELECT_DIRECTORS);
+        requestStatementInspector.inspect(SELECT_DIRECTORS.replace("(?,?)", "(?)"));
+        requestStatementInspector.inspect(SELECT_DIRECTORS.replace("(?,?)", "( ?, ?,\n ? )"));
+
+        // WHEN
+        statementBudgetInterceptor.afterCompletion(request, response, null, null);
+
+        // THEN
+        assertEquals(1.0, meterRegistry.get("database.request.repeated.statements").tags("method", "POST", "uri", URI).counter().count());
+        assertNull(meterRegistry.find("database.request.budget.exceeded").counter());
+    }
+
+    @Test
+    void afterConcurrentHandlingStarted() {
+        // GIVEN
+        statementBudgetInterceptor.preHandle(request, response, null);
+        requestStatementInspector.inspect(SELECT_MOVIE);
+
+        // WHEN
+        statementBudgetInterceptor.afterConcurrentHandlingStarted(request, response, null);
+
+        // THEN
+        assertNull(RequestStatements.current());
+        assertEquals(1, meterRegistry.get("database.request.statements").tags("method", "GET", "uri", URI).summary().count());
+    }
+
+    @Test
+    void preHandleWithAsyncDispatch() {
+        // GIVEN
+        request.setDispatcherType(ASYNC);
+
+        // WHEN
+        boolean result = statementBudgetInterceptor.preHandle(request, response, null);
+        requestStatementInspector.inspect(SELECT_MOVIE);
+        statementBudgetInterceptor.afterCompletion(request, response, null, null);
+
+        // THEN
+        assertTrue(result);
+        assertNull(meterRegistry.find("database.request.statements").summary());
+    }
+}
@@ -0,0 +1,101 @@
+package com.jonathanfoucher.databaseexample.data.metrics;
+
+import com.jonathanfoucher.databaseexample.data.model.Director;
+import com.jonathanfoucher.databaseexample.data.repository.CatalogChangeRepository;
+import com.jonathanfoucher.databaseexample.data.repository.DirectorRepository;
+import com.jonathanfoucher.databaseexample.data.repository.MovieDirectorCustomRepository;
+import com.jonathanfoucher.databaseexample.support.EmbeddedPostgresIntegrationTest;
+import com.jonathanfoucher.databaseexample.support.TestDataSeeder;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.search.RequiredSearch;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RepositoryMetricsIntegrationTest extends EmbeddedPostgresIntegrationTest {
+    @Autowired
+    private DirectorRepository directorRepository;
+    @Autowired
+    private MovieDirectorCustomRepository movieDirectorCustomRepository;
+    @Autowired
+    private CatalogChangeRepository catalogChangeRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private static final Long ID = 2L;
+
+    @BeforeEach
+    void init() {
+        new TestDataSeeder(jdbcTemplate).seed(3, 6);
+        entityManagerFactory.getCache().evictAll();
+        meterRegistry.clear();
+    }
+
+    @Test
+    void findById() {
+        // WHEN
+        directorRepository.findById(ID);
+
+        // THEN
+        assertEquals(1, meterRegistry.get("database.repository.invocations")
+                .tags("repository", "DirectorRepository", "method", "findById", "outcome", "success")
+                .timer()
+                .count());
+        assertEquals(1.0, counter("database.repository.rows", "DirectorRepository", "findById"));
+        assertEquals(1.0, counter("database.repository.statements", "DirectorRepository", "findById"));
+        assertEquals(1.0, counter("database.repository.entities.loaded", "DirectorRepository", "findById"));
+    }
+
+    @Test
+    void saveAndFlush() {
+        // GIVEN
+        Director director = new Director();
+        director.setFirstName("John");
+        director.setLastName("Doe");
+
+        // WHEN
+        directorRepository.saveAndFlush(director);
+
+        // THEN
+        assertEquals(2.0, counter("database.repository.flushes", "DirectorRepository", "saveAndFlush"));
+        assertTrue(counter("database.repository.statements", "DirectorRepository", "saveAndFlush") >= 1.0);
+    }
+
+    @Test
+    void findAllFlatMovieDirectors() {
+        // WHEN
+        movieDirectorCustomRepository.findAllFlatMovieDirectors();
+
+        // THEN
+        assertEquals(6.0, counter("database.repository.rows", "MovieDirectorCustomRepository", "findAllFlatMovieDirectors"));
+        assertEquals(1.0, counter("database.repository.statements", "MovieDirectorCustomRepository", "findAllFlatMovieDirectors"));
+    }
+
+    @Test
+    void findSyncHorizon() {
+        // WHEN
+        catalogChangeRepository.findSyncHorizon();
+
+        // THEN
+        assertEquals(1, meterRegistry.get("database.repository.invocations")
+                .tags("repository", "CatalogChangeRepository", "method", "findSyncHorizon", "outcome", "success")
+                .timer()
+                .count());
+    }
+
+    private double counter(String name, String repository, String method) {
+        return RequiredSearch.in(meterRegistry)
+                .name(name)
+                .tags("repository", repository, "method", method)
+                .counter()
+                .count();
+    }
+}
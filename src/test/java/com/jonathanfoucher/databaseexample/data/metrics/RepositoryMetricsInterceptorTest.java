@@ -0,0 +1,142 @@
+package com.jonathanfoucher.databaseexample.data.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aopalliance.intercept.MethodInvocation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.PageImpl;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class RepositoryMetricsInterceptorTest {
+    private MeterRegistry meterRegistry;
+    private RepositoryMetricsInterceptor interceptor;
+    private MethodInvocation invocation;
+
+    private static final String REPOSITORY = "MovieRepository";
+
+    @BeforeEach
+    void init() throws NoSuchMethodException {
+        meterRegistry = new SimpleMeterRegistry();
+        ObjectProvider<MeterRegistry> meterRegistryProvider = mock(ObjectProvider.class);
+        when(meterRegistryProvider.getObject())
+                .thenReturn(meterRegistry);
+        interceptor = new RepositoryMetricsInterceptor(meterRegistryProvider, REPOSITORY);
+
+        invocation = mock(MethodInvocation.class);
+        when(invocation.getMethod())
+                .thenReturn(List.class.getMethod("size"));
+    }
+
+    @Test
+    void invokeWithList() throws Throwable {
+        // GIVEN
+        when(invocation.proceed())
+                .thenReturn(List.of(1L, 2L, 3L));
+
+        // WHEN
+        interceptor.invoke(invocation);
+
+        // THEN
+        assertEquals(1, timerCount("success"));
+        assertEquals(3.0, rows());
+    }
+
+    @Test
+    void invokeWithOptional() throws Throwable {
+        // GIVEN
+        when(invocation.proceed())
+                .thenReturn(Optional.empty());
+
+        // WHEN
+        interceptor.invoke(invocation);
+
+        // THEN
+        assertEquals(1, timerCount("success"));
+        assertEquals(0.0, rows());
+    }
+
+    @Test
+    void invokeWithPage() throws Throwable {
+        // GIVEN
+        when(invocation.proceed())
+                .thenReturn(new PageImpl<>(List.of(1L, 2L)));
+
+        // WHEN
+        interceptor.invoke(invocation);
+
+        // THEN
+        assertEquals(2.0, rows());
+    }
+
+    @Test
+    void invokeWithStream() throws Throwable {
+        // GIVEN
+        when(invocation.proceed())
+                .thenReturn(Stream.of(1L, 2L));
+
+        // WHEN
+        Object result = interceptor.invoke(invocation);
+
+        // THEN
+        assertEquals(0.0, rows());
+        assertEquals(2, ((Stream<?>) result).toList().size());
+        assertEquals(2.0, rows());
+    }
+
+    @Test
+    void invokeWithStatements() throws Throwable {
+        // GIVEN
+        when(invocation.proceed())
+                .thenAnswer(_ -> {
+                    RepositoryMethodMeters.current().getStatements().increment();
+                    return 1L;
+                });
+
+        // WHEN
+        interceptor.invoke(invocation);
+
+        // THEN
+        assertEquals(1.0, meterRegistry.get("database.repository.statements").tag("method", "size").counter().count());
+        assertEquals(1.0, rows());
+        assertNull(RepositoryMethodMeters.current());
+    }
+
+    @Test
+    void invokeWithError() throws Throwable {
+        // GIVEN
+        when(invocation.proceed())
+                .thenThrow(new IllegalStateException("error"));
+
+        // WHEN / THEN
+        assertThatThrownBy(() -> interceptor.invoke(invocation))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("error");
+
+        assertEquals(0, timerCount("success"));
+        assertEquals(1, timerCount("error"));
+        assertNull(RepositoryMethodMeters.current());
+    }
+
+    private long timerCount(String outcome) {
+        return meterRegistry.get("database.repository.invocations")
+                .tags("repository", REPOSITORY, "method", "size", "outcome", outcome)
+                .timer()
+                .count();
+    }
+
+    private double rows() {
+        return meterRegistry.get("database.repository.rows")
+                .tags("repository", REPOSITORY, "method", "size")
+                .counter()
+                .count();
+    }
+}
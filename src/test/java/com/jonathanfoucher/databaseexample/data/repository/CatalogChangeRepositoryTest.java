@@ -0,0 +1,117 @@
+package com.jonathanfoucher.databaseexample.data.repository;
+
+import com.jonathanfoucher.databaseexample.data.dto.CatalogChange;
+import com.jonathanfoucher.databaseexample.data.dto.CatalogChangePosition;
+import com.jonathanfoucher.databaseexample.support.EmbeddedPostgresIntegrationTest;
+import com.jonathanfoucher.databaseexample.support.TestDataSeeder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CatalogChangeRepositoryTest extends EmbeddedPostgresIntegrationTest {
+    @Autowired
+    private CatalogChangeRepository catalogChangeRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private static final int DIRECTOR_COUNT = 10;
+    private static final int MOVIE_COUNT = 95;
+    private static final int PAGE_SIZE = 20;
+
+    @BeforeEach
+    void init() {
+        new TestDataSeeder(jdbcTemplate).seed(DIRECTOR_COUNT, MOVIE_COUNT);
+        jdbcTemplate.update("update movie set title = title where id <= 5");
+        jdbcTemplate.update("delete from movie where id = 6");
+    }
+
+    @Test
+    void findAllCommittedBetween() {
+        // GIVEN
+        long toTransactionId = syncHorizon();
+
+        // WHEN
+        List<CatalogChange> results = catalogChangeRepository.findAllCommittedBetween(CatalogChangePosition.startOf(0L), toTransactionId, PAGE_SIZE);
+
+        // THEN
+        assertEquals(PAGE_SIZE, results.size());
+        assertTrue(results.stream().allMatch(change -> Long.compareUnsigned(change.transactionId(), toTransactionId) < 0));
+    }
+
+    @Test
+    void findAllCommittedBetweenByPage() {
+        // GIVEN
+        long toTransactionId = syncHorizon();
+        List<CatalogChange> changes = new ArrayList<>();
+        CatalogChangePosition position = CatalogChangePosition.startOf(0L);
+
+        // WHEN
+        List<CatalogChange> page;
+        do {
+            page = catalogChangeRepository.findAllCommittedBetween(position, toTransactionId, PAGE_SIZE);
+            changes.addAll(page);
+            if (!page.isEmpty()) {
+                position = CatalogChangePosition.after(page.getLast());
+            }
+        } while (page.size() == PAGE_SIZE);
+
+        // THEN
+        Set<String> keys = new HashSet<>();
+        changes.forEach(change -> assertTrue(keys.add(change.entityType() + change.entityId())));
+        assertEquals(DIRECTOR_COUNT + MOVIE_COUNT, changes.size());
+        assertEquals(1, changes.stream().filter(CatalogChange::deleted).count());
+    }
+
+    @Test
+    void findAllCommittedBetweenAfterLastChange() {
+        // GIVEN
+        long toTransactionId = syncHorizon();
+        List<CatalogChange> changes = catalogChangeRepository.findAllCommittedBetween(CatalogChangePosition.startOf(0L), toTransactionId, DIRECTOR_COUNT + MOVIE_COUNT);
+
+        // WHEN
+        List<CatalogChange> results = catalogChangeRepository.findAllCommittedBetween(CatalogChangePosition.after(changes.getLast()), toTransactionId, PAGE_SIZE);
+
+        // THEN
+        assertEquals(DIRECTOR_COUNT + MOVIE_COUNT, changes.size());
+        assertTrue(results.isEmpty());
+    }
+
+    @Test
+    void logCatalogChangesByStatement() {
+        // GIVEN
+        long fromTransactionId = syncHorizon();
+
+        // WHEN
+        jdbcTemplate.update("""
+                    insert into movie (id, director_id, title, release_date, updated_at)
+                    values (1, 1, 'Merged movie', date '2020-01-01', now()), (1000, 1, 'Inserted movie', date '2020-01-01', now())
+                    on conflict (id) do update set title = excluded.title
+                """);
+        jdbcTemplate.update("delete from movie where id between 7 and 9");
+
+        // THEN
+        List<CatalogChange> changes = catalogChangeRepository.findAllCommittedBetween(CatalogChangePosition.startOf(fromTransactionId), syncHorizon(), PAGE_SIZE);
+        assertEquals(List.of("movie1false", "movie1000false", "movie7true", "movie8true", "movie9true"), changes.stream()
+                .map(change -> change.entityType() + change.entityId() + change.deleted())
+                .toList());
+        assertEquals(0, jdbcTemplate.queryForObject("""
+                    select count(*)
+                    from pg_trigger
+                    where tgrelid in ('movie'::regclass, 'director'::regclass)
+                    and not tgisinternal
+                    and tgtype & 1 = 1
+                """, Integer.class));
+    }
+
+    private long syncHorizon() {
+        return Long.parseUnsignedLong(jdbcTemplate.queryForObject("select pg_snapshot_xmin(pg_current_snapshot())::text", String.class));
+    }
+}
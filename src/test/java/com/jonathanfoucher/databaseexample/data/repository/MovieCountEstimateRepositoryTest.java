@@ -0,0 +1,67 @@
+package com.jonathanfoucher.databaseexample.data.repository;
+
+import com.jonathanfoucher.databaseexample.support.EmbeddedPostgresIntegrationTest;
+import com.jonathanfoucher.databaseexample.support.TestDataSeeder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class MovieCountEstimateRepositoryTest extends EmbeddedPostgresIntegrationTest {
+    @Autowired
+    private MovieCountEstimateRepository movieCountEstimateRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private static final int MOVIE_COUNT = 10_000;
+    private static final LocalDate RELEASE_AFTER = LocalDate.of(1970, 1, 1);
+
+    @BeforeEach
+    void init() {
+        new TestDataSeeder(jdbcTemplate).seed(10, MOVIE_COUNT);
+    }
+
+    @Test
+    void estimateCount() {
+        // WHEN
+        long result = movieCountEstimateRepository.estimateCount(null, null);
+
+        // THEN
+        assertEquals(MOVIE_COUNT, result);
+    }
+
+    @Test
+    void estimateCountWithParameters() {
+        // GIVEN
+        ZonedDateTime updatedSince = ZonedDateTime.now().minusYears(1);
+        long exactCount = count("release_date > ?", RELEASE_AFTER);
+
+        // WHEN
+        long result = movieCountEstimateRepository.estimateCount(RELEASE_AFTER, updatedSince);
+
+        // THEN
+        assertEquals(exactCount, result, exactCount * 0.1);
+    }
+
+    @Test
+    void estimateCountWithUpdatedSince() {
+        // GIVEN
+        ZonedDateTime updatedSince = ZonedDateTime.now().minusSeconds(MOVIE_COUNT / 2);
+        long exactCount = count("updated_at > ?", updatedSince.toOffsetDateTime());
+
+        // WHEN
+        long result = movieCountEstimateRepository.estimateCount(null, updatedSince);
+
+        // THEN
+        assertEquals(exactCount, result, exactCount * 0.1);
+    }
+
+    private long count(String predicate, Object parameter) {
+        return jdbcTemplate.queryForObject("select count(*) from movie where " + predicate, Long.class, parameter);
+    }
+}
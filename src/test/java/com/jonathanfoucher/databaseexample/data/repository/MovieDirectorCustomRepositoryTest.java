@@ -0,0 +1,73 @@
+package com.jonathanfoucher.databaseexample.data.repository;
+
+import com.jonathanfoucher.databaseexample.data.dto.FlatMovieDirectorDto;
+import com.jonathanfoucher.databaseexample.support.EmbeddedPostgresIntegrationTest;
+import com.jonathanfoucher.databaseexample.support.TestDataSeeder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MovieDirectorCustomRepositoryTest extends EmbeddedPostgresIntegrationTest {
+    @Autowired
+    private MovieDirectorCustomRepository movieDirectorCustomRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private static final int DIRECTOR_COUNT = 5;
+    private static final int MOVIE_COUNT = 20;
+    private static final Long DIRECTOR_WITHOUT_MOVIES_ID = 3L;
+
+    @BeforeEach
+    void init() {
+        new TestDataSeeder(jdbcTemplate).seed(DIRECTOR_COUNT, MOVIE_COUNT);
+        jdbcTemplate.update("delete from movie where director_id = ?", DIRECTOR_WITHOUT_MOVIES_ID);
+    }
+
+    @Test
+    void streamAllDirectorMovies() {
+        // WHEN
+        List<FlatMovieDirectorDto> results = transactionTemplate.execute(_ -> {
+            try (Stream<FlatMovieDirectorDto> directorMovies = movieDirectorCustomRepository.streamAllDirectorMovies()) {
+                return directorMovies.toList();
+            }
+        });
+
+        // THEN
+        assertNotNull(results);
+        assertEquals(MOVIE_COUNT - MOVIE_COUNT / DIRECTOR_COUNT + 1, results.size());
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), results.stream().map(FlatMovieDirectorDto::getDirectorId).distinct().toList());
+
+        FlatMovieDirectorDto directorWithoutMovies = results.stream()
+                .filter(directorMovie -> DIRECTOR_WITHOUT_MOVIES_ID.equals(directorMovie.getDirectorId()))
+                .findFirst()
+                .orElseThrow();
+        assertNull(directorWithoutMovies.getMovieId());
+        assertNull(directorWithoutMovies.getTitle());
+        assertNull(directorWithoutMovies.getReleaseDate());
+        assertEquals("first_name_3", directorWithoutMovies.getFirstName());
+    }
+
+    @Test
+    void streamAllFlatMovieDirectors() {
+        // WHEN
+        List<FlatMovieDirectorDto> results = transactionTemplate.execute(_ -> {
+            try (Stream<FlatMovieDirectorDto> flatMovieDirectors = movieDirectorCustomRepository.streamAllFlatMovieDirectors()) {
+                return flatMovieDirectors.toList();
+            }
+        });
+
+        // THEN
+        assertNotNull(results);
+        assertEquals(MOVIE_COUNT - MOVIE_COUNT / DIRECTOR_COUNT, results.size());
+        assertTrue(results.stream().allMatch(flatMovieDirector -> flatMovieDirector.getMovieId() != null));
+    }
+}
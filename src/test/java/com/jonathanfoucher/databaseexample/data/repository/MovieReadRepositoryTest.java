@@ -0,0 +1,97 @@
+package com.jonathanfoucher.databaseexample.data.repository;
+
+import com.jonathanfoucher.databaseexample.data.dto.MovieDto;
+import com.jonathanfoucher.databaseexample.support.EmbeddedPostgresIntegrationTest;
+import com.jonathanfoucher.databaseexample.support.TestDataSeeder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import static com.jonathanfoucher.databaseexample.data.repository.specifications.MovieSpecs.isReleasedAfter;
+import static com.jonathanfoucher.databaseexample.data.repository.specifications.MovieSpecs.isUpdatedSince;
+import static org.junit.jupiter.api.Assertions.*;
+
+class MovieReadRepositoryTest extends EmbeddedPostgresIntegrationTest {
+    @Autowired
+    private MovieReadRepository movieReadRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private static final int DIRECTOR_COUNT = 10;
+    private static final int MOVIE_COUNT = 1_000;
+    private static final LocalDate RELEASE_AFTER = LocalDate.of(1950, 6, 1);
+
+    @BeforeEach
+    void init() {
+        new TestDataSeeder(jdbcTemplate).seed(DIRECTOR_COUNT, MOVIE_COUNT);
+    }
+
+    @Test
+    void findAll() {
+        // WHEN
+        List<MovieDto> results = movieReadRepository.findAll(Specification.allOf(), Sort.by("id"), 0, 3);
+
+        // THEN
+        assertEquals(List.of(1L, 2L, 3L), ids(results));
+
+        MovieDto movie = results.getFirst();
+        assertEquals(2L, movie.getDirectorId());
+        assertEquals("title_1", movie.getTitle());
+        assertEquals(LocalDate.of(1950, 1, 2), movie.getReleaseDate());
+        assertNotNull(movie.getUpdatedAt());
+    }
+
+    @Test
+    void findAllWithSpecificationsAndOffset() {
+        // GIVEN
+        ZonedDateTime updatedSince = ZonedDateTime.now().minusSeconds(MOVIE_COUNT / 2);
+        List<Long> expectedIds = jdbcTemplate.queryForList("""
+                    select id
+                    from movie
+                    where release_date > ? and updated_at > ?
+                    order by release_date desc, id desc
+                    offset 10
+                    limit 20
+                """, Long.class, RELEASE_AFTER, updatedSince.toOffsetDateTime());
+
+        // WHEN
+        List<MovieDto> results = movieReadRepository.findAll(
+                Specification.allOf(isReleasedAfter(RELEASE_AFTER), isUpdatedSince(updatedSince)),
+                Sort.by(Sort.Direction.DESC, "releaseDate", "id"),
+                10,
+                20
+        );
+
+        // THEN
+        assertEquals(20, results.size());
+        assertEquals(expectedIds, ids(results));
+        assertTrue(results.stream().allMatch(movie -> movie.getReleaseDate().isAfter(RELEASE_AFTER)));
+    }
+
+    @Test
+    void findAllWithoutResult() {
+        // WHEN
+        List<MovieDto> results = movieReadRepository.findAll(
+                Specification.allOf(isReleasedAfter(LocalDate.of(2100, 1, 1))),
+                Sort.by("id"),
+                0,
+                20
+        );
+
+        // THEN
+        assertTrue(results.isEmpty());
+    }
+
+    private List<Long> ids(List<MovieDto> movies) {
+        return movies.stream()
+                .map(MovieDto::getId)
+                .toList();
+    }
+}
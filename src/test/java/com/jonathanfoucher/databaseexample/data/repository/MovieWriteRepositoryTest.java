@@ -0,0 +1,152 @@
+package com.jonathanfoucher.databaseexample.data.repository;
+
+import com.jonathanfoucher.databaseexample.data.model.Movie;
+import com.jonathanfoucher.databaseexample.support.EmbeddedPostgresIntegrationTest;
+import com.jonathanfoucher.databaseexample.support.TestDataSeeder;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cache.spi.access.EntityDataAccess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MovieWriteRepositoryTest extends EmbeddedPostgresIntegrationTest {
+    @Autowired
+    private MovieWriteRepository movieWriteRepository;
+    @Autowired
+    private MovieRepository movieRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private static final Long ID = 3L;
+    private static final Long UNKNOWN_ID = 100L;
+    private static final Long DIRECTOR_ID = 2L;
+    private static final String TITLE = "Some movie title";
+    private static final LocalDate RELEASE_DATE = LocalDate.of(2022, 8, 29);
+
+    @BeforeEach
+    void init() {
+        new TestDataSeeder(jdbcTemplate).seed(3, 6);
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    void update() {
+        // GIVEN
+        movieRepository.findById(ID);
+        assertTrue(entityManagerFactory.getCache().contains(Movie.class, ID));
+
+        // WHEN
+        Optional<Movie> result = transactionTemplate.execute(_ -> movieWriteRepository.update(initMovie(ID)));
+
+        // THEN
+        assertNotNull(result);
+        Movie movie = result.orElseThrow();
+        assertEquals(ID, movie.getId());
+        assertEquals(DIRECTOR_ID, movie.getDirectorId());
+        assertEquals(TITLE, movie.getTitle());
+        assertEquals(RELEASE_DATE, movie.getReleaseDate());
+        assertNotNull(movie.getUpdatedAt());
+        assertNull(getCachedMovie(ID));
+
+        Movie reloadedMovie = movieRepository.findById(ID).orElseThrow();
+        assertEquals(TITLE, reloadedMovie.getTitle());
+    }
+
+    @Test
+    void updateWithConcurrentLoad() {
+        // GIVEN
+        try (EntityManager concurrentEntityManager = entityManagerFactory.createEntityManager()) {
+            SessionImplementor concurrentSession = concurrentEntityManager.unwrap(SessionImplementor.class);
+            concurrentEntityManager.find(Movie.class, ID);
+            Object staleMovie = getCachedMovie(ID);
+            assertNotNull(staleMovie);
+
+            // WHEN
+            transactionTemplate.execute(_ -> movieWriteRepository.update(initMovie(ID)));
+            boolean cached = getCacheAccess().putFromLoad(concurrentSession, getCacheKey(ID), staleMovie, null);
+
+            // THEN
+            assertFalse(cached);
+            assertNull(getCachedMovie(ID));
+            assertEquals(TITLE, movieRepository.findById(ID).orElseThrow().getTitle());
+        }
+    }
+
+    @Test
+    void updateWithMovieNotFound() {
+        // WHEN
+        Optional<Movie> result = transactionTemplate.execute(_ -> movieWriteRepository.update(initMovie(UNKNOWN_ID)));
+
+        // THEN
+        assertEquals(Optional.empty(), result);
+        assertEquals(0, jdbcTemplate.queryForObject("select count(*) from movie where id = ?", Integer.class, UNKNOWN_ID));
+    }
+
+    @Test
+    void deleteById() {
+        // GIVEN
+        movieRepository.findById(ID);
+
+        // WHEN
+        Boolean result = transactionTemplate.execute(_ -> movieWriteRepository.deleteById(ID));
+
+        // THEN
+        assertEquals(Boolean.TRUE, result);
+        assertNull(getCachedMovie(ID));
+        assertTrue(movieRepository.findById(ID).isEmpty());
+    }
+
+    @Test
+    void deleteByIdWithMovieNotFound() {
+        // WHEN
+        Boolean result = transactionTemplate.execute(_ -> movieWriteRepository.deleteById(UNKNOWN_ID));
+
+        // THEN
+        assertEquals(Boolean.FALSE, result);
+        assertEquals(6, jdbcTemplate.queryForObject("select count(*) from movie", Integer.class));
+    }
+
+    private Object getCachedMovie(Long id) {
+        try (EntityManager entityManager = entityManagerFactory.createEntityManager()) {
+            return getCacheAccess().get(entityManager.unwrap(SessionImplementor.class), getCacheKey(id));
+        }
+    }
+
+    private Object getCacheKey(Long id) {
+        return getCacheAccess().generateCacheKey(id, getPersister(), entityManagerFactory.unwrap(SessionFactoryImplementor.class), null);
+    }
+
+    private EntityDataAccess getCacheAccess() {
+        return getPersister().getCacheAccessStrategy();
+    }
+
+    private EntityPersister getPersister() {
+        return entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getMappingMetamodel()
+                .getEntityDescriptor(Movie.class);
+    }
+
+    private Movie initMovie(Long id) {
+        Movie movie = new Movie();
+        movie.setId(id);
+        movie.setDirectorId(DIRECTOR_ID);
+        movie.setTitle(TITLE);
+        movie.setReleaseDate(RELEASE_DATE);
+        return movie;
+    }
+}
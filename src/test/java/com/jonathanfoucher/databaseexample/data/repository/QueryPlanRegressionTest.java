@@ -0,0 +1,301 @@
+package com.jonathanfoucher.databaseexample.data.repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jonathanfoucher.databaseexample.common.pagination.MovieSortKey;
+import com.jonathanfoucher.databaseexample.data.dto.CatalogChangePosition;
+import com.jonathanfoucher.databaseexample.data.dto.CursorPageDto;
+import com.jonathanfoucher.databaseexample.data.dto.MovieDto;
+import com.jonathanfoucher.databaseexample.services.MovieService;
+import com.jonathanfoucher.databaseexample.support.EmbeddedPostgresIntegrationTest;
+import com.jonathanfoucher.databaseexample.support.StatementRecorder;
+import com.jonathanfoucher.databaseexample.support.TestDataSeeder;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@Import(StatementRecorder.class)
+class QueryPlanRegressionTest extends EmbeddedPostgresIntegrationTest {
+    @Autowired
+    private StatementRecorder statementRecorder;
+    @Autowired
+    private DirectorRepository directorRepository;
+    @Autowired
+    private MovieRepository movieRepository;
+    @Autowired
+    private MovieDirectorCustomRepository movieDirectorCustomRepository;
+    @Autowired
+    private CatalogChangeRepository catalogChangeRepository;
+    @Autowired
+    private SearchRepository searchRepository;
+    @Autowired
+    private MovieService movieService;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private static final int DIRECTOR_COUNT = 20_000;
+    private static final int MOVIE_COUNT = 200_000;
+    private static final Long ID = 15L;
+    private static final String LAST_NAME = "last_name_42";
+    private static final String SEARCH_QUERY = "titel_4242";
+    private static final LocalDate RELEASE_DATE = LocalDate.of(2023, 6, 1);
+    private static final int PAGE_SIZE = 1_000;
+
+    private static final List<String> SORT_NODE_TYPES = List.of("Sort", "Incremental Sort");
+    private static final String SEQ_SCAN_NODE_TYPE = "Seq Scan";
+
+    @BeforeAll
+    void seed() {
+        new TestDataSeeder(jdbcTemplate).seed(DIRECTOR_COUNT, MOVIE_COUNT);
+    }
+
+    @BeforeEach
+    void init() {
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    void findDirectorById() {
+        // WHEN
+        List<String> statements = statementRecorder.record(() -> directorRepository.findById(ID));
+
+        // THEN
+        assertIndexedPlans(statements);
+    }
+
+    @Test
+    void findDirectorUpdatedAtById() {
+        // WHEN
+        List<String> statements = statementRecorder.record(() -> directorRepository.findUpdatedAtById(ID));
+
+        // THEN
+        assertIndexedPlans(statements);
+    }
+
+    @Test
+    void findDirectorsByLastName() {
+        // WHEN
+        List<String> statements = statementRecorder.record(() -> consumeInTransaction(() -> directorRepository.findByLastName(LAST_NAME)));
+
+        // THEN
+        assertIndexedPlans(statements);
+    }
+
+    @Test
+    void findAllDirectorsByOrderByLastNameAscFirstNameAsc() {
+        // WHEN
+        List<String> statements = statementRecorder.record(() -> consumeInTransaction(directorRepository::findAllByOrderByLastNameAscFirstNameAsc));
+
+        // THEN
+        assertIndexedPlans(statements);
+    }
+
+    @Test
+    void findMovieById() {
+        // WHEN
+        List<String> statements = statementRecorder.record(() -> movieRepository.findById(ID));
+
+        // THEN
+        assertIndexedPlans(statements);
+    }
+
+    @Test
+    void findMovieUpdatedAtById() {
+        // WHEN
+        List<String> statements = statementRecorder.record(() -> movieRepository.findUpdatedAtById(ID));
+
+        // THEN
+        assertIndexedPlans(statements);
+    }
+
+    @Test
+    void findAllMoviesReleasedAfter() {
+        // WHEN
+        List<String> statements = statementRecorder.record(() -> movieService.findAllFiltered(
+                PageRequest.of(0, 20),
+                RELEASE_DATE,
+                null
+        ));
+
+        // THEN
+        assertThat(statements).hasSize(2);
+        assertIndexedPlans(statements);
+    }
+
+    @Test
+    void findAllMoviesUpdatedSince() {
+        // WHEN
+        List<String> statements = statementRecorder.record(() -> movieService.findAllFiltered(
+                PageRequest.of(0, 20),
+                null,
+                ZonedDateTime.now().minusHours(1)
+        ));
+
+        // THEN
+        assertThat(statements).hasSize(2);
+        assertIndexedPlans(statements);
+    }
+
+    @Test
+    void findAllMoviesByCursor() {
+        for (MovieSortKey sortKey : MovieSortKey.values()) {
+            // GIVEN
+            CursorPageDto<MovieDto> firstPage = movieService.findAllFilteredByCursor(null, sortKey.getParameter(), 20, null, null);
+
+            // WHEN
+            List<String> statements = new ArrayList<>();
+            statements.addAll(statementRecorder.record(() ->
+                    movieService.findAllFilteredByCursor(null, sortKey.getParameter(), 20, null, null)));
+            statements.addAll(statementRecorder.record(() ->
+                    movieService.findAllFilteredByCursor(firstPage.getNextCursor(), sortKey.getParameter(), 20, null, null)));
+
+            // THEN
+            assertThat(statements).hasSize(2);
+            assertIndexedPlans(statements);
+        }
+    }
+
+    @Test
+    void forEachMovieDirectorLink() {
+        // WHEN
+        List<String> statements = statementRecorder.record(() -> transactionTemplate.executeWithoutResult(_ ->
+                movieDirectorCustomRepository.forEachMovieDirectorLink((_, _) -> {
+                })));
+
+        // THEN
+        assertIndexedPlans(statements);
+    }
+
+    @Test
+    void streamAllFlatMovieDirectors() {
+        // WHEN
+        List<String> statements = statementRecorder.record(() -> transactionTemplate.executeWithoutResult(_ -> {
+            try (Stream<?> flatMovieDirectors = movieDirectorCustomRepository.streamAllFlatMovieDirectors()) {
+                flatMovieDirectors.findFirst();
+            }
+        }));
+
+        // THEN
+        assertIndexedPlans(statements);
+    }
+
+    @Test
+    void streamAllDirectorMovies() {
+        // WHEN
+        List<String> statements = statementRecorder.record(() -> transactionTemplate.executeWithoutResult(_ -> {
+            try (Stream<?> directorMovies = movieDirectorCustomRepository.streamAllDirectorMovies()) {
+                directorMovies.findFirst();
+            }
+        }));
+
+        // THEN
+        assertNoSequentialScans(statements);
+    }
+
+    @Test
+    void findAllCommittedCatalogChanges() {
+        // GIVEN
+        long fromTransactionId = catalogChangeRepository.findSyncHorizon();
+        jdbcTemplate.update("update movie set title = title where id = ?", ID);
+        long toTransactionId = catalogChangeRepository.findSyncHorizon();
+
+        // WHEN
+        List<String> statements = statementRecorder.record(() -> catalogChangeRepository.findAllCommittedBetween(
+                CatalogChangePosition.startOf(fromTransactionId),
+                toTransactionId,
+                PAGE_SIZE + 1
+        ));
+
+        // THEN
+        assertIndexedPlans(statements);
+    }
+
+    @Test
+    void findFirstCatalogChangesPage() {
+        // GIVEN
+        long toTransactionId = catalogChangeRepository.findSyncHorizon();
+
+        // WHEN
+        List<String> statements = statementRecorder.record(() -> catalogChangeRepository.findAllCommittedBetween(
+                CatalogChangePosition.startOf(0L),
+                toTransactionId,
+                PAGE_SIZE + 1
+        ));
+
+        // THEN
+        assertIndexedPlans(statements);
+    }
+
+    @Test
+    void search() {
+        // WHEN
+        List<String> statements = statementRecorder.record(() -> searchRepository.search(SEARCH_QUERY, 21, 0));
+
+        // THEN
+        assertNoSequentialScans(statements);
+    }
+
+    private void consumeInTransaction(Supplier<? extends Stream<?>> query) {
+        transactionTemplate.executeWithoutResult(_ -> {
+            try (Stream<?> results = query.get()) {
+                results.forEach(_ -> {
+                });
+            }
+        });
+    }
+
+    private void assertIndexedPlans(List<String> statements) {
+        assertThat(statements).isNotEmpty();
+        statements.forEach(statement -> assertThat(explainNodeTypes(statement))
+                .as(statement)
+                .doesNotContain(SEQ_SCAN_NODE_TYPE)
+                .doesNotContainAnyElementsOf(SORT_NODE_TYPES));
+    }
+
+    private void assertNoSequentialScans(List<String> statements) {
+        assertThat(statements).isNotEmpty();
+        statements.forEach(statement -> assertThat(explainNodeTypes(statement))
+                .as(statement)
+                .doesNotContain(SEQ_SCAN_NODE_TYPE));
+    }
+
+    private List<String> explainNodeTypes(String statement) {
+        try {
+            String plan = jdbcTemplate.queryForObject("explain (format json) " + statement, String.class);
+            List<String> nodeTypes = new ArrayList<>();
+            collectNodeTypes(objectMapper.readTree(plan).get(0).get("Plan"), nodeTypes);
+            return nodeTypes;
+        } catch (JsonProcessingException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    private void collectNodeTypes(JsonNode plan, List<String> nodeTypes) {
+        nodeTypes.add(plan.get("Node Type").asText());
+        plan.path("Plans").forEach(child -> collectNodeTypes(child, nodeTypes));
+    }
+}
@@ -0,0 +1,69 @@
+package com.jonathanfoucher.databaseexample.data.repository;
+
+import com.jonathanfoucher.databaseexample.data.dto.SearchResultDto;
+import com.jonathanfoucher.databaseexample.support.EmbeddedPostgresIntegrationTest;
+import com.jonathanfoucher.databaseexample.support.TestDataSeeder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SearchRepositoryTest extends EmbeddedPostgresIntegrationTest {
+    @Autowired
+    private SearchRepository searchRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private static final Long DIRECTOR_ID = 100L;
+    private static final Long MOVIE_ID = 100L;
+    private static final Long OTHER_MOVIE_ID = 101L;
+
+    @BeforeEach
+    void init() {
+        new TestDataSeeder(jdbcTemplate).seed(3, 6);
+        jdbcTemplate.update("insert into director (id, first_name, last_name, updated_at) values (?, 'Quentin', 'Tarantino', now())", DIRECTOR_ID);
+        jdbcTemplate.update("insert into movie (id, director_id, title, release_date, updated_at) values (?, ?, 'Pulp Fiction', date '1994-10-14', now())", MOVIE_ID, DIRECTOR_ID);
+        jdbcTemplate.update("insert into movie (id, director_id, title, release_date, updated_at) values (?, ?, 'Pulp Fictions Returns', date '2004-10-14', now())", OTHER_MOVIE_ID, DIRECTOR_ID);
+    }
+
+    @Test
+    void searchWithTypo() {
+        // WHEN
+        List<SearchResultDto> results = searchRepository.search("tarantno", 10, 0);
+
+        // THEN
+        assertEquals(1, results.size());
+        SearchResultDto result = results.getFirst();
+        assertEquals("director", result.getType());
+        assertEquals(DIRECTOR_ID, result.getId());
+        assertEquals("Quentin Tarantino", result.getLabel());
+        assertTrue(result.getScore() > 0.0);
+    }
+
+    @Test
+    void searchRankedAndPaginated() {
+        // WHEN
+        List<SearchResultDto> firstPage = searchRepository.search("pulp fiction", 1, 0);
+        List<SearchResultDto> secondPage = searchRepository.search("pulp fiction", 1, 1);
+
+        // THEN
+        assertEquals(1, firstPage.size());
+        assertEquals(MOVIE_ID, firstPage.getFirst().getId());
+        assertEquals(1, secondPage.size());
+        assertEquals(OTHER_MOVIE_ID, secondPage.getFirst().getId());
+        assertTrue(firstPage.getFirst().getScore() >= secondPage.getFirst().getScore());
+    }
+
+    @Test
+    void searchWithoutMatch() {
+        // WHEN
+        List<SearchResultDto> results = searchRepository.search("zzzzzz", 10, 0);
+
+        // THEN
+        assertTrue(results.isEmpty());
+    }
+}
@@ -0,0 +1,137 @@
+package com.jonathanfoucher.databaseexample.data.routing;
+
+import com.jonathanfoucher.databaseexample.common.properties.ReplicaProperties;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ReadYourWritesTest {
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+    private TransactionExecution transaction;
+    private ReadYourWrites readYourWrites;
+
+    private static final Instant NOW = Instant.parse("2025-03-01T10:00:00Z");
+    private static final Duration WINDOW = Duration.ofSeconds(10);
+    private static final long PINNED_UNTIL = NOW.plus(WINDOW).toEpochMilli();
+
+    @BeforeEach
+    void init() {
+        request = new MockHttpServletRequest();
+        request.setContextPath("/database-example");
+        response = new MockHttpServletResponse();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request, response));
+
+        transaction = mock(TransactionExecution.class);
+        ReplicaProperties replicaProperties = new ReplicaProperties(true, List.of(), Duration.ofSeconds(5), Duration.ofSeconds(5), WINDOW);
+        readYourWrites = new ReadYourWrites(replicaProperties, Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @AfterEach
+    void clear() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void afterCommit() {
+        // WHEN
+        readYourWrites.afterCommit(transaction, null);
+
+        // THEN
+        Cookie cookie = response.getCookie(ReadYourWrites.COOKIE_NAME);
+        assertNotNull(cookie);
+        assertEquals(Long.toString(PINNED_UNTIL), cookie.getValue());
+        assertEquals("/database-example", cookie.getPath());
+        assertEquals(10, cookie.getMaxAge());
+        assertTrue(cookie.isHttpOnly());
+        assertTrue(readYourWrites.isPinnedToPrimary());
+    }
+
+    @Test
+    void afterCommitWithReadOnlyTransaction() {
+        // GIVEN
+        when(transaction.isReadOnly())
+                .thenReturn(true);
+
+        // WHEN
+        readYourWrites.afterCommit(transaction, null);
+
+        // THEN
+        assertNull(response.getCookie(ReadYourWrites.COOKIE_NAME));
+        assertFalse(readYourWrites.isPinnedToPrimary());
+    }
+
+    @Test
+    void afterCommitWithCommitFailure() {
+        // WHEN
+        readYourWrites.afterCommit(transaction, new IllegalStateException("commit failed"));
+
+        // THEN
+        assertNull(response.getCookie(ReadYourWrites.COOKIE_NAME));
+        assertFalse(readYourWrites.isPinnedToPrimary());
+    }
+
+    @Test
+    void afterCommitOutsideRequest() {
+        // GIVEN
+        RequestContextHolder.resetRequestAttributes();
+
+        // WHEN
+        readYourWrites.afterCommit(transaction, null);
+
+        // THEN
+        assertNull(response.getCookie(ReadYourWrites.COOKIE_NAME));
+        assertFalse(readYourWrites.isPinnedToPrimary());
+    }
+
+    @Test
+    void isPinnedToPrimaryWithCookie() {
+        // GIVEN
+        request.setCookies(new Cookie(ReadYourWrites.COOKIE_NAME, Long.toString(PINNED_UNTIL)));
+
+        // WHEN
+        boolean result = readYourWrites.isPinnedToPrimary();
+
+        // THEN
+        assertTrue(result);
+    }
+
+    @Test
+    void isPinnedToPrimaryWithExpiredCookie() {
+        // GIVEN
+        request.setCookies(new Cookie(ReadYourWrites.COOKIE_NAME, Long.toString(NOW.minusMillis(1).toEpochMilli())));
+
+        // WHEN
+        boolean result = readYourWrites.isPinnedToPrimary();
+
+        // THEN
+        assertFalse(result);
+    }
+
+    @Test
+    void isPinnedToPrimaryWithInvalidCookie() {
+        // GIVEN
+        request.setCookies(new Cookie(ReadYourWrites.COOKIE_NAME, "invalid"));
+
+        // WHEN
+        boolean result = readYourWrites.isPinnedToPrimary();
+
+        // THEN
+        assertFalse(result);
+    }
+}
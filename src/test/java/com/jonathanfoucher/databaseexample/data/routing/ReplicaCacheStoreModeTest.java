@@ -0,0 +1,95 @@
+package com.jonathanfoucher.databaseexample.data.routing;
+
+import jakarta.persistence.CacheStoreMode;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.mockito.Mockito.*;
+
+class ReplicaCacheStoreModeTest {
+    private EntityManagerFactory entityManagerFactory;
+    private EntityManager entityManager;
+    private ReadYourWrites readYourWrites;
+    private TransactionExecution transaction;
+    private ReplicaCacheStoreMode replicaCacheStoreMode;
+
+    @BeforeEach
+    void init() {
+        entityManagerFactory = mock(EntityManagerFactory.class);
+        entityManager = mock(EntityManager.class);
+        readYourWrites = mock(ReadYourWrites.class);
+        transaction = mock(TransactionExecution.class);
+        TransactionSynchronizationManager.bindResource(entityManagerFactory, new EntityManagerHolder(entityManager));
+        replicaCacheStoreMode = new ReplicaCacheStoreMode(readYourWrites, entityManagerFactory);
+    }
+
+    @AfterEach
+    void clear() {
+        TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+    }
+
+    @Test
+    void afterBeginReadOnly() {
+        // GIVEN
+        when(transaction.isReadOnly()).thenReturn(true);
+
+        // WHEN
+        replicaCacheStoreMode.afterBegin(transaction, null);
+
+        // THEN
+        verify(entityManager, times(1)).setProperty(AvailableSettings.JAKARTA_SHARED_CACHE_STORE_MODE, CacheStoreMode.BYPASS);
+    }
+
+    @Test
+    void afterBeginReadOnlyPinnedToPrimary() {
+        // GIVEN
+        when(transaction.isReadOnly()).thenReturn(true);
+        when(readYourWrites.isPinnedToPrimary()).thenReturn(true);
+
+        // WHEN
+        replicaCacheStoreMode.afterBegin(transaction, null);
+
+        // THEN
+        verify(entityManager, never()).setProperty(anyString(), any());
+    }
+
+    @Test
+    void afterBeginReadWrite() {
+        // WHEN
+        replicaCacheStoreMode.afterBegin(transaction, null);
+
+        // THEN
+        verify(entityManager, never()).setProperty(anyString(), any());
+    }
+
+    @Test
+    void afterCommitReadOnly() {
+        // GIVEN
+        when(transaction.isReadOnly()).thenReturn(true);
+
+        // WHEN
+        replicaCacheStoreMode.afterCommit(transaction, null);
+
+        // THEN
+        verify(entityManager, times(1)).setProperty(AvailableSettings.JAKARTA_SHARED_CACHE_STORE_MODE, CacheStoreMode.USE);
+    }
+
+    @Test
+    void afterRollbackReadOnly() {
+        // GIVEN
+        when(transaction.isReadOnly()).thenReturn(true);
+
+        // WHEN
+        replicaCacheStoreMode.afterRollback(transaction, null);
+
+        // THEN
+        verify(entityManager, times(1)).setProperty(AvailableSettings.JAKARTA_SHARED_CACHE_STORE_MODE, CacheStoreMode.USE);
+    }
+}
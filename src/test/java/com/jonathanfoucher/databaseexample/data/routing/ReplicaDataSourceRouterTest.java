@@ -0,0 +1,135 @@
+package com.jonathanfoucher.databaseexample.data.routing;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ReplicaDataSourceRouterTest {
+    private DataSource primaryDataSource;
+    private DataSource firstReplicaDataSource;
+    private DataSource secondReplicaDataSource;
+    private ReadYourWrites readYourWrites;
+    private MeterRegistry meterRegistry;
+    private ReplicaDataSourceRouter router;
+
+    private static final Duration MAX_LAG = Duration.ofSeconds(5);
+
+    @BeforeEach
+    void init() {
+        primaryDataSource = mock(DataSource.class);
+        firstReplicaDataSource = mock(DataSource.class);
+        secondReplicaDataSource = mock(DataSource.class);
+        readYourWrites = mock(ReadYourWrites.class);
+        meterRegistry = new SimpleMeterRegistry();
+
+        List<ReplicaDataSourceRouter.Replica> replicas = List.of(
+                new ReplicaDataSourceRouter.Replica("replica-0", firstReplicaDataSource),
+                new ReplicaDataSourceRouter.Replica("replica-1", secondReplicaDataSource)
+        );
+        router = spy(new ReplicaDataSourceRouter(primaryDataSource, replicas, readYourWrites, MAX_LAG, meterRegistry));
+    }
+
+    @Test
+    void determineTargetDataSource() {
+        // GIVEN
+        doReturn(Duration.ZERO).when(router).measureLag(any());
+        router.checkReplicas();
+
+        // WHEN
+        DataSource first = router.determineTargetDataSource();
+        DataSource second = router.determineTargetDataSource();
+        DataSource third = router.determineTargetDataSource();
+
+        // THEN
+        assertEquals(firstReplicaDataSource, first);
+        assertEquals(secondReplicaDataSource, second);
+        assertEquals(firstReplicaDataSource, third);
+        assertEquals(1.0, replicaGauge("database.replica.available", "replica-0"));
+        assertEquals(1.0, replicaGauge("database.replica.available", "replica-1"));
+    }
+
+    @Test
+    void determineTargetDataSourceBeforeHealthCheck() {
+        // WHEN
+        DataSource result = router.determineTargetDataSource();
+
+        // THEN
+        assertEquals(primaryDataSource, result);
+    }
+
+    @Test
+    void determineTargetDataSourceWithReplicaLagging() {
+        // GIVEN
+        doReturn(Duration.ofSeconds(30)).when(router).measureLag(firstReplicaDataSource);
+        doReturn(Duration.ofSeconds(1)).when(router).measureLag(secondReplicaDataSource);
+        router.checkReplicas();
+
+        // WHEN
+        DataSource first = router.determineTargetDataSource();
+        DataSource second = router.determineTargetDataSource();
+
+        // THEN
+        assertEquals(secondReplicaDataSource, first);
+        assertEquals(secondReplicaDataSource, second);
+        assertEquals(0.0, replicaGauge("database.replica.available", "replica-0"));
+        assertEquals(30.0, replicaGauge("database.replica.lag", "replica-0"));
+    }
+
+    @Test
+    void determineTargetDataSourceWithReplicasUnreachable() {
+        // GIVEN
+        doThrow(new IllegalStateException("connection refused")).when(router).measureLag(any());
+        router.checkReplicas();
+
+        // WHEN
+        DataSource result = router.determineTargetDataSource();
+
+        // THEN
+        assertEquals(primaryDataSource, result);
+        assertEquals(0.0, replicaGauge("database.replica.available", "replica-0"));
+        assertEquals(0.0, replicaGauge("database.replica.available", "replica-1"));
+    }
+
+    @Test
+    void determineTargetDataSourceWithReplicaRecovered() {
+        // GIVEN
+        doThrow(new IllegalStateException("connection refused")).when(router).measureLag(any());
+        router.checkReplicas();
+        doReturn(Duration.ZERO).when(router).measureLag(any());
+        router.checkReplicas();
+
+        // WHEN
+        DataSource result = router.determineTargetDataSource();
+
+        // THEN
+        assertEquals(firstReplicaDataSource, result);
+    }
+
+    @Test
+    void determineTargetDataSourceWithReadYourWrites() {
+        // GIVEN
+        doReturn(Duration.ZERO).when(router).measureLag(any());
+        router.checkReplicas();
+
+        when(readYourWrites.isPinnedToPrimary())
+                .thenReturn(true);
+
+        // WHEN
+        DataSource result = router.determineTargetDataSource();
+
+        // THEN
+        assertEquals(primaryDataSource, result);
+    }
+
+    private double replicaGauge(String name, String replica) {
+        return meterRegistry.get(name).tag("replica", replica).gauge().value();
+    }
+}
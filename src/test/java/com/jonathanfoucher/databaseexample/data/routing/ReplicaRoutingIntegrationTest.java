@@ -0,0 +1,178 @@
+package com.jonathanfoucher.databaseexample.data.routing;
+
+import com.jonathanfoucher.databaseexample.data.dto.DirectorDto;
+import com.jonathanfoucher.databaseexample.data.model.Director;
+import com.jonathanfoucher.databaseexample.services.DirectorService;
+import com.jonathanfoucher.databaseexample.support.EmbeddedPostgresIntegrationTest;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.servlet.http.Cookie;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReplicaRoutingIntegrationTest extends EmbeddedPostgresIntegrationTest {
+    private static final EmbeddedPostgres REPLICA = startReplica();
+    private static final String REPLICA_URL = REPLICA.getJdbcUrl("postgres", "postgres") + "&currentSchema=movie";
+
+    @Autowired
+    private DirectorService directorService;
+    @Autowired
+    private ReplicaDataSourceRouter replicaDataSourceRouter;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final JdbcTemplate replicaJdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "postgres", "postgres"));
+
+    private static final Long ID = 1L;
+    private static final String PRIMARY_FIRST_NAME = "Primary";
+    private static final String REPLICA_FIRST_NAME = "Replica";
+    private static final String LAST_NAME = "Doe";
+
+    @DynamicPropertySource
+    static void replicaProperties(DynamicPropertyRegistry registry) {
+        registry.add("database-example.replicas.enabled", () -> true);
+        registry.add("database-example.replicas.urls", () -> REPLICA_URL);
+    }
+
+    @BeforeEach
+    void init() {
+        insertDirector(jdbcTemplate, PRIMARY_FIRST_NAME);
+        insertDirector(replicaJdbcTemplate, REPLICA_FIRST_NAME);
+        entityManagerFactory.getCache().evictAll();
+        replicaDataSourceRouter.checkReplicas();
+    }
+
+    @AfterEach
+    void clear() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void readOnlyTransactionUsesReplica() {
+        // WHEN
+        DirectorDto result = directorService.findById(ID);
+
+        // THEN
+        assertEquals(REPLICA_FIRST_NAME, result.getFirstName());
+    }
+
+    @Test
+    void staleReplicaReadIsNotCached() {
+        // GIVEN
+        bindRequest(new MockHttpServletRequest());
+        DirectorDto replicaResult = directorService.findById(ID);
+        boolean cachedAfterReplicaRead = entityManagerFactory.getCache().contains(Director.class, ID);
+
+        MockHttpServletRequest pinnedRequest = new MockHttpServletRequest();
+        pinnedRequest.setCookies(new Cookie(ReadYourWrites.COOKIE_NAME, Long.toString(Long.MAX_VALUE)));
+        bindRequest(pinnedRequest);
+        DirectorDto primaryResult = directorService.findById(ID);
+        boolean cachedAfterPrimaryRead = entityManagerFactory.getCache().contains(Director.class, ID);
+
+        // WHEN
+        bindRequest(new MockHttpServletRequest());
+        DirectorDto cachedResult = directorService.findById(ID);
+
+        // THEN
+        assertEquals(REPLICA_FIRST_NAME, replicaResult.getFirstName());
+        assertFalse(cachedAfterReplicaRead);
+        assertEquals(PRIMARY_FIRST_NAME, primaryResult.getFirstName());
+        assertTrue(cachedAfterPrimaryRead);
+        assertEquals(PRIMARY_FIRST_NAME, cachedResult.getFirstName());
+    }
+
+    @Test
+    void readWriteTransactionUsesPrimary() {
+        // GIVEN
+        DirectorDto director = new DirectorDto();
+        director.setFirstName("John");
+        director.setLastName(LAST_NAME);
+
+        // WHEN
+        directorService.save(director);
+
+        // THEN
+        assertEquals(2, countDirectors(jdbcTemplate));
+        assertEquals(1, countDirectors(replicaJdbcTemplate));
+    }
+
+    @Test
+    void readYourWritesAfterSave() {
+        // GIVEN
+        MockHttpServletResponse writeResponse = bindRequest(new MockHttpServletRequest());
+
+        DirectorDto director = directorService.findById(ID);
+        director.setFirstName("Updated");
+
+        // WHEN
+        directorService.save(director);
+        entityManagerFactory.getCache().evictAll();
+        DirectorDto sameRequestResult = directorService.findById(ID);
+
+        MockHttpServletRequest nextRequest = new MockHttpServletRequest();
+        nextRequest.setCookies(writeResponse.getCookie(ReadYourWrites.COOKIE_NAME));
+        bindRequest(nextRequest);
+        entityManagerFactory.getCache().evictAll();
+        DirectorDto nextRequestResult = directorService.findById(ID);
+
+        bindRequest(new MockHttpServletRequest());
+        entityManagerFactory.getCache().evictAll();
+        DirectorDto otherSessionResult = directorService.findById(ID);
+
+        // THEN
+        Cookie cookie = writeResponse.getCookie(ReadYourWrites.COOKIE_NAME);
+        assertNotNull(cookie);
+        assertEquals("Updated", sameRequestResult.getFirstName());
+        assertEquals("Updated", nextRequestResult.getFirstName());
+        assertEquals(REPLICA_FIRST_NAME, otherSessionResult.getFirstName());
+    }
+
+    private MockHttpServletResponse bindRequest(MockHttpServletRequest request) {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request, response));
+        return response;
+    }
+
+    private void insertDirector(JdbcTemplate template, String firstName) {
+        template.execute("truncate table movie, director, catalog_change restart identity cascade");
+        template.update("insert into director (id, first_name, last_name, updated_at) values (?, ?, ?, now())", ID, firstName, LAST_NAME);
+        template.execute("select setval('director_id_seq', 1)");
+    }
+
+    private int countDirectors(JdbcTemplate template) {
+        Integer count = template.queryForObject("select count(*) from director", Integer.class);
+        return count != null ? count : 0;
+    }
+
+    private static EmbeddedPostgres startReplica() {
+        try {
+            EmbeddedPostgres replica = EmbeddedPostgres.start();
+            Flyway.configure()
+                    .dataSource(replica.getPostgresDatabase())
+                    .schemas("movie")
+                    .load()
+                    .migrate();
+            return replica;
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.jonathanfoucher.databaseexample.services;
+
+import com.jonathanfoucher.databaseexample.common.errors.InvalidImportException;
+import com.jonathanfoucher.databaseexample.data.dto.ImportReportDto;
+import com.jonathanfoucher.databaseexample.data.repository.CatalogImportRepository;
+import com.jonathanfoucher.databaseexample.services.events.DirectorsImportedEvent;
+import com.jonathanfoucher.databaseexample.services.events.MoviesImportedEvent;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.List;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@SpringJUnitConfig(CatalogImportService.class)
+@RecordApplicationEvents
+class CatalogImportServiceTest {
+    @Autowired
+    private CatalogImportService catalogImportService;
+    @MockitoBean
+    private CatalogImportRepository catalogImportRepository;
+    @Autowired
+    private ApplicationEvents applicationEvents;
+
+    private static final long COPIED_ROW_COUNT = 1000L;
+    private static final long MERGED_ROW_COUNT = 800L;
+
+    @Test
+    void importDirectors() {
+        // GIVEN
+        InputStream csv = initCsv();
+
+        when(catalogImportRepository.copyDirectors(csv))
+                .thenReturn(COPIED_ROW_COUNT);
+        when(catalogImportRepository.mergeDirectors())
+                .thenReturn(MERGED_ROW_COUNT);
+
+        // WHEN
+        ImportReportDto result = catalogImportService.importDirectors(csv);
+
+        // THEN
+        verify(catalogImportRepository, times(1)).copyDirectors(csv);
+        verify(catalogImportRepository, times(1)).mergeDirectors();
+
+        checkReport(result, "director");
+
+        List<DirectorsImportedEvent> events = applicationEvents.stream(DirectorsImportedEvent.class).toList();
+        assertEquals(1, events.size());
+        assertEquals(MERGED_ROW_COUNT, events.getFirst().mergedRowCount());
+    }
+
+    @Test
+    void importDirectorsWithInvalidFile() {
+        // GIVEN
+        InputStream csv = initCsv();
+
+        when(catalogImportRepository.copyDirectors(csv))
+                .thenThrow(new DataIntegrityViolationException("some error"));
+
+        // WHEN / THEN
+        assertThatThrownBy(() -> catalogImportService.importDirectors(csv))
+                .isInstanceOf(InvalidImportException.class)
+                .hasMessage("Invalid director import file : some error");
+
+        verify(catalogImportRepository, times(1)).copyDirectors(csv);
+        verify(catalogImportRepository, never()).mergeDirectors();
+        assertEquals(0, applicationEvents.stream(DirectorsImportedEvent.class).count());
+    }
+
+    @Test
+    void importMovies() {
+        // GIVEN
+        InputStream csv = initCsv();
+
+        when(catalogImportRepository.copyMovies(csv))
+                .thenReturn(COPIED_ROW_COUNT);
+        when(catalogImportRepository.mergeMovies())
+                .thenReturn(MERGED_ROW_COUNT);
+
+        // WHEN
+        ImportReportDto result = catalogImportService.importMovies(csv);
+
+        // THEN
+        verify(catalogImportRepository, times(1)).copyMovies(csv);
+        verify(catalogImportRepository, times(1)).mergeMovies();
+
+        checkReport(result, "movie");
+
+        List<MoviesImportedEvent> events = applicationEvents.stream(MoviesImportedEvent.class).toList();
+        assertEquals(1, events.size());
+        assertEquals(MERGED_ROW_COUNT, events.getFirst().mergedRowCount());
+    }
+
+    @Test
+    void importMoviesWithInvalidFile() {
+        // GIVEN
+        InputStream csv = initCsv();
+
+        when(catalogImportRepository.copyMovies(csv))
+                .thenReturn(COPIED_ROW_COUNT);
+        when(catalogImportRepository.mergeMovies())
+                .thenThrow(new DataIntegrityViolationException("some error"));
+
+        // WHEN / THEN
+        assertThatThrownBy(() -> catalogImportService.importMovies(csv))
+                .isInstanceOf(InvalidImportException.class)
+                .hasMessage("Invalid movie import file : some error");
+
+        verify(catalogImportRepository, times(1)).copyMovies(csv);
+        verify(catalogImportRepository, times(1)).mergeMovies();
+        assertEquals(0, applicationEvents.stream(MoviesImportedEvent.class).count());
+    }
+
+    private InputStream initCsv() {
+        return new ByteArrayInputStream("id\n1\n".getBytes(UTF_8));
+    }
+
+    private void checkReport(ImportReportDto report, String table) {
+        assertNotNull(report);
+        assertEquals(table, report.getTable());
+        assertEquals(COPIED_ROW_COUNT, report.getCopiedRowCount());
+        assertEquals(MERGED_ROW_COUNT, report.getMergedRowCount());
+        assertNotNull(report.getDurationMillis());
+        assertTrue(report.getRowsPerSecond() > 0);
+    }
+}
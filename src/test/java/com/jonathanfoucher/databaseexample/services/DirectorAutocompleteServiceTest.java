@@ -0,0 +1,202 @@
+package com.jonathanfoucher.databaseexample.services;
+
+import com.jonathanfoucher.databaseexample.common.properties.AutocompleteProperties;
+import com.jonathanfoucher.databaseexample.data.dto.DirectorDto;
+import com.jonathanfoucher.databaseexample.data.dto.DirectorSuggestionDto;
+import com.jonathanfoucher.databaseexample.services.events.DirectorChangedEvent;
+import com.jonathanfoucher.databaseexample.services.events.DirectorDeletedEvent;
+import com.jonathanfoucher.databaseexample.services.events.DirectorsImportedEvent;
+import com.jonathanfoucher.databaseexample.services.events.DirectorsSavedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@SpringJUnitConfig(DirectorAutocompleteService.class)
+class DirectorAutocompleteServiceTest {
+    @Autowired
+    private DirectorAutocompleteService directorAutocompleteService;
+    @MockitoBean
+    private DirectorService directorService;
+    @MockitoBean
+    private AutocompleteProperties autocompleteProperties;
+
+    private static final int DEFAULT_SIZE = 2;
+    private static final int MAX_SIZE = 3;
+
+    @BeforeEach
+    void init() {
+        when(autocompleteProperties.defaultSize())
+                .thenReturn(DEFAULT_SIZE);
+        when(autocompleteProperties.maxSize())
+                .thenReturn(MAX_SIZE);
+
+        mockDirectors(
+                initDirector(1L, "John", "Doe"),
+                initDirector(2L, "Jane", "Doe"),
+                initDirector(3L, "Quentin", "Tarantino"),
+                initDirector(4L, "Dorothy", "Arzner")
+        );
+        directorAutocompleteService.rebuild();
+    }
+
+    @Test
+    void findByPrefix() {
+        // WHEN
+        List<DirectorSuggestionDto> results = directorAutocompleteService.findByPrefix("Do", 10);
+
+        // THEN
+        verify(directorService, times(1)).findAllByOrderByLastNameAscFirstNameAsc(any());
+
+        assertEquals(List.of(2L, 1L, 4L), ids(results));
+        assertEquals("Jane", results.getFirst().getFirstName());
+        assertEquals("Doe", results.getFirst().getLastName());
+    }
+
+    @Test
+    void findByPrefixWithFirstNameAndCaseInsensitivity() {
+        // WHEN
+        List<DirectorSuggestionDto> results = directorAutocompleteService.findByPrefix("  QUENTIN  tar", null);
+
+        // THEN
+        assertEquals(List.of(3L), ids(results));
+    }
+
+    @Test
+    void findByPrefixWithDefaultSize() {
+        // WHEN
+        List<DirectorSuggestionDto> results = directorAutocompleteService.findByPrefix("d", null);
+
+        // THEN
+        assertEquals(List.of(2L, 1L), ids(results));
+    }
+
+    @Test
+    void findByPrefixWithSizeOverMaximumLimit() {
+        // WHEN
+        List<DirectorSuggestionDto> results = directorAutocompleteService.findByPrefix("d", 1000);
+
+        // THEN
+        assertEquals(List.of(2L, 1L, 4L), ids(results));
+    }
+
+    @Test
+    void findByPrefixWithBlankPrefix() {
+        // WHEN
+        List<DirectorSuggestionDto> results = directorAutocompleteService.findByPrefix(" ", null);
+
+        // THEN
+        assertTrue(results.isEmpty());
+    }
+
+    @Test
+    void findByPrefixWithoutResult() {
+        // WHEN
+        List<DirectorSuggestionDto> results = directorAutocompleteService.findByPrefix("zz", null);
+
+        // THEN
+        assertTrue(results.isEmpty());
+    }
+
+    @Test
+    void onDirectorChanged() {
+        // WHEN
+        directorAutocompleteService.onDirectorChanged(new DirectorChangedEvent(initDirector(3L, "Quentin", "Doe")));
+        directorAutocompleteService.onDirectorChanged(new DirectorChangedEvent(initDirector(5L, "Kathryn", "Bigelow")));
+
+        // THEN
+        assertTrue(directorAutocompleteService.findByPrefix("tarantino", null).isEmpty());
+        assertEquals(List.of(2L, 1L, 3L), ids(directorAutocompleteService.findByPrefix("doe", MAX_SIZE)));
+        assertEquals(List.of(5L), ids(directorAutocompleteService.findByPrefix("kath", null)));
+    }
+
+    @Test
+    void onDirectorsSaved() {
+        // WHEN
+        directorAutocompleteService.onDirectorsSaved(new DirectorsSavedEvent(List.of(
+                initDirector(3L, "Quentin", "Doe"),
+                initDirector(5L, "Kathryn", "Bigelow"),
+                initDirector(2L, "Jane", "Campion")
+        )));
+
+        // THEN
+        assertEquals(List.of(1L, 3L), ids(directorAutocompleteService.findByPrefix("doe", MAX_SIZE)));
+        assertEquals(List.of(5L), ids(directorAutocompleteService.findByPrefix("kath", null)));
+        assertEquals(List.of(2L), ids(directorAutocompleteService.findByPrefix("campion", null)));
+    }
+
+    @Test
+    void onDirectorsSavedWithoutDirector() {
+        // WHEN
+        directorAutocompleteService.onDirectorsSaved(new DirectorsSavedEvent(List.of()));
+
+        // THEN
+        assertEquals(List.of(2L, 1L), ids(directorAutocompleteService.findByPrefix("doe", MAX_SIZE)));
+    }
+
+    @Test
+    void onDirectorDeleted() {
+        // WHEN
+        directorAutocompleteService.onDirectorDeleted(new DirectorDeletedEvent(2L));
+
+        // THEN
+        assertEquals(List.of(1L), ids(directorAutocompleteService.findByPrefix("doe", null)));
+        assertTrue(directorAutocompleteService.findByPrefix("jane", null).isEmpty());
+    }
+
+    @Test
+    void onDirectorsImported() {
+        // GIVEN
+        mockDirectors(initDirector(6L, "Agnes", "Varda"));
+
+        // WHEN
+        directorAutocompleteService.onDirectorsImported(new DirectorsImportedEvent(1L));
+
+        // THEN
+        verify(directorService, times(2)).findAllByOrderByLastNameAscFirstNameAsc(any());
+
+        assertEquals(List.of(6L), ids(directorAutocompleteService.findByPrefix("var", null)));
+        assertTrue(directorAutocompleteService.findByPrefix("doe", null).isEmpty());
+    }
+
+    @Test
+    void onDirectorsImportedWithoutMergedRow() {
+        // WHEN
+        directorAutocompleteService.onDirectorsImported(new DirectorsImportedEvent(0L));
+
+        // THEN
+        verify(directorService, times(1)).findAllByOrderByLastNameAscFirstNameAsc(any());
+    }
+
+    private void mockDirectors(DirectorDto... directors) {
+        doAnswer(invocation -> {
+            Consumer<DirectorDto> consumer = invocation.getArgument(0);
+            for (DirectorDto director : directors) {
+                consumer.accept(director);
+            }
+            return null;
+        }).when(directorService).findAllByOrderByLastNameAscFirstNameAsc(any());
+    }
+
+    private List<Long> ids(List<DirectorSuggestionDto> suggestions) {
+        return suggestions.stream()
+                .map(DirectorSuggestionDto::getId)
+                .toList();
+    }
+
+    private DirectorDto initDirector(Long id, String firstName, String lastName) {
+        DirectorDto director = new DirectorDto();
+        director.setId(id);
+        director.setFirstName(firstName);
+        director.setLastName(lastName);
+        return director;
+    }
+}
@@ -1,35 +1,72 @@
 package com.jonathanfoucher.databaseexample.services;
 
+import com.jonathanfoucher.databaseexample.common.coalescing.LookupCoalescer;
 import com.jonathanfoucher.databaseexample.common.errors.DirectorNotFoundException;
+import com.jonathanfoucher.databaseexample.common.properties.BatchProperties;
 import com.jonathanfoucher.databaseexample.data.dto.DirectorDto;
+import com.jonathanfoucher.databaseexample.data.dto.DirectorMovieDto;
+import com.jonathanfoucher.databaseexample.data.dto.DirectorWithMoviesDto;
+import com.jonathanfoucher.databaseexample.data.dto.FlatMovieDirectorDto;
 import com.jonathanfoucher.databaseexample.data.model.Director;
 import com.jonathanfoucher.databaseexample.data.repository.DirectorRepository;
+import com.jonathanfoucher.databaseexample.data.repository.DirectorWriteRepository;
+import com.jonathanfoucher.databaseexample.data.repository.MovieDirectorCustomRepository;
+import com.jonathanfoucher.databaseexample.services.events.DirectorChangedEvent;
+import com.jonathanfoucher.databaseexample.services.events.DirectorDeletedEvent;
+import com.jonathanfoucher.databaseexample.services.events.DirectorsSavedEvent;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
 import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
 
+import java.time.LocalDate;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 
+import static com.jonathanfoucher.databaseexample.common.coalescing.LookupEntity.DIRECTOR;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
 @SpringJUnitConfig(DirectorService.class)
+@RecordApplicationEvents
 class DirectorServiceTest {
     @Autowired
     private DirectorService directorService;
     @MockitoBean
     private DirectorRepository directorRepository;
+    @MockitoBean
+    private DirectorWriteRepository directorWriteRepository;
+    @MockitoBean
+    private EntityManager entityManager;
+    @MockitoBean
+    private BatchProperties batchProperties;
+    @MockitoBean
+    private MovieDirectorCustomRepository movieDirectorCustomRepository;
+    @MockitoBean
+    private LookupCoalescer lookupCoalescer;
+    @Autowired
+    private ApplicationEvents applicationEvents;
 
     private static final Long ID = 2L;
     private static final String FIRST_NAME = "John";
     private static final String LAST_NAME = "Doe";
 
+    @BeforeEach
+    void init() {
+        when(lookupCoalescer.load(any(), any(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(2).get());
+    }
+
     @Test
     void findById() {
         // GIVEN
@@ -42,11 +79,75 @@ class DirectorServiceTest {
         DirectorDto result = directorService.findById(ID);
 
         // THEN
+        verify(lookupCoalescer, times(1)).load(eq(DIRECTOR), eq(ID), any());
         verify(directorRepository, times(1)).findById(ID);
 
         checkDirectorDto(result);
     }
 
+    @Test
+    void findAllById() {
+        // GIVEN
+        Director director = initDirector();
+
+        when(directorRepository.findAllById(List.of(ID)))
+                .thenReturn(List.of(director));
+
+        // WHEN
+        List<DirectorDto> results = directorService.findAllById(List.of(ID));
+
+        // THEN
+        verify(directorRepository, times(1)).findAllById(List.of(ID));
+
+        assertNotNull(results);
+        assertEquals(1, results.size());
+        checkDirectorDto(results.getFirst());
+    }
+
+    @Test
+    void findAllByIdWithoutId() {
+        // WHEN
+        List<DirectorDto> results = directorService.findAllById(List.of());
+
+        // THEN
+        verify(directorRepository, never()).findAllById(any());
+
+        assertNotNull(results);
+        assertEquals(0, results.size());
+    }
+
+    @Test
+    void findUpdatedAtById() {
+        // GIVEN
+        ZonedDateTime updatedAt = ZonedDateTime.now();
+
+        when(directorRepository.findUpdatedAtById(ID))
+                .thenReturn(Optional.of(updatedAt));
+
+        // WHEN
+        ZonedDateTime result = directorService.findUpdatedAtById(ID);
+
+        // THEN
+        verify(directorRepository, times(1)).findUpdatedAtById(ID);
+        verify(directorRepository, never()).findById(ID);
+
+        assertEquals(updatedAt, result);
+    }
+
+    @Test
+    void findUpdatedAtByIdWithDirectorNotFound() {
+        // GIVEN
+        when(directorRepository.findUpdatedAtById(ID))
+                .thenReturn(Optional.empty());
+
+        // WHEN / THEN
+        assertThatThrownBy(() -> directorService.findUpdatedAtById(ID))
+                .isInstanceOf(DirectorNotFoundException.class)
+                .hasMessage("Director with id 2 not found");
+
+        verify(directorRepository, times(1)).findUpdatedAtById(ID);
+    }
+
     @Test
     void findByIdWithDirectorNotFound() {
         // GIVEN
@@ -64,13 +165,15 @@ class DirectorServiceTest {
     @Test
     void findAllByOrderByLastNameAscFirstNameAsc() {
         // GIVEN
-        Director director = initDirector();
+        DirectorDto director = initDirectorProjection();
 
         when(directorRepository.findAllByOrderByLastNameAscFirstNameAsc())
                 .thenReturn(Stream.of(director));
 
+        List<DirectorDto> results = new ArrayList<>();
+
         // WHEN
-        List<DirectorDto> results = directorService.findAllByOrderByLastNameAscFirstNameAsc();
+        directorService.findAllByOrderByLastNameAscFirstNameAsc(results::add);
 
         // THEN
         verify(directorRepository, times(1)).findAllByOrderByLastNameAscFirstNameAsc();
@@ -88,8 +191,10 @@ class DirectorServiceTest {
         when(directorRepository.findAllByOrderByLastNameAscFirstNameAsc())
                 .thenReturn(Stream.empty());
 
+        List<DirectorDto> results = new ArrayList<>();
+
         // WHEN
-        List<DirectorDto> results = directorService.findAllByOrderByLastNameAscFirstNameAsc();
+        directorService.findAllByOrderByLastNameAscFirstNameAsc(results::add);
 
         // THEN
         verify(directorRepository, times(1)).findAllByOrderByLastNameAscFirstNameAsc();
@@ -101,13 +206,15 @@ class DirectorServiceTest {
     @Test
     void findByLastName() {
         // GIVEN
-        Director director = initDirector();
+        DirectorDto director = initDirectorProjection();
 
         when(directorRepository.findByLastName(LAST_NAME))
                 .thenReturn(Stream.of(director));
 
+        List<DirectorDto> results = new ArrayList<>();
+
         // WHEN
-        List<DirectorDto> results = directorService.findByLastName(LAST_NAME);
+        directorService.findByLastName(LAST_NAME, results::add);
 
         // THEN
         verify(directorRepository, times(1)).findByLastName(LAST_NAME);
@@ -125,8 +232,10 @@ class DirectorServiceTest {
         when(directorRepository.findByLastName(LAST_NAME))
                 .thenReturn(Stream.empty());
 
+        List<DirectorDto> results = new ArrayList<>();
+
         // WHEN
-        List<DirectorDto> results = directorService.findByLastName(LAST_NAME);
+        directorService.findByLastName(LAST_NAME, results::add);
 
         // THEN
         verify(directorRepository, times(1)).findByLastName(LAST_NAME);
@@ -135,6 +244,65 @@ class DirectorServiceTest {
         assertEquals(0, results.size());
     }
 
+    @Test
+    void streamAllWithMovies() {
+        // GIVEN
+        LocalDate releaseDate = LocalDate.of(2022, 8, 26);
+        when(movieDirectorCustomRepository.streamAllDirectorMovies())
+                .thenReturn(Stream.of(
+                        new FlatMovieDirectorDto(1L, "Movie 1", releaseDate, ID, FIRST_NAME, LAST_NAME),
+                        new FlatMovieDirectorDto(2L, "Movie 2", releaseDate, ID, FIRST_NAME, LAST_NAME),
+                        new FlatMovieDirectorDto(3L, "Movie 3", releaseDate, ID + 1, "Jane", LAST_NAME),
+                        new FlatMovieDirectorDto(null, null, null, ID + 2, "Jack", LAST_NAME)
+                ));
+
+        List<DirectorWithMoviesDto> results = new ArrayList<>();
+
+        // WHEN
+        directorService.streamAllWithMovies(results::add);
+
+        // THEN
+        verify(movieDirectorCustomRepository, times(1)).streamAllDirectorMovies();
+
+        assertEquals(3, results.size());
+
+        DirectorWithMoviesDto director = results.getFirst();
+        assertEquals(ID, director.getId());
+        assertEquals(FIRST_NAME, director.getFirstName());
+        assertEquals(LAST_NAME, director.getLastName());
+        assertEquals(List.of(1L, 2L), director.getMovies().stream().map(DirectorMovieDto::getId).toList());
+        assertEquals("Movie 1", director.getMovies().getFirst().getTitle());
+        assertEquals(releaseDate, director.getMovies().getFirst().getReleaseDate());
+
+        DirectorWithMoviesDto otherDirector = results.get(1);
+        assertEquals(ID + 1, otherDirector.getId());
+        assertEquals("Jane", otherDirector.getFirstName());
+        assertEquals(1, otherDirector.getMovies().size());
+        assertEquals(3L, otherDirector.getMovies().getFirst().getId());
+
+        DirectorWithMoviesDto directorWithoutMovies = results.getLast();
+        assertEquals(ID + 2, directorWithoutMovies.getId());
+        assertEquals("Jack", directorWithoutMovies.getFirstName());
+        assertNotNull(directorWithoutMovies.getMovies());
+        assertTrue(directorWithoutMovies.getMovies().isEmpty());
+    }
+
+    @Test
+    void streamAllWithMoviesWithoutResult() {
+        // GIVEN
+        when(movieDirectorCustomRepository.streamAllDirectorMovies())
+                .thenReturn(Stream.empty());
+
+        List<DirectorWithMoviesDto> results = new ArrayList<>();
+
+        // WHEN
+        directorService.streamAllWithMovies(results::add);
+
+        // THEN
+        verify(movieDirectorCustomRepository, times(1)).streamAllDirectorMovies();
+        assertEquals(0, results.size());
+    }
+
     @Test
     void saveDirectorCreated() {
         // GIVEN
@@ -146,7 +314,7 @@ class DirectorServiceTest {
 
         // THEN
         ArgumentCaptor<Director> capturedDirector = ArgumentCaptor.forClass(Director.class);
-        verify(directorRepository, never()).findById(ID);
+        verify(directorWriteRepository, never()).update(any());
         verify(directorRepository, times(1)).save(capturedDirector.capture());
 
         Director savedDirector = capturedDirector.getValue();
@@ -154,6 +322,10 @@ class DirectorServiceTest {
         assertNull(savedDirector.getId());
         assertEquals(FIRST_NAME, savedDirector.getFirstName());
         assertEquals(LAST_NAME, savedDirector.getLastName());
+
+        List<DirectorChangedEvent> events = applicationEvents.stream(DirectorChangedEvent.class).toList();
+        assertEquals(1, events.size());
+        assertEquals(LAST_NAME, events.getFirst().director().getLastName());
     }
 
     @Test
@@ -161,25 +333,27 @@ class DirectorServiceTest {
         // GIVEN
         DirectorDto director = initDirectorDto();
 
-        Director dbDirector = initDirector();
-        dbDirector.setFirstName(FIRST_NAME + "Previous");
-
-        when(directorRepository.findById(ID))
-                .thenReturn(Optional.of(dbDirector));
+        when(directorWriteRepository.update(any()))
+                .thenReturn(Optional.of(initDirector()));
 
         // WHEN
         directorService.save(director);
 
         // THEN
         ArgumentCaptor<Director> capturedDirector = ArgumentCaptor.forClass(Director.class);
-        verify(directorRepository, times(1)).findById(ID);
-        verify(directorRepository, times(1)).save(capturedDirector.capture());
+        verify(directorRepository, never()).findById(ID);
+        verify(directorRepository, never()).save(any());
+        verify(directorWriteRepository, times(1)).update(capturedDirector.capture());
 
         Director savedDirector = capturedDirector.getValue();
         assertNotNull(savedDirector);
         assertEquals(ID, savedDirector.getId());
         assertEquals(FIRST_NAME, savedDirector.getFirstName());
         assertEquals(LAST_NAME, savedDirector.getLastName());
+
+        List<DirectorChangedEvent> events = applicationEvents.stream(DirectorChangedEvent.class).toList();
+        assertEquals(1, events.size());
+        checkDirectorDto(events.getFirst().director());
     }
 
     @Test
@@ -187,7 +361,7 @@ class DirectorServiceTest {
         // GIVEN
         DirectorDto director = initDirectorDto();
 
-        when(directorRepository.findById(ID))
+        when(directorWriteRepository.update(any()))
                 .thenReturn(Optional.empty());
 
         // WHEN / THEN
@@ -195,46 +369,92 @@ class DirectorServiceTest {
                 .isInstanceOf(DirectorNotFoundException.class)
                 .hasMessage("Director with id 2 not found");
 
-        verify(directorRepository, times(1)).findById(ID);
+        verify(directorWriteRepository, times(1)).update(any());
         verify(directorRepository, never()).save(any());
+        assertEquals(0, applicationEvents.stream(DirectorChangedEvent.class).count());
     }
 
     @Test
-    void deleteById() {
+    void saveAll() {
         // GIVEN
-        Director director = initDirector();
+        DirectorDto director = initDirectorDto();
+        List<DirectorDto> directors = List.of(director, director, director);
 
-        when(directorRepository.findById(ID))
-                .thenReturn(Optional.of(director));
+        when(batchProperties.size())
+                .thenReturn(2);
+
+        // WHEN
+        directorService.saveAll(directors);
+
+        // THEN
+        ArgumentCaptor<List<Director>> capturedDirectors = ArgumentCaptor.forClass(List.class);
+        verify(directorRepository, never()).findById(any());
+        verify(directorRepository, times(2)).saveAll(capturedDirectors.capture());
+        verify(entityManager, times(2)).flush();
+        verify(entityManager, times(2)).clear();
+
+        List<List<Director>> savedBatches = capturedDirectors.getAllValues();
+        assertEquals(2, savedBatches.getFirst().size());
+        assertEquals(1, savedBatches.getLast().size());
+
+        Director savedDirector = savedBatches.getFirst().getFirst();
+        assertNotNull(savedDirector);
+        assertNull(savedDirector.getId());
+        assertEquals(FIRST_NAME, savedDirector.getFirstName());
+        assertEquals(LAST_NAME, savedDirector.getLastName());
+
+        List<DirectorsSavedEvent> events = applicationEvents.stream(DirectorsSavedEvent.class).toList();
+        assertEquals(1, events.size());
+        assertEquals(3, events.getFirst().directors().size());
+        assertEquals(LAST_NAME, events.getFirst().directors().getFirst().getLastName());
+        assertEquals(0, applicationEvents.stream(DirectorChangedEvent.class).count());
+    }
+
+    @Test
+    void saveAllWithoutDirector() {
+        // GIVEN
+        when(batchProperties.size())
+                .thenReturn(2);
+
+        // WHEN
+        directorService.saveAll(List.of());
+
+        // THEN
+        verify(directorRepository, never()).saveAll(any());
+        verify(entityManager, never()).flush();
+    }
+
+    @Test
+    void deleteById() {
+        // GIVEN
+        when(directorWriteRepository.deleteById(ID))
+                .thenReturn(true);
 
         // WHEN
         directorService.deleteById(ID);
 
         // THEN
-        ArgumentCaptor<Director> capturedDirector = ArgumentCaptor.forClass(Director.class);
-        verify(directorRepository, times(1)).findById(ID);
-        verify(directorRepository, times(1)).delete(capturedDirector.capture());
+        verify(directorWriteRepository, times(1)).deleteById(ID);
+        verify(directorRepository, never()).findById(ID);
 
-        Director deletedDirector = capturedDirector.getValue();
-        assertNotNull(deletedDirector);
-        assertEquals(ID, deletedDirector.getId());
-        assertEquals(FIRST_NAME, deletedDirector.getFirstName());
-        assertEquals(LAST_NAME, deletedDirector.getLastName());
+        List<DirectorDeletedEvent> events = applicationEvents.stream(DirectorDeletedEvent.class).toList();
+        assertEquals(1, events.size());
+        assertEquals(ID, events.getFirst().id());
     }
 
     @Test
     void deleteByIdWithDirectorNotFound() {
         // GIVEN
-        when(directorRepository.findById(ID))
-                .thenReturn(Optional.empty());
+        when(directorWriteRepository.deleteById(ID))
+                .thenReturn(false);
 
         // WHEN / THEN
         assertThatThrownBy(() -> directorService.deleteById(ID))
                 .isInstanceOf(DirectorNotFoundException.class)
                 .hasMessage("Director with id 2 not found");
 
-        verify(directorRepository, times(1)).findById(ID);
-        verify(directorRepository, never()).delete(any(Director.class));
+        verify(directorWriteRepository, times(1)).deleteById(ID);
+        assertEquals(0, applicationEvents.stream(DirectorDeletedEvent.class).count());
     }
 
     private Director initDirector() {
@@ -254,10 +474,15 @@ class DirectorServiceTest {
         return director;
     }
 
+    private DirectorDto initDirectorProjection() {
+        return new DirectorDto(ID, FIRST_NAME, LAST_NAME, ZonedDateTime.now().minusDays(1));
+    }
+
     private void checkDirectorDto(DirectorDto director) {
         assertNotNull(director);
         assertEquals(ID, director.getId());
         assertEquals(FIRST_NAME, director.getFirstName());
         assertEquals(LAST_NAME, director.getLastName());
+        assertNotNull(director.getUpdatedAt());
     }
 }
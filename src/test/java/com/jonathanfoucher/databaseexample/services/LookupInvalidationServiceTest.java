@@ -0,0 +1,136 @@
+package com.jonathanfoucher.databaseexample.services;
+
+import com.jonathanfoucher.databaseexample.common.coalescing.LookupCoalescer;
+import com.jonathanfoucher.databaseexample.data.dto.DirectorDto;
+import com.jonathanfoucher.databaseexample.data.dto.MovieDto;
+import com.jonathanfoucher.databaseexample.services.events.DirectorChangedEvent;
+import com.jonathanfoucher.databaseexample.services.events.DirectorDeletedEvent;
+import com.jonathanfoucher.databaseexample.services.events.DirectorsImportedEvent;
+import com.jonathanfoucher.databaseexample.services.events.DirectorsSavedEvent;
+import com.jonathanfoucher.databaseexample.services.events.MovieChangedEvent;
+import com.jonathanfoucher.databaseexample.services.events.MovieDeletedEvent;
+import com.jonathanfoucher.databaseexample.services.events.MoviesImportedEvent;
+import com.jonathanfoucher.databaseexample.services.events.MoviesSavedEvent;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.util.List;
+
+import static com.jonathanfoucher.databaseexample.common.coalescing.LookupEntity.DIRECTOR;
+import static com.jonathanfoucher.databaseexample.common.coalescing.LookupEntity.MOVIE;
+import static org.mockito.Mockito.*;
+
+@SpringJUnitConfig(LookupInvalidationService.class)
+class LookupInvalidationServiceTest {
+    @Autowired
+    private LookupInvalidationService lookupInvalidationService;
+    @MockitoBean
+    private LookupCoalescer lookupCoalescer;
+
+    private static final Long ID = 15L;
+
+    @Test
+    void onMovieChanged() {
+        // WHEN
+        lookupInvalidationService.onMovieChanged(new MovieChangedEvent(initMovie(ID)));
+
+        // THEN
+        verify(lookupCoalescer, times(1)).invalidate(MOVIE, ID);
+        verifyNoMoreInteractions(lookupCoalescer);
+    }
+
+    @Test
+    void onMoviesSaved() {
+        // WHEN
+        lookupInvalidationService.onMoviesSaved(new MoviesSavedEvent(List.of(initMovie(ID), initMovie(ID + 1))));
+
+        // THEN
+        verify(lookupCoalescer, times(1)).invalidate(MOVIE, ID);
+        verify(lookupCoalescer, times(1)).invalidate(MOVIE, ID + 1);
+        verifyNoMoreInteractions(lookupCoalescer);
+    }
+
+    @Test
+    void onMovieDeleted() {
+        // WHEN
+        lookupInvalidationService.onMovieDeleted(new MovieDeletedEvent(ID));
+
+        // THEN
+        verify(lookupCoalescer, times(1)).invalidate(MOVIE, ID);
+        verifyNoMoreInteractions(lookupCoalescer);
+    }
+
+    @Test
+    void onMoviesImported() {
+        // WHEN
+        lookupInvalidationService.onMoviesImported(new MoviesImportedEvent(3L));
+
+        // THEN
+        verify(lookupCoalescer, times(1)).invalidateAll(MOVIE);
+        verifyNoMoreInteractions(lookupCoalescer);
+    }
+
+    @Test
+    void onMoviesImportedWithoutMergedRow() {
+        // WHEN
+        lookupInvalidationService.onMoviesImported(new MoviesImportedEvent(0L));
+
+        // THEN
+        verifyNoInteractions(lookupCoalescer);
+    }
+
+    @Test
+    void onDirectorChanged() {
+        // WHEN
+        lookupInvalidationService.onDirectorChanged(new DirectorChangedEvent(initDirector(ID)));
+
+        // THEN
+        verify(lookupCoalescer, times(1)).invalidate(DIRECTOR, ID);
+        verifyNoMoreInteractions(lookupCoalescer);
+    }
+
+    @Test
+    void onDirectorsSaved() {
+        // WHEN
+        lookupInvalidationService.onDirectorsSaved(new DirectorsSavedEvent(List.of(initDirector(ID), initDirector(ID + 1))));
+
+        // THEN
+        verify(lookupCoalescer, times(1)).invalidate(DIRECTOR, ID);
+        verify(lookupCoalescer, times(1)).invalidate(DIRECTOR, ID + 1);
+        verifyNoMoreInteractions(lookupCoalescer);
+    }
+
+    @Test
+    void onDirectorDeleted() {
+        // WHEN
+        lookupInvalidationService.onDirectorDeleted(new DirectorDeletedEvent(ID));
+
+        // THEN
+        verify(lookupCoalescer, times(1)).invalidate(DIRECTOR, ID);
+        verifyNoMoreInteractions(lookupCoalescer);
+    }
+
+    @Test
+    void onDirectorsImported() {
+        // WHEN
+        lookupInvalidationService.onDirectorsImported(new DirectorsImportedEvent(3L));
+
+        // THEN
+        verify(lookupCoalescer, times(1)).invalidateAll(DIRECTOR);
+        verifyNoMoreInteractions(lookupCoalescer);
+    }
+
+    private MovieDto initMovie(Long id) {
+        MovieDto movie = new MovieDto();
+        movie.setId(id);
+        return movie;
+    }
+
+    private DirectorDto initDirector(Long id) {
+        DirectorDto director = new DirectorDto();
+        director.setId(id);
+        return director;
+    }
+}
@@ -0,0 +1,130 @@
+package com.jonathanfoucher.databaseexample.services;
+
+import com.jonathanfoucher.databaseexample.common.properties.ChangeStreamProperties;
+import com.jonathanfoucher.databaseexample.data.dto.MovieDto;
+import com.jonathanfoucher.databaseexample.services.events.MovieChangedEvent;
+import com.jonathanfoucher.databaseexample.services.events.MoviesSavedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.annotation.DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD;
+
+@SpringJUnitConfig(MovieChangeStreamService.class)
+@DirtiesContext(classMode = AFTER_EACH_TEST_METHOD)
+class MovieChangeStreamServiceTest {
+    @Autowired
+    private MovieChangeStreamService movieChangeStreamService;
+    @MockitoBean
+    private ChangeStreamProperties changeStreamProperties;
+    @MockitoBean
+    private TaskExecutor taskExecutor;
+
+    private static final Long ID = 15L;
+    private static final String TITLE = "Some movie";
+    private static final Duration TIMEOUT = Duration.ofMinutes(30);
+
+    @BeforeEach
+    void init() {
+        when(changeStreamProperties.timeout())
+                .thenReturn(TIMEOUT);
+        when(changeStreamProperties.bufferSize())
+                .thenReturn(2);
+    }
+
+    @Test
+    void subscribe() {
+        // WHEN
+        SseEmitter result = movieChangeStreamService.subscribe();
+
+        // THEN
+        assertNotNull(result);
+        assertEquals(TIMEOUT.toMillis(), result.getTimeout());
+        assertEquals(1, movieChangeStreamService.getSubscriberCount());
+    }
+
+    @Test
+    void onMovieChanged() {
+        // GIVEN
+        movieChangeStreamService.subscribe();
+        movieChangeStreamService.subscribe();
+
+        // WHEN
+        movieChangeStreamService.onMovieChanged(new MovieChangedEvent(initMovieDto()));
+        movieChangeStreamService.onMovieChanged(new MovieChangedEvent(initMovieDto()));
+
+        // THEN
+        verify(taskExecutor, times(2)).execute(any());
+        assertEquals(2, movieChangeStreamService.getSubscriberCount());
+    }
+
+    @Test
+    void onMovieChangedWithSlowSubscriber() {
+        // GIVEN
+        movieChangeStreamService.subscribe();
+
+        // WHEN
+        movieChangeStreamService.onMovieChanged(new MovieChangedEvent(initMovieDto()));
+        movieChangeStreamService.onMovieChanged(new MovieChangedEvent(initMovieDto()));
+        movieChangeStreamService.onMovieChanged(new MovieChangedEvent(initMovieDto()));
+
+        // THEN
+        verify(taskExecutor, times(1)).execute(any());
+        assertEquals(0, movieChangeStreamService.getSubscriberCount());
+    }
+
+    @Test
+    void onMovieChangedWithoutSubscriber() {
+        // WHEN
+        movieChangeStreamService.onMovieChanged(new MovieChangedEvent(initMovieDto()));
+
+        // THEN
+        verify(taskExecutor, never()).execute(any());
+        assertEquals(0, movieChangeStreamService.getSubscriberCount());
+    }
+
+    @Test
+    void onMoviesSaved() {
+        // GIVEN
+        movieChangeStreamService.subscribe();
+        movieChangeStreamService.subscribe();
+
+        // WHEN
+        movieChangeStreamService.onMoviesSaved(new MoviesSavedEvent(List.of(initMovieDto(), initMovieDto())));
+
+        // THEN
+        verify(taskExecutor, times(2)).execute(any());
+        assertEquals(2, movieChangeStreamService.getSubscriberCount());
+    }
+
+    @Test
+    void onMoviesSavedWithSlowSubscriber() {
+        // GIVEN
+        movieChangeStreamService.subscribe();
+
+        // WHEN
+        movieChangeStreamService.onMoviesSaved(new MoviesSavedEvent(List.of(initMovieDto(), initMovieDto(), initMovieDto())));
+
+        // THEN
+        verify(taskExecutor, times(1)).execute(any());
+        assertEquals(0, movieChangeStreamService.getSubscriberCount());
+    }
+
+    private MovieDto initMovieDto() {
+        MovieDto movie = new MovieDto();
+        movie.setId(ID);
+        movie.setTitle(TITLE);
+        return movie;
+    }
+}
@@ -0,0 +1,169 @@
+package com.jonathanfoucher.databaseexample.services;
+
+import com.jonathanfoucher.databaseexample.data.dto.MovieDirectorLink;
+import com.jonathanfoucher.databaseexample.data.dto.MovieDto;
+import com.jonathanfoucher.databaseexample.data.repository.MovieDirectorCustomRepository.MovieDirectorLinkHandler;
+import com.jonathanfoucher.databaseexample.services.events.MovieChangedEvent;
+import com.jonathanfoucher.databaseexample.services.events.MovieDeletedEvent;
+import com.jonathanfoucher.databaseexample.services.events.MoviesImportedEvent;
+import com.jonathanfoucher.databaseexample.services.events.MoviesSavedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@SpringJUnitConfig(MovieDirectorIndexService.class)
+class MovieDirectorIndexServiceTest {
+    @Autowired
+    private MovieDirectorIndexService movieDirectorIndexService;
+    @MockitoBean
+    private MovieService movieService;
+
+    @BeforeEach
+    void init() {
+        mockLinks(
+                new long[]{10L, 1L},
+                new long[]{11L, 1L},
+                new long[]{20L, 2L},
+                new long[]{40L, 4L},
+                new long[]{41L, 4L},
+                new long[]{42L, 4L}
+        );
+        movieDirectorIndexService.rebuild();
+    }
+
+    @Test
+    void findMovieIdsByDirectorId() {
+        // WHEN
+        long[] results = movieDirectorIndexService.findMovieIdsByDirectorId(4L);
+
+        // THEN
+        verify(movieService, times(1)).forEachMovieDirectorLink(any());
+
+        assertArrayEquals(new long[]{40L, 41L, 42L}, results);
+    }
+
+    @Test
+    void findMovieIdsByDirectorIdWithoutMovie() {
+        // WHEN
+        long[] results = movieDirectorIndexService.findMovieIdsByDirectorId(3L);
+
+        // THEN
+        assertEquals(0, results.length);
+    }
+
+    @Test
+    void findAllMovieDirectorLinks() {
+        // WHEN
+        List<MovieDirectorLink> results = movieDirectorIndexService.findAllMovieDirectorLinks();
+
+        // THEN
+        assertEquals(6, results.size());
+        assertEquals(List.of(10L, 11L, 20L, 40L, 41L, 42L), movieIds(results));
+        assertEquals(List.of(1L, 1L, 2L, 4L, 4L, 4L), directorIds(results));
+    }
+
+    @Test
+    void onMovieChanged() {
+        // WHEN
+        movieDirectorIndexService.onMovieChanged(new MovieChangedEvent(initMovie(41L, 2L)));
+        movieDirectorIndexService.onMovieChanged(new MovieChangedEvent(initMovie(50L, 3L)));
+        movieDirectorIndexService.onMovieChanged(new MovieChangedEvent(initMovie(5L, 1L)));
+
+        // THEN
+        assertArrayEquals(new long[]{5L, 10L, 11L}, movieDirectorIndexService.findMovieIdsByDirectorId(1L));
+        assertArrayEquals(new long[]{20L, 41L}, movieDirectorIndexService.findMovieIdsByDirectorId(2L));
+        assertArrayEquals(new long[]{50L}, movieDirectorIndexService.findMovieIdsByDirectorId(3L));
+        assertArrayEquals(new long[]{40L, 42L}, movieDirectorIndexService.findMovieIdsByDirectorId(4L));
+        assertEquals(List.of(1L, 1L, 1L, 2L, 2L, 3L, 4L, 4L), directorIds(movieDirectorIndexService.findAllMovieDirectorLinks()));
+    }
+
+    @Test
+    void onMoviesSaved() {
+        // WHEN
+        movieDirectorIndexService.onMoviesSaved(new MoviesSavedEvent(List.of(
+                initMovie(60L, 5L),
+                initMovie(12L, 1L),
+                initMovie(61L, 0L),
+                initMovie(62L, 5L)
+        )));
+
+        // THEN
+        assertArrayEquals(new long[]{10L, 11L, 12L}, movieDirectorIndexService.findMovieIdsByDirectorId(1L));
+        assertArrayEquals(new long[]{60L, 62L}, movieDirectorIndexService.findMovieIdsByDirectorId(5L));
+        assertArrayEquals(new long[]{61L}, movieDirectorIndexService.findMovieIdsByDirectorId(0L));
+        assertEquals(10, movieDirectorIndexService.findAllMovieDirectorLinks().size());
+    }
+
+    @Test
+    void onMovieDeleted() {
+        // WHEN
+        movieDirectorIndexService.onMovieDeleted(new MovieDeletedEvent(20L));
+        movieDirectorIndexService.onMovieDeleted(new MovieDeletedEvent(41L));
+
+        // THEN
+        assertEquals(0, movieDirectorIndexService.findMovieIdsByDirectorId(2L).length);
+        assertArrayEquals(new long[]{40L, 42L}, movieDirectorIndexService.findMovieIdsByDirectorId(4L));
+        assertEquals(List.of(10L, 11L, 40L, 42L), movieIds(movieDirectorIndexService.findAllMovieDirectorLinks()));
+    }
+
+    @Test
+    void onMoviesImported() {
+        // GIVEN
+        mockLinks(new long[]{70L, 7L});
+
+        // WHEN
+        movieDirectorIndexService.onMoviesImported(new MoviesImportedEvent(1L));
+
+        // THEN
+        verify(movieService, times(2)).forEachMovieDirectorLink(any());
+
+        assertArrayEquals(new long[]{70L}, movieDirectorIndexService.findMovieIdsByDirectorId(7L));
+        assertEquals(0, movieDirectorIndexService.findMovieIdsByDirectorId(4L).length);
+    }
+
+    @Test
+    void onMoviesImportedWithoutMergedRow() {
+        // WHEN
+        movieDirectorIndexService.onMoviesImported(new MoviesImportedEvent(0L));
+
+        // THEN
+        verify(movieService, times(1)).forEachMovieDirectorLink(any());
+    }
+
+    private void mockLinks(long[]... links) {
+        doAnswer(invocation -> {
+            MovieDirectorLinkHandler handler = invocation.getArgument(0);
+            for (long[] link : links) {
+                handler.handle(link[0], link[1]);
+            }
+            return null;
+        }).when(movieService).forEachMovieDirectorLink(any());
+    }
+
+    private List<Long> movieIds(List<MovieDirectorLink> links) {
+        return links.stream()
+                .map(MovieDirectorLink::getMovieId)
+                .toList();
+    }
+
+    private List<Long> directorIds(List<MovieDirectorLink> links) {
+        return links.stream()
+                .map(MovieDirectorLink::getDirectorId)
+                .toList();
+    }
+
+    private MovieDto initMovie(Long id, Long directorId) {
+        MovieDto movie = new MovieDto();
+        movie.setId(id);
+        movie.setDirectorId(directorId);
+        return movie;
+    }
+}
@@ -1,21 +1,38 @@
 package com.jonathanfoucher.databaseexample.services;
 
+import com.jonathanfoucher.databaseexample.common.coalescing.LookupCoalescer;
+import com.jonathanfoucher.databaseexample.common.errors.InvalidSortKeyException;
 import com.jonathanfoucher.databaseexample.common.errors.MovieNotFoundException;
+import com.jonathanfoucher.databaseexample.common.pagination.MovieCursor;
+import com.jonathanfoucher.databaseexample.common.pagination.MovieSortKey;
+import com.jonathanfoucher.databaseexample.common.properties.BatchProperties;
+import com.jonathanfoucher.databaseexample.data.dto.CursorPageDto;
 import com.jonathanfoucher.databaseexample.data.dto.FlatMovieDirectorDto;
-import com.jonathanfoucher.databaseexample.data.dto.MovieDirectorLink;
 import com.jonathanfoucher.databaseexample.data.dto.MovieDto;
 import com.jonathanfoucher.databaseexample.data.model.Movie;
+import com.jonathanfoucher.databaseexample.data.repository.MovieCountEstimateRepository;
 import com.jonathanfoucher.databaseexample.data.repository.MovieDirectorCustomRepository;
+import com.jonathanfoucher.databaseexample.data.repository.MovieDirectorCustomRepository.MovieDirectorLinkHandler;
+import com.jonathanfoucher.databaseexample.data.repository.MovieReadRepository;
 import com.jonathanfoucher.databaseexample.data.repository.MovieRepository;
+import com.jonathanfoucher.databaseexample.data.repository.MovieWriteRepository;
 import com.jonathanfoucher.databaseexample.data.repository.specifications.MovieSpecs;
+import com.jonathanfoucher.databaseexample.services.events.MovieChangedEvent;
+import com.jonathanfoucher.databaseexample.services.events.MovieDeletedEvent;
+import com.jonathanfoucher.databaseexample.services.events.MoviesSavedEvent;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import org.mockito.MockedStatic;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
 
@@ -23,15 +40,20 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
+import static com.jonathanfoucher.databaseexample.common.coalescing.LookupEntity.MOVIE;
 import static java.util.Collections.emptyList;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
 @SpringJUnitConfig(MovieService.class)
+@RecordApplicationEvents
 class MovieServiceTest {
     @Autowired
     private MovieService movieService;
@@ -39,6 +61,20 @@ class MovieServiceTest {
     private MovieRepository movieRepository;
     @MockitoBean
     private MovieDirectorCustomRepository movieDirectorCustomRepository;
+    @MockitoBean
+    private MovieReadRepository movieReadRepository;
+    @MockitoBean
+    private MovieWriteRepository movieWriteRepository;
+    @MockitoBean
+    private MovieCountEstimateRepository movieCountEstimateRepository;
+    @MockitoBean
+    private EntityManager entityManager;
+    @MockitoBean
+    private BatchProperties batchProperties;
+    @MockitoBean
+    private LookupCoalescer lookupCoalescer;
+    @Autowired
+    private ApplicationEvents applicationEvents;
 
     private static final Long ID = 15L;
     private static final String TITLE = "Some movie";
@@ -47,6 +83,12 @@ class MovieServiceTest {
     private static final String FIRST_NAME = "John";
     private static final String LAST_NAME = "Doe";
 
+    @BeforeEach
+    void init() {
+        when(lookupCoalescer.load(any(), any(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(2).get());
+    }
+
     @Test
     void findById() {
         // GIVEN
@@ -59,11 +101,75 @@ class MovieServiceTest {
         MovieDto result = movieService.findById(ID);
 
         // THEN
+        verify(lookupCoalescer, times(1)).load(eq(MOVIE), eq(ID), any());
         verify(movieRepository, times(1)).findById(ID);
 
         checkMovieDto(result);
     }
 
+    @Test
+    void findAllById() {
+        // GIVEN
+        Movie movie = initMovie();
+
+        when(movieRepository.findAllById(List.of(ID)))
+                .thenReturn(List.of(movie));
+
+        // WHEN
+        List<MovieDto> results = movieService.findAllById(List.of(ID));
+
+        // THEN
+        verify(movieRepository, times(1)).findAllById(List.of(ID));
+
+        assertNotNull(results);
+        assertEquals(1, results.size());
+        checkMovieDto(results.getFirst());
+    }
+
+    @Test
+    void findAllByIdWithoutId() {
+        // WHEN
+        List<MovieDto> results = movieService.findAllById(List.of());
+
+        // THEN
+        verify(movieRepository, never()).findAllById(any());
+
+        assertNotNull(results);
+        assertEquals(0, results.size());
+    }
+
+    @Test
+    void findUpdatedAtById() {
+        // GIVEN
+        ZonedDateTime updatedAt = ZonedDateTime.now();
+
+        when(movieRepository.findUpdatedAtById(ID))
+                .thenReturn(Optional.of(updatedAt));
+
+        // WHEN
+        ZonedDateTime result = movieService.findUpdatedAtById(ID);
+
+        // THEN
+        verify(movieRepository, times(1)).findUpdatedAtById(ID);
+        verify(movieRepository, never()).findById(ID);
+
+        assertEquals(updatedAt, result);
+    }
+
+    @Test
+    void findUpdatedAtByIdWithMovieNotFound() {
+        // GIVEN
+        when(movieRepository.findUpdatedAtById(ID))
+                .thenReturn(Optional.empty());
+
+        // WHEN / THEN
+        assertThatThrownBy(() -> movieService.findUpdatedAtById(ID))
+                .isInstanceOf(MovieNotFoundException.class)
+                .hasMessage("Movie with id 15 not found");
+
+        verify(movieRepository, times(1)).findUpdatedAtById(ID);
+    }
+
     @Test
     void findByIdWithMovieNotFound() {
         // GIVEN
@@ -82,12 +188,10 @@ class MovieServiceTest {
     void findAllFiltered() {
         try (MockedStatic<MovieSpecs> mockedMovieSpecs = mockStatic(MovieSpecs.class)) {
             // GIVEN
-            Movie movie = initMovie();
             PageRequest pageRequest = PageRequest.of(0, 20);
-            Page<Movie> page = new PageImpl<>(List.of(movie), pageRequest, 1);
 
-            when(movieRepository.findAll(any(Specification.class), eq(pageRequest)))
-                    .thenReturn(page);
+            when(movieReadRepository.findAll(any(Specification.class), eq(pageRequest.getSort()), eq(0L), eq(20)))
+                    .thenReturn(List.of(initMovieProjection()));
 
             // WHEN
             Page<MovieDto> results = movieService.findAllFiltered(pageRequest, null, null);
@@ -95,7 +199,9 @@ class MovieServiceTest {
             // THEN
             mockedMovieSpecs.verify(() -> MovieSpecs.isReleasedAfter(null), times(1));
             mockedMovieSpecs.verify(() -> MovieSpecs.isUpdatedSince(null), times(1));
-            verify(movieRepository, times(1)).findAll(any(Specification.class), eq(pageRequest));
+            verify(movieReadRepository, times(1)).findAll(any(Specification.class), eq(pageRequest.getSort()), eq(0L), eq(20));
+            verify(movieRepository, never()).count(any(Specification.class));
+            verify(movieRepository, never()).findAll(any(Specification.class), any(Pageable.class));
 
             checkMoviePage(results);
         }
@@ -105,19 +211,18 @@ class MovieServiceTest {
     void findAllFilteredWithParameters() {
         try (MockedStatic<MovieSpecs> mockedMovieSpecs = mockStatic(MovieSpecs.class)) {
             // GIVEN
-            Movie movie = initMovie();
-
             LocalDate releaseAfter = LocalDate.of(2021, 7, 27);
             ZonedDateTime updatedSince = ZonedDateTime.of(
                     LocalDateTime.of(2021, 7, 27, 3, 4, 32),
                     ZoneOffset.ofHours(2)
             );
 
-            PageRequest pageRequest = PageRequest.of(0, 20);
-            Page<Movie> page = new PageImpl<>(List.of(movie), pageRequest, 1);
+            PageRequest pageRequest = PageRequest.of(0, 1);
 
-            when(movieRepository.findAll(any(Specification.class), eq(pageRequest)))
-                    .thenReturn(page);
+            when(movieReadRepository.findAll(any(Specification.class), eq(pageRequest.getSort()), eq(0L), eq(1)))
+                    .thenReturn(List.of(initMovieProjection()));
+            when(movieRepository.count(any(Specification.class)))
+                    .thenReturn(1L);
 
             // WHEN
             Page<MovieDto> results = movieService.findAllFiltered(pageRequest, releaseAfter, updatedSince);
@@ -125,59 +230,238 @@ class MovieServiceTest {
             // THEN
             mockedMovieSpecs.verify(() -> MovieSpecs.isReleasedAfter(releaseAfter), times(1));
             mockedMovieSpecs.verify(() -> MovieSpecs.isUpdatedSince(updatedSince), times(1));
-            verify(movieRepository, times(1)).findAll(any(Specification.class), eq(pageRequest));
+            verify(movieReadRepository, times(1)).findAll(any(Specification.class), eq(pageRequest.getSort()), eq(0L), eq(1));
+            verify(movieRepository, times(1)).count(any(Specification.class));
 
             checkMoviePage(results);
         }
     }
 
     @Test
-    void findAllMovieDirectorLinks() {
-        // GIVEN
-        MovieDirectorLink link = new MovieDirectorLink() {
-            @Override
-            public Long getMovieId() {
-                return ID;
-            }
+    void findAllFilteredWithoutCount() {
+        try (MockedStatic<MovieSpecs> mockedMovieSpecs = mockStatic(MovieSpecs.class)) {
+            // GIVEN
+            LocalDate releaseAfter = LocalDate.of(2021, 7, 27);
+            PageRequest pageRequest = PageRequest.of(0, 1);
+
+            when(movieReadRepository.findAll(any(Specification.class), eq(pageRequest.getSort()), eq(0L), eq(2)))
+                    .thenReturn(List.of(initMovieProjection(), initMovieProjection()));
+
+            // WHEN
+            Slice<MovieDto> results = movieService.findAllFilteredWithoutCount(pageRequest, releaseAfter, null);
+
+            // THEN
+            mockedMovieSpecs.verify(() -> MovieSpecs.isReleasedAfter(releaseAfter), times(1));
+            mockedMovieSpecs.verify(() -> MovieSpecs.isUpdatedSince(null), times(1));
+            verify(movieReadRepository, times(1)).findAll(any(Specification.class), eq(pageRequest.getSort()), eq(0L), eq(2));
+            verify(movieRepository, never()).count(any(Specification.class));
+            verifyNoInteractions(movieCountEstimateRepository);
+
+            assertNotNull(results);
+            assertTrue(results.hasNext());
+            assertEquals(pageRequest, results.getPageable());
+            assertEquals(1, results.getContent().size());
+            checkMovieDto(results.getContent().getFirst());
+        }
+    }
 
-            @Override
-            public Long getDirectorId() {
-                return DIRECTOR_ID;
-            }
-        };
+    @Test
+    void findAllFilteredWithEstimatedCount() {
+        // GIVEN
+        PageRequest pageRequest = PageRequest.of(0, 1);
 
-        when(movieRepository.findAllMovieDirectorLinks())
-                .thenReturn(List.of(link));
+        when(movieReadRepository.findAll(any(Specification.class), eq(pageRequest.getSort()), eq(0L), eq(2)))
+                .thenReturn(List.of(initMovieProjection(), initMovieProjection()));
+        when(movieCountEstimateRepository.estimateCount(null, null))
+                .thenReturn(500L);
 
         // WHEN
-        List<MovieDirectorLink> results = movieService.findAllMovieDirectorLinks();
+        Page<MovieDto> results = movieService.findAllFilteredWithEstimatedCount(pageRequest, null, null);
 
         // THEN
-        verify(movieRepository, times(1)).findAllMovieDirectorLinks();
+        verify(movieReadRepository, times(1)).findAll(any(Specification.class), eq(pageRequest.getSort()), eq(0L), eq(2));
+        verify(movieCountEstimateRepository, times(1)).estimateCount(null, null);
 
         assertNotNull(results);
-        assertEquals(1, results.size());
+        assertEquals(500L, results.getTotalElements());
+        assertTrue(results.hasNext());
+        checkMovieDto(results.getContent().getFirst());
+    }
 
-        MovieDirectorLink result = results.getFirst();
-        assertNotNull(result);
-        assertEquals(ID, result.getMovieId());
-        assertEquals(DIRECTOR_ID, result.getDirectorId());
+    @Test
+    void findAllFilteredWithEstimatedCountUnderKnownCount() {
+        // GIVEN
+        PageRequest pageRequest = PageRequest.of(3, 1);
+
+        when(movieReadRepository.findAll(any(Specification.class), eq(pageRequest.getSort()), eq(3L), eq(2)))
+                .thenReturn(List.of(initMovieProjection(), initMovieProjection()));
+        when(movieCountEstimateRepository.estimateCount(null, null))
+                .thenReturn(1L);
+
+        // WHEN
+        Page<MovieDto> results = movieService.findAllFilteredWithEstimatedCount(pageRequest, null, null);
+
+        // THEN
+        assertEquals(5L, results.getTotalElements());
+        assertTrue(results.hasNext());
     }
 
     @Test
-    void findAllMovieDirectorLinksWithoutResult() {
+    void findAllFilteredWithEstimatedCountOnLastPage() {
         // GIVEN
-        when(movieRepository.findAllMovieDirectorLinks())
+        PageRequest pageRequest = PageRequest.of(2, 20);
+
+        when(movieReadRepository.findAll(any(Specification.class), eq(pageRequest.getSort()), eq(40L), eq(21)))
+                .thenReturn(List.of(initMovieProjection()));
+
+        // WHEN
+        Page<MovieDto> results = movieService.findAllFilteredWithEstimatedCount(pageRequest, null, null);
+
+        // THEN
+        verifyNoInteractions(movieCountEstimateRepository);
+
+        assertEquals(41L, results.getTotalElements());
+        assertFalse(results.hasNext());
+    }
+
+    @Test
+    void findAllFilteredWithEstimatedCountPastLastPage() {
+        // GIVEN
+        PageRequest pageRequest = PageRequest.of(10, 20);
+
+        when(movieReadRepository.findAll(any(Specification.class), eq(pageRequest.getSort()), eq(200L), eq(21)))
                 .thenReturn(emptyList());
+        when(movieCountEstimateRepository.estimateCount(null, null))
+                .thenReturn(45L);
 
         // WHEN
-        List<MovieDirectorLink> results = movieService.findAllMovieDirectorLinks();
+        Page<MovieDto> results = movieService.findAllFilteredWithEstimatedCount(pageRequest, null, null);
 
         // THEN
-        verify(movieRepository, times(1)).findAllMovieDirectorLinks();
+        verify(movieCountEstimateRepository, times(1)).estimateCount(null, null);
 
-        assertNotNull(results);
-        assertEquals(0, results.size());
+        assertTrue(results.getContent().isEmpty());
+        assertEquals(45L, results.getTotalElements());
+        assertEquals(3, results.getTotalPages());
+        assertFalse(results.hasNext());
+    }
+
+    @Test
+    void findAllFilteredWithEstimatedCountPastLastPageOverEstimated() {
+        // GIVEN
+        PageRequest pageRequest = PageRequest.of(10, 20);
+
+        when(movieReadRepository.findAll(any(Specification.class), eq(pageRequest.getSort()), eq(200L), eq(21)))
+                .thenReturn(emptyList());
+        when(movieCountEstimateRepository.estimateCount(null, null))
+                .thenReturn(5_000L);
+
+        // WHEN
+        Page<MovieDto> results = movieService.findAllFilteredWithEstimatedCount(pageRequest, null, null);
+
+        // THEN
+        assertTrue(results.getContent().isEmpty());
+        assertEquals(200L, results.getTotalElements());
+        assertEquals(10, results.getTotalPages());
+    }
+
+    @Test
+    void findAllFilteredWithEstimatedCountWithoutResult() {
+        // GIVEN
+        PageRequest pageRequest = PageRequest.of(0, 20);
+
+        when(movieReadRepository.findAll(any(Specification.class), eq(pageRequest.getSort()), eq(0L), eq(21)))
+                .thenReturn(emptyList());
+
+        // WHEN
+        Page<MovieDto> results = movieService.findAllFilteredWithEstimatedCount(pageRequest, null, null);
+
+        // THEN
+        verifyNoInteractions(movieCountEstimateRepository);
+
+        assertTrue(results.getContent().isEmpty());
+        assertEquals(0L, results.getTotalElements());
+    }
+
+    @Test
+    void findAllFilteredByCursor() {
+        try (MockedStatic<MovieSpecs> mockedMovieSpecs = mockStatic(MovieSpecs.class)) {
+            // GIVEN
+            MovieDto movie = initMovieProjection();
+            MovieDto nextMovie = initMovieProjection();
+            nextMovie.setId(ID + 1);
+
+            when(movieReadRepository.findAll(any(Specification.class), eq(MovieSortKey.RELEASE_DATE.getSort()), eq(0L), eq(2)))
+                    .thenReturn(List.of(movie, nextMovie));
+
+            // WHEN
+            CursorPageDto<MovieDto> result = movieService.findAllFilteredByCursor("", "release_date", 1, null, null);
+
+            // THEN
+            mockedMovieSpecs.verify(() -> MovieSpecs.isReleasedAfter(null), times(1));
+            mockedMovieSpecs.verify(() -> MovieSpecs.isUpdatedSince(null), times(1));
+            mockedMovieSpecs.verify(() -> MovieSpecs.isAfterCursor(null), times(1));
+            verify(movieReadRepository, times(1)).findAll(any(Specification.class), eq(MovieSortKey.RELEASE_DATE.getSort()), eq(0L), eq(2));
+
+            assertNotNull(result);
+            assertEquals(1, result.getContent().size());
+            checkMovieDto(result.getContent().getFirst());
+            assertEquals(MovieCursor.of(MovieSortKey.RELEASE_DATE, movie), MovieCursor.decode(result.getNextCursor()));
+        }
+    }
+
+    @Test
+    void findAllFilteredByCursorWithCursorAndParameters() {
+        try (MockedStatic<MovieSpecs> mockedMovieSpecs = mockStatic(MovieSpecs.class)) {
+            // GIVEN
+            MovieDto movie = initMovieProjection();
+            MovieCursor cursor = new MovieCursor(MovieSortKey.UPDATED_AT, "2021-07-27T03:04:32+02:00", ID - 1);
+
+            LocalDate releaseAfter = LocalDate.of(2021, 7, 27);
+            ZonedDateTime updatedSince = ZonedDateTime.of(
+                    LocalDateTime.of(2021, 7, 27, 3, 4, 32),
+                    ZoneOffset.ofHours(2)
+            );
+
+            when(movieReadRepository.findAll(any(Specification.class), eq(MovieSortKey.UPDATED_AT.getSort()), eq(0L), eq(21)))
+                    .thenReturn(List.of(movie));
+
+            // WHEN
+            CursorPageDto<MovieDto> result = movieService.findAllFilteredByCursor(cursor.encode(), "id", 20, releaseAfter, updatedSince);
+
+            // THEN
+            mockedMovieSpecs.verify(() -> MovieSpecs.isReleasedAfter(releaseAfter), times(1));
+            mockedMovieSpecs.verify(() -> MovieSpecs.isUpdatedSince(updatedSince), times(1));
+            mockedMovieSpecs.verify(() -> MovieSpecs.isAfterCursor(cursor), times(1));
+            verify(movieReadRepository, times(1)).findAll(any(Specification.class), eq(MovieSortKey.UPDATED_AT.getSort()), eq(0L), eq(21));
+
+            assertNotNull(result);
+            assertEquals(1, result.getContent().size());
+            checkMovieDto(result.getContent().getFirst());
+            assertNull(result.getNextCursor());
+        }
+    }
+
+    @Test
+    void findAllFilteredByCursorWithInvalidSortKey() {
+        // WHEN / THEN
+        assertThatThrownBy(() -> movieService.findAllFilteredByCursor("", "title", 20, null, null))
+                .isInstanceOf(InvalidSortKeyException.class)
+                .hasMessage("Invalid sort key title");
+
+        verifyNoInteractions(movieReadRepository);
+    }
+
+    @Test
+    void forEachMovieDirectorLink() {
+        // GIVEN
+        MovieDirectorLinkHandler handler = mock(MovieDirectorLinkHandler.class);
+
+        // WHEN
+        movieService.forEachMovieDirectorLink(handler);
+
+        // THEN
+        verify(movieDirectorCustomRepository, times(1)).forEachMovieDirectorLink(handler);
     }
 
     @Test
@@ -229,6 +513,26 @@ class MovieServiceTest {
         assertEquals(0, results.size());
     }
 
+    @Test
+    void streamAllFlatMovieDirectors() {
+        // GIVEN
+        FlatMovieDirectorDto flatMovieDirector = new FlatMovieDirectorDto(ID, TITLE, RELEASE_DATE, DIRECTOR_ID, FIRST_NAME, LAST_NAME);
+        List<FlatMovieDirectorDto> results = new ArrayList<>();
+
+        when(movieDirectorCustomRepository.streamAllFlatMovieDirectors())
+                .thenReturn(Stream.of(flatMovieDirector));
+
+        // WHEN
+        movieService.streamAllFlatMovieDirectors(results::add);
+
+        // THEN
+        verify(movieDirectorCustomRepository, times(1)).streamAllFlatMovieDirectors();
+        verify(movieDirectorCustomRepository, never()).findAllFlatMovieDirectors();
+
+        assertEquals(1, results.size());
+        assertEquals(flatMovieDirector, results.getFirst());
+    }
+
     @Test
     void saveMovieCreated() {
         // GIVEN
@@ -240,7 +544,7 @@ class MovieServiceTest {
 
         // THEN
         ArgumentCaptor<Movie> capturedMovie = ArgumentCaptor.forClass(Movie.class);
-        verify(movieRepository, never()).findById(ID);
+        verify(movieWriteRepository, never()).update(any());
         verify(movieRepository, times(1)).save(capturedMovie.capture());
 
         Movie savedMovie = capturedMovie.getValue();
@@ -249,6 +553,11 @@ class MovieServiceTest {
         assertEquals(DIRECTOR_ID, savedMovie.getDirectorId());
         assertEquals(TITLE, savedMovie.getTitle());
         assertEquals(RELEASE_DATE, savedMovie.getReleaseDate());
+
+        verify(entityManager, times(1)).flush();
+        List<MovieChangedEvent> events = applicationEvents.stream(MovieChangedEvent.class).toList();
+        assertEquals(1, events.size());
+        assertEquals(TITLE, events.getFirst().movie().getTitle());
     }
 
     @Test
@@ -256,19 +565,17 @@ class MovieServiceTest {
         // GIVEN
         MovieDto movie = initMovieDto();
 
-        Movie dbMovie = initMovie();
-        dbMovie.setReleaseDate(RELEASE_DATE.plusDays(1));
-
-        when(movieRepository.findById(ID))
-                .thenReturn(Optional.of(dbMovie));
+        when(movieWriteRepository.update(any()))
+                .thenReturn(Optional.of(initMovie()));
 
         // WHEN
         movieService.save(movie);
 
         // THEN
         ArgumentCaptor<Movie> capturedMovie = ArgumentCaptor.forClass(Movie.class);
-        verify(movieRepository, times(1)).findById(ID);
-        verify(movieRepository, times(1)).save(capturedMovie.capture());
+        verify(movieRepository, never()).findById(ID);
+        verify(movieRepository, never()).save(any());
+        verify(movieWriteRepository, times(1)).update(capturedMovie.capture());
 
         Movie savedMovie = capturedMovie.getValue();
         assertNotNull(savedMovie);
@@ -276,6 +583,10 @@ class MovieServiceTest {
         assertEquals(DIRECTOR_ID, savedMovie.getDirectorId());
         assertEquals(TITLE, savedMovie.getTitle());
         assertEquals(RELEASE_DATE, savedMovie.getReleaseDate());
+
+        List<MovieChangedEvent> events = applicationEvents.stream(MovieChangedEvent.class).toList();
+        assertEquals(1, events.size());
+        checkMovieDto(events.getFirst().movie());
     }
 
     @Test
@@ -283,7 +594,7 @@ class MovieServiceTest {
         // GIVEN
         MovieDto movie = initMovieDto();
 
-        when(movieRepository.findById(ID))
+        when(movieWriteRepository.update(any()))
                 .thenReturn(Optional.empty());
 
         // WHEN / THEN
@@ -291,47 +602,93 @@ class MovieServiceTest {
                 .isInstanceOf(MovieNotFoundException.class)
                 .hasMessage("Movie with id 15 not found");
 
-        verify(movieRepository, times(1)).findById(ID);
+        verify(movieWriteRepository, times(1)).update(any());
         verify(movieRepository, never()).save(any());
+        assertEquals(0, applicationEvents.stream(MovieChangedEvent.class).count());
     }
 
     @Test
-    void deleteById() {
+    void saveAll() {
         // GIVEN
-        Movie movie = initMovie();
+        MovieDto movie = initMovieDto();
+        List<MovieDto> movies = List.of(movie, movie, movie);
 
-        when(movieRepository.findById(ID))
-                .thenReturn(Optional.of(movie));
+        when(batchProperties.size())
+                .thenReturn(2);
+
+        // WHEN
+        movieService.saveAll(movies);
+
+        // THEN
+        ArgumentCaptor<List<Movie>> capturedMovies = ArgumentCaptor.forClass(List.class);
+        verify(movieRepository, never()).findById(any());
+        verify(movieRepository, times(2)).saveAll(capturedMovies.capture());
+        verify(entityManager, times(2)).flush();
+        verify(entityManager, times(2)).clear();
+
+        List<List<Movie>> savedBatches = capturedMovies.getAllValues();
+        assertEquals(2, savedBatches.getFirst().size());
+        assertEquals(1, savedBatches.getLast().size());
+
+        Movie savedMovie = savedBatches.getFirst().getFirst();
+        assertNotNull(savedMovie);
+        assertNull(savedMovie.getId());
+        assertEquals(DIRECTOR_ID, savedMovie.getDirectorId());
+        assertEquals(TITLE, savedMovie.getTitle());
+        assertEquals(RELEASE_DATE, savedMovie.getReleaseDate());
+
+        List<MoviesSavedEvent> events = applicationEvents.stream(MoviesSavedEvent.class).toList();
+        assertEquals(1, events.size());
+        assertEquals(3, events.getFirst().movies().size());
+        assertEquals(DIRECTOR_ID, events.getFirst().movies().getFirst().getDirectorId());
+        assertEquals(0, applicationEvents.stream(MovieChangedEvent.class).count());
+    }
+
+    @Test
+    void saveAllWithoutMovie() {
+        // GIVEN
+        when(batchProperties.size())
+                .thenReturn(2);
+
+        // WHEN
+        movieService.saveAll(emptyList());
+
+        // THEN
+        verify(movieRepository, never()).saveAll(any());
+        verify(entityManager, never()).flush();
+    }
+
+    @Test
+    void deleteById() {
+        // GIVEN
+        when(movieWriteRepository.deleteById(ID))
+                .thenReturn(true);
 
         // WHEN
         movieService.deleteById(ID);
 
         // THEN
-        ArgumentCaptor<Movie> capturedMovie = ArgumentCaptor.forClass(Movie.class);
-        verify(movieRepository, times(1)).findById(ID);
-        verify(movieRepository, times(1)).delete(capturedMovie.capture());
+        verify(movieWriteRepository, times(1)).deleteById(ID);
+        verify(movieRepository, never()).findById(ID);
 
-        Movie deletedMovie = capturedMovie.getValue();
-        assertNotNull(deletedMovie);
-        assertEquals(ID, deletedMovie.getId());
-        assertEquals(DIRECTOR_ID, deletedMovie.getDirectorId());
-        assertEquals(TITLE, deletedMovie.getTitle());
-        assertEquals(RELEASE_DATE, deletedMovie.getReleaseDate());
+        List<MovieDeletedEvent> events = applicationEvents.stream(MovieDeletedEvent.class).toList();
+        assertEquals(1, events.size());
+        assertEquals(ID, events.getFirst().id());
     }
 
     @Test
     void deleteByIdWithMovieNotFound() {
         // GIVEN
-        when(movieRepository.findById(ID))
-                .thenReturn(Optional.empty());
+        when(movieWriteRepository.deleteById(ID))
+                .thenReturn(false);
 
         // WHEN / THEN
         assertThatThrownBy(() -> movieService.deleteById(ID))
                 .isInstanceOf(MovieNotFoundException.class)
                 .hasMessage("Movie with id 15 not found");
 
-        verify(movieRepository, times(1)).findById(ID);
-        verify(movieRepository, never()).delete(any(Movie.class));
+        verify(movieWriteRepository, times(1)).deleteById(ID);
+        assertEquals(0, applicationEvents.stream(MovieDeletedEvent.class).count());
     }
 
     private Movie initMovie() {
@@ -353,11 +710,16 @@ class MovieServiceTest {
         return movie;
     }
 
+    private MovieDto initMovieProjection() {
+        return new MovieDto(ID, DIRECTOR_ID, TITLE, RELEASE_DATE, ZonedDateTime.now().minusDays(2));
+    }
+
     private void checkMovieDto(MovieDto movie) {
         assertNotNull(movie);
         assertEquals(ID, movie.getId());
         assertEquals(TITLE, movie.getTitle());
         assertEquals(RELEASE_DATE, movie.getReleaseDate());
+        assertNotNull(movie.getUpdatedAt());
     }
 
     private void checkMoviePage(Page<MovieDto> page) {
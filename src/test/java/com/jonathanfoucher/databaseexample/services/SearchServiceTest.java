@@ -0,0 +1,81 @@
+package com.jonathanfoucher.databaseexample.services;
+
+import com.jonathanfoucher.databaseexample.data.dto.SearchResultDto;
+import com.jonathanfoucher.databaseexample.data.repository.SearchRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@SpringJUnitConfig(SearchService.class)
+class SearchServiceTest {
+    @Autowired
+    private SearchService searchService;
+    @MockitoBean
+    private SearchRepository searchRepository;
+
+    private static final String QUERY = "tarantino";
+    private static final PageRequest PAGE_REQUEST = PageRequest.of(1, 2);
+
+    @Test
+    void search() {
+        // GIVEN
+        when(searchRepository.search(QUERY, 3, 2L))
+                .thenReturn(List.of(initResult(1L), initResult(2L)));
+
+        // WHEN
+        Slice<SearchResultDto> result = searchService.search(" " + QUERY + " ", PAGE_REQUEST);
+
+        // THEN
+        verify(searchRepository, times(1)).search(QUERY, 3, 2L);
+
+        assertNotNull(result);
+        assertEquals(2, result.getNumberOfElements());
+        assertEquals(1L, result.getContent().getFirst().getId());
+        assertEquals(2L, result.getContent().getLast().getId());
+        assertFalse(result.hasNext());
+    }
+
+    @Test
+    void searchWithNextPage() {
+        // GIVEN
+        when(searchRepository.search(QUERY, 3, 2L))
+                .thenReturn(List.of(initResult(1L), initResult(2L), initResult(3L)));
+
+        // WHEN
+        Slice<SearchResultDto> result = searchService.search(QUERY, PAGE_REQUEST);
+
+        // THEN
+        assertNotNull(result);
+        assertEquals(2, result.getNumberOfElements());
+        assertEquals(2L, result.getContent().getLast().getId());
+        assertTrue(result.hasNext());
+    }
+
+    @Test
+    void searchWithBlankQuery() {
+        // WHEN
+        Slice<SearchResultDto> result = searchService.search(" ", PAGE_REQUEST);
+
+        // THEN
+        verify(searchRepository, never()).search(anyString(), anyInt(), anyLong());
+
+        assertNotNull(result);
+        assertTrue(result.isEmpty());
+        assertFalse(result.hasNext());
+    }
+
+    private SearchResultDto initResult(Long id) {
+        return new SearchResultDto("director", id, "Quentin Tarantino", 0.8);
+    }
+}
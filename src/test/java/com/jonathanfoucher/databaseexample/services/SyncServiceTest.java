@@ -0,0 +1,202 @@
+package com.jonathanfoucher.databaseexample.services;
+
+import com.jonathanfoucher.databaseexample.common.errors.InvalidSyncTokenException;
+import com.jonathanfoucher.databaseexample.common.properties.SyncProperties;
+import com.jonathanfoucher.databaseexample.data.dto.CatalogChange;
+import com.jonathanfoucher.databaseexample.data.dto.CatalogChangePosition;
+import com.jonathanfoucher.databaseexample.data.dto.DirectorDto;
+import com.jonathanfoucher.databaseexample.data.dto.MovieDto;
+import com.jonathanfoucher.databaseexample.data.dto.SyncDto;
+import com.jonathanfoucher.databaseexample.data.repository.CatalogChangeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@SpringJUnitConfig(SyncService.class)
+class SyncServiceTest {
+    @Autowired
+    private SyncService syncService;
+    @MockitoBean
+    private CatalogChangeRepository catalogChangeRepository;
+    @MockitoBean
+    private DirectorService directorService;
+    @MockitoBean
+    private MovieService movieService;
+    @MockitoBean
+    private SyncProperties syncProperties;
+
+    private static final long FROM_TRANSACTION_ID = 752L;
+    private static final long TO_TRANSACTION_ID = 754L;
+    private static final Long DIRECTOR_ID = 2L;
+    private static final Long MOVIE_ID = 15L;
+    private static final Long DELETED_MOVIE_ID = 4L;
+    private static final int PAGE_SIZE = 3;
+
+    @BeforeEach
+    void init() {
+        when(syncProperties.pageSize())
+                .thenReturn(PAGE_SIZE);
+    }
+
+    @Test
+    void findChangesSince() {
+        // GIVEN
+        DirectorDto director = new DirectorDto();
+        director.setId(DIRECTOR_ID);
+        MovieDto movie = new MovieDto();
+        movie.setId(MOVIE_ID);
+
+        when(catalogChangeRepository.findSyncHorizon())
+                .thenReturn(TO_TRANSACTION_ID);
+        when(catalogChangeRepository.findAllCommittedBetween(CatalogChangePosition.startOf(FROM_TRANSACTION_ID), TO_TRANSACTION_ID, PAGE_SIZE + 1))
+                .thenReturn(List.of(
+                        new CatalogChange(FROM_TRANSACTION_ID, "director", DIRECTOR_ID, false),
+                        new CatalogChange(FROM_TRANSACTION_ID, "movie", DELETED_MOVIE_ID, true),
+                        new CatalogChange(FROM_TRANSACTION_ID + 1, "movie", MOVIE_ID, false)
+                ));
+        when(directorService.findAllById(List.of(DIRECTOR_ID)))
+                .thenReturn(List.of(director));
+        when(movieService.findAllById(List.of(MOVIE_ID)))
+                .thenReturn(List.of(movie));
+
+        // WHEN
+        SyncDto result = syncService.findChangesSince(String.valueOf(FROM_TRANSACTION_ID));
+
+        // THEN
+        verify(catalogChangeRepository, times(1)).findSyncHorizon();
+        verify(catalogChangeRepository, times(1)).findAllCommittedBetween(CatalogChangePosition.startOf(FROM_TRANSACTION_ID), TO_TRANSACTION_ID, PAGE_SIZE + 1);
+
+        assertNotNull(result);
+        assertEquals(List.of(director), result.getDirectors());
+        assertEquals(List.of(movie), result.getMovies());
+        assertEquals(List.of(), result.getDeletedDirectorIds());
+        assertEquals(List.of(DELETED_MOVIE_ID), result.getDeletedMovieIds());
+        assertFalse(result.isHasMore());
+        assertEquals(String.valueOf(TO_TRANSACTION_ID), result.getNextToken());
+    }
+
+    @Test
+    void findChangesSinceWithoutToken() {
+        // GIVEN
+        when(catalogChangeRepository.findSyncHorizon())
+                .thenReturn(TO_TRANSACTION_ID);
+        when(catalogChangeRepository.findAllCommittedBetween(CatalogChangePosition.startOf(0L), TO_TRANSACTION_ID, PAGE_SIZE + 1))
+                .thenReturn(List.of());
+
+        // WHEN
+        SyncDto result = syncService.findChangesSince(null);
+
+        // THEN
+        verify(catalogChangeRepository, times(1)).findAllCommittedBetween(CatalogChangePosition.startOf(0L), TO_TRANSACTION_ID, PAGE_SIZE + 1);
+
+        assertNotNull(result);
+        assertEquals(List.of(), result.getDeletedMovieIds());
+        assertEquals(String.valueOf(TO_TRANSACTION_ID), result.getNextToken());
+    }
+
+    @Test
+    void findChangesSinceWithUpToDateToken() {
+        // GIVEN
+        when(catalogChangeRepository.findSyncHorizon())
+                .thenReturn(TO_TRANSACTION_ID);
+
+        // WHEN
+        SyncDto result = syncService.findChangesSince(String.valueOf(TO_TRANSACTION_ID));
+
+        // THEN
+        verify(catalogChangeRepository, never()).findAllCommittedBetween(any(), anyLong(), anyInt());
+
+        assertNotNull(result);
+        assertEquals(List.of(), result.getDeletedDirectorIds());
+        assertEquals(List.of(), result.getDeletedMovieIds());
+        assertEquals(String.valueOf(TO_TRANSACTION_ID), result.getNextToken());
+    }
+
+    @Test
+    void findChangesSinceWithMoreChangesThanPageSize() {
+        // GIVEN
+        MovieDto movie = new MovieDto();
+        movie.setId(MOVIE_ID);
+
+        when(catalogChangeRepository.findSyncHorizon())
+                .thenReturn(TO_TRANSACTION_ID);
+        when(catalogChangeRepository.findAllCommittedBetween(CatalogChangePosition.startOf(0L), TO_TRANSACTION_ID, PAGE_SIZE + 1))
+                .thenReturn(List.of(
+                        new CatalogChange(FROM_TRANSACTION_ID, "director", DIRECTOR_ID, false),
+                        new CatalogChange(FROM_TRANSACTION_ID, "movie", DELETED_MOVIE_ID, true),
+                        new CatalogChange(FROM_TRANSACTION_ID, "movie", MOVIE_ID, false),
+                        new CatalogChange(FROM_TRANSACTION_ID + 1, "director", DIRECTOR_ID + 1, false)
+                ));
+        when(movieService.findAllById(List.of(MOVIE_ID)))
+                .thenReturn(List.of(movie));
+
+        // WHEN
+        SyncDto result = syncService.findChangesSince(null);
+
+        // THEN
+        verify(directorService, times(1)).findAllById(List.of(DIRECTOR_ID));
+        verify(movieService, times(1)).findAllById(List.of(MOVIE_ID));
+
+        assertNotNull(result);
+        assertEquals(List.of(movie), result.getMovies());
+        assertEquals(List.of(DELETED_MOVIE_ID), result.getDeletedMovieIds());
+        assertTrue(result.isHasMore());
+        assertEquals(FROM_TRANSACTION_ID + ":movie:" + MOVIE_ID, result.getNextToken());
+    }
+
+    @Test
+    void findChangesSinceWithContinuationToken() {
+        // GIVEN
+        CatalogChangePosition position = new CatalogChangePosition(FROM_TRANSACTION_ID, "movie", MOVIE_ID);
+
+        when(catalogChangeRepository.findSyncHorizon())
+                .thenReturn(TO_TRANSACTION_ID);
+        when(catalogChangeRepository.findAllCommittedBetween(position, TO_TRANSACTION_ID, PAGE_SIZE + 1))
+                .thenReturn(List.of(new CatalogChange(FROM_TRANSACTION_ID + 1, "director", DIRECTOR_ID, true)));
+
+        // WHEN
+        SyncDto result = syncService.findChangesSince(FROM_TRANSACTION_ID + ":movie:" + MOVIE_ID);
+
+        // THEN
+        verify(catalogChangeRepository, times(1)).findAllCommittedBetween(position, TO_TRANSACTION_ID, PAGE_SIZE + 1);
+
+        assertNotNull(result);
+        assertEquals(List.of(DIRECTOR_ID), result.getDeletedDirectorIds());
+        assertFalse(result.isHasMore());
+        assertEquals(String.valueOf(TO_TRANSACTION_ID), result.getNextToken());
+    }
+
+    @Test
+    void findChangesSinceWithInvalidContinuationToken() {
+        // WHEN / THEN
+        assertThatThrownBy(() -> syncService.findChangesSince("752:movie"))
+                .isInstanceOf(InvalidSyncTokenException.class)
+                .hasMessage("Invalid sync token 752:movie");
+        assertThatThrownBy(() -> syncService.findChangesSince("752:movie:abc"))
+                .isInstanceOf(InvalidSyncTokenException.class)
+                .hasMessage("Invalid sync token 752:movie:abc");
+
+        verify(catalogChangeRepository, never()).findSyncHorizon();
+    }
+
+    @Test
+    void findChangesSinceWithInvalidToken() {
+        // WHEN / THEN
+        assertThatThrownBy(() -> syncService.findChangesSince("abc"))
+                .isInstanceOf(InvalidSyncTokenException.class)
+                .hasMessage("Invalid sync token abc");
+
+        verify(catalogChangeRepository, never()).findSyncHorizon();
+    }
+}
@@ -0,0 +1,94 @@
+package com.jonathanfoucher.databaseexample.support;
+
+import org.postgresql.PGStatement;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.UnaryOperator;
+
+public class StatementRecorder implements BeanPostProcessor {
+    private final List<RecordedStatement> statements = new CopyOnWriteArrayList<>();
+
+    public record RecordedStatement(String sql, AtomicInteger rows) {
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource) {
+            return proxy(DataSource.class, dataSource, result ->
+                    result instanceof Connection connection ? proxyConnection(connection) : result);
+        }
+        return bean;
+    }
+
+    public List<String> record(Runnable runnable) {
+        return recordStatements(runnable)
+                .stream()
+                .map(RecordedStatement::sql)
+                .toList();
+    }
+
+    public List<RecordedStatement> recordStatements(Runnable runnable) {
+        statements.clear();
+        runnable.run();
+        return List.copyOf(statements);
+    }
+
+    private Connection proxyConnection(Connection connection) {
+        return proxy(Connection.class, connection, result -> switch (result) {
+            case PreparedStatement statement -> proxyStatement(PreparedStatement.class, statement);
+            case Statement statement -> proxyStatement(Statement.class, statement);
+            case null, default -> result;
+        });
+    }
+
+    private <T extends Statement> T proxyStatement(Class<T> type, T statement) {
+        AtomicInteger rows = new AtomicInteger();
+        InvocationHandler handler = (_, method, arguments) -> {
+            if (method.getName().startsWith("execute")) {
+                String sql = arguments != null && arguments.length > 0 && arguments[0] instanceof String argument
+                        ? argument
+                        : statement.unwrap(PGStatement.class).toString();
+                statements.add(new RecordedStatement(sql, rows));
+            }
+            Object result = invoke(statement, method, arguments);
+            return result instanceof ResultSet resultSet ? proxyResultSet(resultSet, rows) : result;
+        };
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler));
+    }
+
+    private ResultSet proxyResultSet(ResultSet resultSet, AtomicInteger rows) {
+        InvocationHandler handler = (_, method, arguments) -> {
+            Object result = invoke(resultSet, method, arguments);
+            if (method.getName().equals("next") && Boolean.TRUE.equals(result)) {
+                rows.incrementAndGet();
+            }
+            return result;
+        };
+        return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[]{ResultSet.class}, handler);
+    }
+
+    private <T> T proxy(Class<T> type, T target, UnaryOperator<Object> resultMapper) {
+        InvocationHandler handler = (_, method, arguments) -> resultMapper.apply(invoke(target, method, arguments));
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] arguments) throws Throwable {
+        try {
+            return method.invoke(target, arguments);
+        } catch (InvocationTargetException exception) {
+            throw exception.getCause();
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.jonathanfoucher.databaseexample.support;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@RequiredArgsConstructor
+public class TestDataSeeder {
+    private final JdbcTemplate jdbcTemplate;
+
+    public void seed(int directorCount, int movieCount) {
+        jdbcTemplate.execute("truncate table movie, director, catalog_change restart identity cascade");
+
+        jdbcTemplate.update("""
+                    insert into director (id, first_name, last_name, updated_at)
+                    select i, 'first_name_' || i, 'last_name_' || (i % 1000), now() - (i || ' seconds')::interval
+                    from generate_series(1, ?) i
+                """, directorCount);
+
+        jdbcTemplate.update("""
+                    insert into movie (id, director_id, title, release_date, updated_at)
+                    select i, (i % ?) + 1, 'title_' || i, date '1950-01-01' + (i % 27000), now() - (i || ' seconds')::interval
+                    from generate_series(1, ?) i
+                """, directorCount, movieCount);
+
+        jdbcTemplate.execute("select setval('director_id_seq', (select coalesce(max(id), 1) from director))");
+        jdbcTemplate.execute("select setval('movie_id_seq', (select coalesce(max(id), 1) from movie))");
+
+        jdbcTemplate.execute("vacuum analyze director");
+        jdbcTemplate.execute("vacuum analyze movie");
+        jdbcTemplate.execute("vacuum analyze catalog_change");
+    }
+}